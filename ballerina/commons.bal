@@ -30,6 +30,8 @@ import ballerina/mime;
 # + headers - Header list
 # + sender - Sender's address
 # + attachments - Email attachements
+# + idempotencyKey - Key, which identifies the message across the retries of the caller. The `email:SmtpClient` does not
+#                    send a message again if a message with the same key was sent recently
 public type Message record {|
     string|string[] to;
     string subject;
@@ -43,6 +45,7 @@ public type Message record {|
     map<string> headers?;
     string sender?;
     mime:Entity|Attachment|(mime:Entity|Attachment)[] attachments?;
+    string idempotencyKey?;
 |};
 
 # Optional parameters for an Email message.
@@ -55,6 +58,8 @@ public type Message record {|
 # + replyTo - Reply To addresses
 # + sender - Sender's address
 # + attachments - Email attachements
+# + idempotencyKey - Key, which identifies the message across the retries of the caller. The `email:SmtpClient` does not
+#                    send a message again if a message with the same key was sent recently
 public type Options record {|
     string htmlBody?;
     string contentType?;
@@ -64,9 +69,15 @@ public type Options record {|
     string|string[] replyTo?;
     string sender?;
     mime:Entity|Attachment|(mime:Entity|Attachment)[] attachments?;
+    string idempotencyKey?;
 |};
 
-# Email attachment.
+# Email attachment. Unless the client caches the attachments, the file is read while the message is sent rather than
+# when it is given to the client, so it has to be kept unchanged until `sendMessage` returns, or until the result of
+# `sendMessageAsync` is available. A message sent through a spool is read when it is stored in the spool. A large
+# file body of a `mime:Entity` attachment is read from its channel while the message is sent, so the channel has to be
+# kept open until `sendMessage` returns. With `sendMessageAsync`, it is copied to a temporary file before the client
+# returns, so that the channel can be closed or reused afterwards.
 #
 # + filePath - File path of the attachment
 # + contentType - Content Type of the attachment
@@ -91,6 +102,16 @@ public type SecureSocket record {|
     boolean verifyHostName = true;
 |};
 
+# Configurations for caching the TLS sessions of the connections to an email server, so that a reconnection resumes a
+# cached session instead of doing a full handshake.
+#
+# + size - Maximum number of TLS sessions cached. `0` means that there is no limit
+# + timeout - Time (in seconds) for which a cached TLS session can be resumed
+public type TlsSessionCacheConfiguration record {|
+    int size = 20480;
+    decimal timeout = 86400;
+|};
+
 # Security type.
 #
 # + START_TLS_AUTO - If STARTTLS exists use it else use plaintext
@@ -16,3 +16,35 @@
 
 # Defines the common error type for the module.
 public type Error distinct error;
+
+# Defines the error returned when the SMTP server does not accept a message for some or all of its recipients. The
+# detail identifies the recipients, which received the message, so that only the remaining recipients are retried.
+public type SendError distinct (Error & error<SendErrorDetail>);
+
+# Details of an `email:SendError`.
+#
+# + sentRecipients - Recipients to which the message was sent. This is empty unless `sendPartial` is enabled in the
+#                    `email:SmtpConfiguration`
+# + unsentRecipients - Recipients accepted by the server, to which the message was not sent
+# + invalidRecipients - Recipients rejected by the server or whose addresses are invalid
+# + recipientFailures - Reply of the server for each of the rejected recipients
+# + code - SMTP reply code of the command, which failed the transaction, if the server rejected the sender or the
+#          message content
+public type SendErrorDetail record {|
+    string[] sentRecipients;
+    string[] unsentRecipients;
+    string[] invalidRecipients;
+    RecipientFailure[] recipientFailures;
+    int code?;
+|};
+
+# Reply of the SMTP server to a rejected recipient.
+#
+# + address - Address of the recipient
+# + code - SMTP reply code, such as `550`
+# + message - Reply text of the server
+public type RecipientFailure record {|
+    string address;
+    int code;
+    string message;
+|};
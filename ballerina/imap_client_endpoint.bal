@@ -45,6 +45,19 @@ public isolated client class ImapClient {
         return imapRead(self, folder, timeout);
     }
 
+    # Reads a batch of unread messages. The messages are fetched together and marked as seen with a single command.
+    # ```ballerina
+    # email:Message[]|email:Error emailResponses = imapClient->receiveMessages(10);
+    # ```
+    #
+    # + maxCount - Maximum number of messages to read
+    # + folder - Folder to read the emails. The default value is `INBOX`
+    # + return - The `email:Message` messages read, which are empty if there are no emails in the specified folder,
+    #            or else an `email:Error` if the recipient failed to receive the messages
+    remote isolated function receiveMessages(int maxCount, string folder = DEFAULT_FOLDER) returns Message[]|Error {
+        return imapReadBatch(self, maxCount, folder);
+    }
+
     # Close the client.
     # ```ballerina
     # email:Error? closeResponse = imapClient->close();
@@ -69,6 +82,12 @@ isolated function imapRead(ImapClient clientEndpoint, string folder, decimal tim
     'class : "io.ballerina.stdlib.email.client.EmailAccessClient"
 } external;
 
+isolated function imapReadBatch(ImapClient clientEndpoint, int maxCount, string folder)
+        returns Message[]|Error = @java:Method {
+    name : "readMessages",
+    'class : "io.ballerina.stdlib.email.client.EmailAccessClient"
+} external;
+
 isolated function imapClose(ImapClient clientEndpoint) returns Error? = @java:Method {
     name : "close",
     'class : "io.ballerina.stdlib.email.client.EmailAccessClient"
@@ -79,8 +98,11 @@ isolated function imapClose(ImapClient clientEndpoint) returns Error? = @java:Me
 # + port - Port number of the IMAP server
 # + security - Type of security channel
 # + secureSocket - Secure socket configuration
+# + tlsSessionCacheConfig - Configurations for caching the TLS sessions, which are resumed when reconnecting to the
+#                           server
 public type ImapConfiguration record {|
     int port = 993;
     Security security = SSL;
     SecureSocket secureSocket?;
+    TlsSessionCacheConfiguration tlsSessionCacheConfig?;
 |};
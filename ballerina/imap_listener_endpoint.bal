@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/jballerina.java;
 import ballerina/log;
 import ballerina/task;
 
@@ -38,6 +39,10 @@ public class ImapListener {
         if (!(secureSocketParam is ())) {
             imapConfig.secureSocket = secureSocketParam;
         }
+        TlsSessionCacheConfiguration? tlsSessionCacheConfigParam = listenerConfig?.tlsSessionCacheConfig;
+        if (!(tlsSessionCacheConfigParam is ())) {
+            imapConfig.tlsSessionCacheConfig = tlsSessionCacheConfigParam;
+        }
         return externalInit(self, self.config, imapConfig, "IMAP");
     }
 
@@ -98,11 +103,16 @@ public class ImapListener {
     }
 
     isolated function internalStart() returns error? {
+        IdleConfiguration? idleConfig = self.config?.idleConfig;
+        if (idleConfig is IdleConfiguration) {
+            return startIdle(self, idleConfig.renewInterval, self.config.pollingInterval);
+        }
         self.jobId = check task:scheduleJobRecurByFrequency(new Job(self), self.config.pollingInterval);
         return ();
     }
 
     isolated function stop() returns error? {
+        stopIdle(self);
         task:JobId? id = self.jobId;
         if (id is task:JobId) {
             check task:unscheduleJob(id);
@@ -163,6 +173,10 @@ class Job {
 # + port - Port number of the IMAP server
 # + security - Type of security channel
 # + secureSocket - Secure socket configuration
+# + tlsSessionCacheConfig - Configurations for caching the TLS sessions, which are resumed when reconnecting to the
+#                           server
+# + idleConfig - Configurations for receiving the emails as soon as the server announces them with the `IDLE`
+#                command, instead of polling at the `pollingInterval`
 public type ImapListenerConfiguration record {|
     string host;
     string username;
@@ -171,4 +185,26 @@ public type ImapListenerConfiguration record {|
     int port = 993;
     Security security = SSL;
     SecureSocket secureSocket?;
+    TlsSessionCacheConfiguration tlsSessionCacheConfig?;
+    IdleConfiguration idleConfig?;
 |};
+
+# Configuration for receiving the emails with the IMAP `IDLE` command. The `IDLE` command is issued again at the
+# `renewInterval`, as the servers may drop a connection that stays idle for too long. If the server does not
+# support `IDLE`, the emails are polled at the `pollingInterval` of the listener.
+#
+# + renewInterval - Time interval (in seconds) after which the `IDLE` command is issued again
+public type IdleConfiguration record {|
+    decimal renewInterval = 600;
+|};
+
+isolated function startIdle(ImapListener listenerEndpoint, decimal renewInterval, decimal pollingInterval)
+    returns Error? = @java:Method{
+    name: "startIdle",
+    'class: "io.ballerina.stdlib.email.server.EmailListenerHelper"
+} external;
+
+isolated function stopIdle(ImapListener listenerEndpoint) = @java:Method{
+    name: "stopIdle",
+    'class: "io.ballerina.stdlib.email.server.EmailListenerHelper"
+} external;
@@ -46,6 +46,20 @@ public isolated client class PopClient {
         return popRead(self, folder, timeout);
     }
 
+    # Reads a batch of unread messages. The messages are fetched together and deleted from the server, when the
+    # client is closed.
+    # ```ballerina
+    # email:Message[]|email:Error emailResponses = popClient->receiveMessages(10);
+    # ```
+    #
+    # + maxCount - Maximum number of messages to read
+    # + folder - Folder to read the emails. The default value is `INBOX`
+    # + return - The `email:Message` messages read, which are empty if there are no emails in the specified folder,
+    #            or else an `email:Error` if the recipient failed to receive the messages
+    remote isolated function receiveMessages(int maxCount, string folder = DEFAULT_FOLDER) returns Message[]|Error {
+        return popReadBatch(self, maxCount, folder);
+    }
+
     # Close the client.
     # ```ballerina
     # email:Error? closeResponse = popClient->close();
@@ -70,6 +84,12 @@ isolated function popRead(PopClient clientEndpoint, string folder, decimal timeo
     'class : "io.ballerina.stdlib.email.client.EmailAccessClient"
 } external;
 
+isolated function popReadBatch(PopClient clientEndpoint, int maxCount, string folder)
+        returns Message[]|Error = @java:Method {
+    name : "readMessages",
+    'class : "io.ballerina.stdlib.email.client.EmailAccessClient"
+} external;
+
 isolated function popClose(PopClient clientEndpoint) returns Error? = @java:Method {
     name : "close",
     'class : "io.ballerina.stdlib.email.client.EmailAccessClient"
@@ -80,8 +100,11 @@ isolated function popClose(PopClient clientEndpoint) returns Error? = @java:Meth
 # + port - Port number of the POP server
 # + security - Type of security channel
 # + secureSocket - Secure socket configuration
+# + tlsSessionCacheConfig - Configurations for caching the TLS sessions, which are resumed when reconnecting to the
+#                           server
 public type PopConfiguration record {|
     int port = 995;
     Security security = SSL;
     SecureSocket secureSocket?;
+    TlsSessionCacheConfiguration tlsSessionCacheConfig?;
 |};
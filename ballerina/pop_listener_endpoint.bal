@@ -39,6 +39,10 @@ public class PopListener {
         if (!(secureSocketParam is ())) {
             popConfig.secureSocket = secureSocketParam;
         }
+        TlsSessionCacheConfiguration? tlsSessionCacheConfigParam = listenerConfig?.tlsSessionCacheConfig;
+        if (!(tlsSessionCacheConfigParam is ())) {
+            popConfig.tlsSessionCacheConfig = tlsSessionCacheConfigParam;
+        }
         return externalInit(self, self.config, popConfig, "POP");
     }
 
@@ -167,6 +171,8 @@ class PopJob {
 # + port - Port number of the POP server
 # + security - Type of security channel
 # + secureSocket - Secure socket configuration
+# + tlsSessionCacheConfig - Configurations for caching the TLS sessions, which are resumed when reconnecting to the
+#                           server
 public type PopListenerConfiguration record {|
     string host;
     string username;
@@ -175,6 +181,7 @@ public type PopListenerConfiguration record {|
     int port = 995;
     Security security = SSL;
     SecureSocket secureSocket?;
+    TlsSessionCacheConfiguration tlsSessionCacheConfig?;
 |};
 
 isolated function externListenerClose(PopListener|ImapListener listenerEndpoint) returns Error? = @java:Method{
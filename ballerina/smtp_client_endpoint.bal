@@ -40,13 +40,90 @@ public isolated client class SmtpClient {
     # + email - An `email:Message` message, which needs to be sent to the recipient
     # + return - An `email:Error` if failed to send the message to the recipient or else `()`
     remote isolated function sendMessage(Message email) returns Error? {
-        if email.contentType is string && !self.containsType(email?.contentType, "text") {
-            return error Error("Content type of the email should be text.");
-        } 
-        self.putAttachmentToArray(email);
+        check self.prepareMessage(email);
         return send(self, email);
     }
 
+    # Submits an email message to be sent in the background and returns without waiting for the message to be sent.
+    # ```ballerina
+    # email:SendFuture|email:Error response = smtpClient->sendMessageAsync(email);
+    # ```
+    #
+    # + email - An `email:Message` message, which needs to be sent to the recipient
+    # + return - An `email:SendFuture` to get the result of the message or else an `email:Error` if failed to
+    #            submit the message
+    remote isolated function sendMessageAsync(Message email) returns SendFuture|Error {
+        check self.prepareMessage(email);
+        handle result = check sendAsync(self, email);
+        return new SendFuture(result);
+    }
+
+    # Sends a batch of email messages over a single SMTP session, or over all the connections of the client when its
+    # `maxConnections` is more than one. A failure in one message does not abort the batch.
+    # ```ballerina
+    # email:Error?[]|email:Error responses = smtpClient->sendMessages([email1, email2]);
+    # ```
+    #
+    # + emails - The `email:Message` messages or a stream of messages, which need to be sent
+    # + return - The result of each message in the order they were sent or else an `email:Error` if the stream of
+    #            messages failed
+    remote isolated function sendMessages(Message[]|stream<Message, error?> emails) returns Error?[]|Error {
+        if isParallelSmtpClient(self) {
+            return self.sendInParallel(emails);
+        }
+        handle session = openSmtpSession(self);
+        Error?[] results = [];
+        if emails is Message[] {
+            foreach Message email in emails {
+                results.push(self.sendInSession(session, email));
+            }
+        } else {
+            error? streamError = from Message email in emails
+                do {
+                    results.push(self.sendInSession(session, email));
+                };
+            if streamError is error {
+                closeSmtpSession(session);
+                return error Error("Error while reading the messages from the stream: " + streamError.message(),
+                    streamError);
+            }
+        }
+        closeSmtpSession(session);
+        return results;
+    }
+
+    # Prepares a template email message, which can be sent to many recipients with `sendTemplate`. The `{{name}}`
+    # placeholders in the `to` addresses, the subject, the body and the HTML body are replaced with the values given
+    # for each recipient. The attachments are encoded once and reused for all the recipients.
+    # ```ballerina
+    # email:MessageTemplate|email:Error template = smtpClient->prepareTemplate({
+    #     to: "{{email}}",
+    #     subject: "Hello {{name}}",
+    #     body: "Dear {{name}}, please find the brochure attached."
+    # });
+    # ```
+    #
+    # + template - An `email:Message` message with placeholders
+    # + return - The prepared `email:MessageTemplate` or else an `email:Error` if failed to prepare the template
+    remote isolated function prepareTemplate(Message template) returns MessageTemplate|Error {
+        check self.prepareMessage(template);
+        handle prepared = check prepareSmtpTemplate(self, template);
+        return new MessageTemplate(prepared);
+    }
+
+    # Sends a prepared template email message after replacing its placeholders with the given values.
+    # ```ballerina
+    # email:Error? response = smtpClient->sendTemplate(template, {email: "bob@abc.com", name: "Bob"});
+    # ```
+    #
+    # + template - An `email:MessageTemplate` prepared by this client
+    # + values - Values of the placeholders in the template
+    # + return - An `email:Error` if a placeholder does not have a value or failed to send the message to the
+    #            recipient or else `()`
+    remote isolated function sendTemplate(MessageTemplate template, map<string> values) returns Error? {
+        return sendSmtpTemplate(self, template.getPrepared(), values);
+    }
+
     # Sends an email message with optional parameters.
     # ```ballerina
     # email:Error? response = smtpClient->send(toAddress, subject, fromAddress,
@@ -100,9 +177,65 @@ public isolated client class SmtpClient {
         if (!(attachments is ())) {
             email.attachments = <mime:Entity|Attachment|(mime:Entity|Attachment)[]>attachments;
         }
+        string? idempotencyKey = options?.idempotencyKey;
+        if (!(idempotencyKey is ())) {
+            email.idempotencyKey = <string>idempotencyKey;
+        }
         return send(self, email);
     }
 
+    # Closes the client and the pooled connections to the SMTP server, after sending the messages submitted with
+    # `sendMessageAsync`.
+    # ```ballerina
+    # email:Error? closeResponse = smtpClient->close();
+    # ```
+    #
+    # + return - An `email:Error` if failed to close the client or else `()`
+    remote isolated function close() returns Error? {
+        return closeSmtpClient(self);
+    }
+
+    private isolated function sendInParallel(Message[]|stream<Message, error?> emails) returns Error?[]|Error {
+        // All the messages are queued before waiting for the results, so that they are sent in parallel
+        (handle|Error)[] submitted = [];
+        if emails is Message[] {
+            foreach Message email in emails {
+                submitted.push(self.submit(email));
+            }
+        } else {
+            error? streamError = from Message email in emails
+                do {
+                    submitted.push(self.submit(email));
+                };
+            if streamError is error {
+                return error Error("Error while reading the messages from the stream: " + streamError.message(),
+                    streamError);
+            }
+        }
+        Error?[] results = [];
+        foreach handle|Error result in submitted {
+            results.push(result is Error ? result : getAsyncSendResult(result));
+        }
+        return results;
+    }
+
+    private isolated function submit(Message email) returns handle|Error {
+        check self.prepareMessage(email);
+        return submitSmtpMessage(self, email);
+    }
+
+    private isolated function sendInSession(handle session, Message email) returns Error? {
+        check self.prepareMessage(email);
+        return sendInSmtpSession(self, session, email);
+    }
+
+    private isolated function prepareMessage(Message email) returns Error? {
+        if email.contentType is string && !self.containsType(email?.contentType, "text") {
+            return error Error("Content type of the email should be text.");
+        }
+        self.putAttachmentToArray(email);
+    }
+
     private isolated function containsType(string? contentType, string typeString) returns boolean {
         if (contentType is string) {
             string canonicalizedCtype = contentType.toLowerAscii();
@@ -121,6 +254,52 @@ public isolated client class SmtpClient {
 
 }
 
+# Represents the pending result of a message submitted with the `email:SmtpClient->sendMessageAsync` function.
+public isolated class SendFuture {
+
+    private final handle result;
+
+    isolated function init(handle result) {
+        self.result = result;
+    }
+
+    # Waits until the message is sent.
+    # ```ballerina
+    # email:Error? response = sendFuture.get();
+    # ```
+    #
+    # + return - An `email:Error` if failed to send the message to the recipient or else `()`
+    public isolated function get() returns Error? {
+        return getAsyncSendResult(self.result);
+    }
+
+    # Checks whether the message is sent or failed, without waiting.
+    # ```ballerina
+    # boolean done = sendFuture.isDone();
+    # ```
+    #
+    # + return - `true` if the message is sent or failed or else `false`
+    public isolated function isDone() returns boolean {
+        return isAsyncSendDone(self.result);
+    }
+
+}
+
+# Represents an email message prepared with the `email:SmtpClient->prepareTemplate` function.
+public isolated class MessageTemplate {
+
+    private final handle prepared;
+
+    isolated function init(handle prepared) {
+        self.prepared = prepared;
+    }
+
+    isolated function getPrepared() returns handle {
+        return self.prepared;
+    }
+
+}
+
 isolated function initSmtpClientEndpoint(SmtpClient clientEndpoint, string host, string username, string password,
         SmtpConfiguration config) returns Error? = @java:Method {
     name : "initClientEndpoint",
@@ -132,13 +311,290 @@ isolated function send(SmtpClient clientEndpoint, Message email) returns Error?
     'class : "io.ballerina.stdlib.email.client.SmtpClient"
 } external;
 
+isolated function sendAsync(SmtpClient clientEndpoint, Message email) returns handle|Error = @java:Method {
+    name : "sendMessageAsync",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function prepareSmtpTemplate(SmtpClient clientEndpoint, Message template) returns handle|Error =
+@java:Method {
+    name : "prepareTemplate",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function sendSmtpTemplate(SmtpClient clientEndpoint, handle template, map<string> values) returns Error? =
+@java:Method {
+    name : "sendTemplate",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function getAsyncSendResult(handle result) returns Error? = @java:Method {
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function isAsyncSendDone(handle result) returns boolean = @java:Method {
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function submitSmtpMessage(SmtpClient clientEndpoint, Message email) returns handle|Error = @java:Method {
+    name : "submitMessage",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function isParallelSmtpClient(SmtpClient clientEndpoint) returns boolean = @java:Method {
+    name : "isParallel",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function openSmtpSession(SmtpClient clientEndpoint) returns handle = @java:Method {
+    name : "openSession",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function sendInSmtpSession(SmtpClient clientEndpoint, handle session, Message email) returns Error? =
+@java:Method {
+    name : "sendMessageInSession",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function closeSmtpSession(handle session) = @java:Method {
+    name : "closeSession",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
+isolated function closeSmtpClient(SmtpClient clientEndpoint) returns Error? = @java:Method {
+    name : "close",
+    'class : "io.ballerina.stdlib.email.client.SmtpClient"
+} external;
+
 # Configuration of the SMTP Endpoint.
 #
 # + port - Port number of the SMTP server
 # + security - Type of security channel
 # + secureSocket - Secure socket configuration
+# + tlsSessionCacheConfig - Configurations for caching the TLS sessions, which are resumed when reconnecting to the
+#                           server
+# + poolConfig - Configurations for pooling the connections to the SMTP server. If not provided, a new connection is
+#                opened for each message
+# + asyncConfig - Configurations for sending the messages submitted with `sendMessageAsync`. If not provided, the
+#                 defaults of `email:AsyncConfiguration` are used. The workers are created when the first message is
+#                 submitted
+# + maxConnections - Maximum number of connections over which the messages are sent in parallel. If more than one, the
+#                    messages of `sendMessage`, `send`, `sendTemplate` and `sendMessages` are queued in a shared queue
+#                    and sent over up to this many connections
+# + sendQueueConfig - Configurations for the shared queue of the messages, when `maxConnections` is more than one
+# + spoolConfig - Configurations for spooling the messages to the local disk. If provided, `sendMessage` and `send`
+#                 return once the message is stored and the message is delivered in the background
+# + rateLimitConfig - Configurations for limiting the rate at which the messages are sent to the SMTP server
+# + loadBalanceConfig - Configurations for spreading the connections across more than one SMTP server
+# + attachmentCacheConfig - Configurations for caching the encoded file attachments, which are sent repeatedly
+# + chunkingConfig - Configurations for sending the messages in chunks with the `BDAT` command, when the server supports
+#                    the `CHUNKING` extension
+# + allow8BitMime - Whether the non-ASCII text bodies are sent as 8-bit data without the quoted-printable or the base64
+#                   encoding, when the server supports the `8BITMIME` extension
+# + allowUtf8 - Whether the addresses and the headers are sent as UTF-8, when the server supports the `SMTPUTF8`
+#               extension. This is required to send messages to or from internationalized email addresses
+# + sendPartial - Whether a message is sent to the recipients accepted by the server, when the server rejects some of
+#                 the other recipients. The rejected recipients are returned in an `email:SendError`
+# + dkimConfig - Configurations for signing the messages with DKIM
+# + idempotencyConfig - Configurations for remembering the idempotency keys of the sent messages. If not provided, the
+#                       defaults of `email:IdempotencyConfiguration` are used. The keys are remembered from the first
+#                       message with an `idempotencyKey`
 public type SmtpConfiguration record {|
     int port = 465;
     Security security = SSL;
     SecureSocket secureSocket?;
+    TlsSessionCacheConfiguration tlsSessionCacheConfig?;
+    PoolConfiguration poolConfig?;
+    AsyncConfiguration asyncConfig?;
+    int maxConnections = 1;
+    SendQueueConfiguration sendQueueConfig = {};
+    SpoolConfiguration spoolConfig?;
+    RateLimitConfiguration rateLimitConfig?;
+    LoadBalanceConfiguration loadBalanceConfig?;
+    AttachmentCacheConfiguration attachmentCacheConfig?;
+    ChunkingConfiguration chunkingConfig?;
+    boolean allow8BitMime = false;
+    boolean allowUtf8 = false;
+    boolean sendPartial = false;
+    DkimConfiguration dkimConfig?;
+    IdempotencyConfiguration idempotencyConfig?;
 |};
+
+# Configurations for pooling the connections of an `email:SmtpClient`.
+#
+# + maxActiveConnections - Maximum number of connections, which can be used to send messages at the same time
+# + maxIdleConnections - Maximum number of idle connections kept open in the pool
+# + waitTime - Maximum time (in seconds) to wait for a connection when all the connections are in use
+# + maxMessagesPerConnection - Maximum number of messages sent over a connection before it is closed
+# + maxConnectionLifetime - Maximum time (in seconds) a connection is kept open after it is established
+# + minIdleConnections - Minimum number of idle connections opened when the client is initialized and kept open by the
+#                        keep-alive
+# + keepAliveInterval - Interval (in seconds) at which the idle connections are checked with a `NOOP` command, replacing
+#                       the connections closed by the server. `0` disables the keep-alive
+public type PoolConfiguration record {|
+    int maxActiveConnections = 5;
+    int maxIdleConnections = 5;
+    decimal waitTime = 30;
+    int maxMessagesPerConnection = 100;
+    decimal maxConnectionLifetime = 300;
+    int minIdleConnections = 0;
+    decimal keepAliveInterval = 0;
+|};
+
+# Configurations for sending the messages submitted with `email:SmtpClient->sendMessageAsync` in the background.
+#
+# + queueCapacity - Maximum number of messages waiting to be sent
+# + workers - Number of workers sending the queued messages, each over its own connection
+# + overflowPolicy - Action taken when a message is submitted while the queue is full
+public type AsyncConfiguration record {|
+    int queueCapacity = 1000;
+    int workers = 2;
+    OverflowPolicy overflowPolicy = BLOCK;
+|};
+
+# Configurations for the shared queue of an `email:SmtpClient`, which sends its messages over more than one
+# connection. Each connection takes the queued messages in batches. The messages arriving within the batch window are
+# sent over the same connection, while a backlog is shared across all the connections.
+#
+# + queueCapacity - Maximum number of messages waiting to be sent. The callers wait for space when the queue is full
+# + batchWindow - Maximum time (in seconds) a connection waits for more messages before sending a batch. `0` sends the
+#                 messages already in the queue without waiting
+# + maxBatchSize - Maximum number of messages taken from the queue at once by a connection
+public type SendQueueConfiguration record {|
+    int queueCapacity = 1000;
+    decimal batchWindow = 0.005;
+    int maxBatchSize = 10;
+|};
+
+# Configurations for spooling the messages of an `email:SmtpClient` to the local disk. Messages, which could not be
+# delivered due to a transient failure are retried with an exponential backoff. Messages, which are rejected
+# permanently or run out of retries are moved to the `failed` sub directory.
+#
+# + directory - Directory in which the messages waiting to be delivered are stored. Messages left in the directory are
+#               delivered when a client is initialized with the same directory
+# + maxRetries - Maximum number of times a message is retried after a transient failure
+# + retryInterval - Time (in seconds) to wait before the first retry
+# + backOffFactor - Multiplier of the retry interval after each retry
+# + maxRetryInterval - Maximum time (in seconds) to wait between two retries
+public type SpoolConfiguration record {|
+    string directory;
+    int maxRetries = 5;
+    decimal retryInterval = 1;
+    float backOffFactor = 2.0;
+    decimal maxRetryInterval = 300;
+|};
+
+# Configurations for limiting the rate at which an `email:SmtpClient` sends messages. Messages exceeding the limits
+# wait until they can be sent within the limits instead of failing.
+#
+# + messagesPerSecond - Maximum number of messages sent per second
+# + recipientsPerMinute - Maximum number of recipients, to which the messages are sent per minute
+public type RateLimitConfiguration record {|
+    decimal messagesPerSecond?;
+    int recipientsPerMinute?;
+|};
+
+# Configurations for spreading the connections of an `email:SmtpClient` across more than one SMTP server. A server,
+# which fails `maxFailures` times in a row is skipped for `failureTimeout` seconds, and a connection, which cannot be
+# established to a server is attempted on the next server.
+#
+# + hosts - Servers used along with the host of the client, given as `host` or `host:port`. The port of the client is
+#           used when a port is not given
+# + policy - Policy used to choose the server to which a new connection is opened
+# + maxFailures - Number of consecutive failures after which a server is skipped
+# + failureTimeout - Time (in seconds) a failing server is skipped
+# + connectionTimeout - Maximum time (in seconds) to wait for a connection to a server before moving to the next server
+public type LoadBalanceConfiguration record {|
+    string[] hosts;
+    LoadBalancePolicy policy = ROUND_ROBIN;
+    int maxFailures = 3;
+    decimal failureTimeout = 30;
+    decimal connectionTimeout = 5;
+|};
+
+# Configurations for caching the encoded `email:Attachment` files of an `email:SmtpClient`. A file, which is attached to
+# more than one message is read and encoded once, as long as the file is not modified. The least recently used files
+# are evicted when the cache is full.
+#
+# + maxSize - Maximum total size (in bytes) of the encoded files kept in the cache
+public type AttachmentCacheConfiguration record {|
+    int maxSize = 52428800;
+|};
+
+# Configurations for sending the messages of an `email:SmtpClient` in chunks with the `BDAT` command as specified in
+# RFC 3030. Messages are sent with the `DATA` command to the servers, which do not support the `CHUNKING` extension.
+#
+# + chunkSize - Size (in bytes) of a chunk of the message sent with a single `BDAT` command. The last chunk of a
+#               message may be smaller
+# + binaryMime - Whether the binary attachments are sent without the base64 encoding, when the server supports the
+#                `BINARYMIME` extension
+public type ChunkingConfiguration record {|
+    int chunkSize = 1048576;
+    boolean binaryMime = true;
+|};
+
+# Configurations for signing the messages of an `email:SmtpClient` with DomainKeys Identified Mail (DKIM) as specified
+# in RFC 6376. The private key is loaded once when the client is initialized.
+#
+# + domain - Domain of the signer, which publishes the public key (the `d=` tag)
+# + selector - Selector of the public key within the domain (the `s=` tag)
+# + privateKey - Path to the PEM file with the unencrypted PKCS #8 private key. An RSA key signs with `rsa-sha256` and
+#                an Ed25519 key signs with `ed25519-sha256`
+# + headers - Names of the headers to be signed. Headers, which are not present in a message are not signed
+# + headerCanonicalization - Canonicalization of the signed headers
+# + bodyCanonicalization - Canonicalization of the body
+public type DkimConfiguration record {|
+    string domain;
+    string selector;
+    string privateKey;
+    string[] headers = ["From", "Sender", "Reply-To", "Subject", "Date", "Message-ID", "To", "Cc", "MIME-Version",
+        "Content-Type", "Content-Transfer-Encoding"];
+    DkimCanonicalization headerCanonicalization = RELAXED;
+    DkimCanonicalization bodyCanonicalization = RELAXED;
+|};
+
+# Policy used to choose the SMTP server to which a new connection is opened.
+#
+# + ROUND_ROBIN - Rotate across the available servers
+# + LEAST_IN_FLIGHT - Choose the available server with the least messages being sent, preferring the servers with a
+#                     lower latency
+public enum LoadBalancePolicy {
+    ROUND_ROBIN,
+    LEAST_IN_FLIGHT
+}
+
+# Action taken when a message is submitted to be sent in the background while the queue is full.
+#
+# + BLOCK - Wait until there is space in the queue
+# + FAIL - Return an `email:Error` without queueing the message
+# + DROP - Discard the message and complete its `email:SendFuture` with an `email:Error`
+public enum OverflowPolicy {
+    BLOCK,
+    FAIL,
+    DROP
+}
+
+# Configurations for remembering the `idempotencyKey` of the messages sent by an `email:SmtpClient`. A message with the
+# key of a message sent within the retention time is not sent again and is reported as sent. A message with the key of
+# a message, which is being sent waits for that message and is sent only if that message fails. A spooled message is
+# considered sent once it is stored in the spool.
+#
+# + maxKeys - Maximum number of keys remembered. The oldest keys are evicted when the limit is reached
+# + retention - Time (in seconds) for which a key is remembered after its message is sent
+# + file - Path to a file, to which the keys are appended as they are sent, so that they are remembered when the client
+#          is initialized again. If not provided, the keys are remembered in the memory only
+public type IdempotencyConfiguration record {|
+    int maxKeys = 10000;
+    decimal retention = 86400;
+    string file?;
+|};
+
+# Canonicalization algorithm applied to a message before it is signed with DKIM.
+#
+# + SIMPLE - Tolerate almost no modification of the message
+# + RELAXED - Tolerate the common modifications such as the whitespace replacement and the header line rewrapping
+public enum DkimCanonicalization {
+    SIMPLE,
+    RELAXED
+}
@@ -0,0 +1,66 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {}
+function testReceiveBatchOfEmailsWithImap() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startBatchImapServer();
+    ImapClient imapClient = check new (host, username, password, port = 3144, security = START_TLS_NEVER);
+    Message[] emails = check imapClient->receiveMessages(3);
+    test:assertEquals(emails.length(), 0, msg = "Non zero emails received in zero read Imap batch test.");
+
+    check sendBatchEmailsImapServer(5);
+    emails = check imapClient->receiveMessages(3);
+    test:assertEquals(emails.length(), 3, msg = "Batch of emails is not limited to the maximum count.");
+    foreach int i in 0 ..< emails.length() {
+        test:assertEquals(emails[i].subject, "Batch E-Mail " + i.toString(), msg = "Email subject is not matched.");
+        test:assertEquals(emails[i].body, "This is a test e-mail.", msg = "Email body is not matched.");
+    }
+    emails = check imapClient->receiveMessages(10);
+    test:assertEquals(emails.length(), 2, msg = "Emails of the previous batch are read again.");
+    test:assertEquals(emails[0].subject, "Batch E-Mail 3", msg = "Email subject is not matched.");
+    emails = check imapClient->receiveMessages(10);
+    test:assertEquals(emails.length(), 0, msg = "Emails of the previous batches are read again.");
+
+    // An email delivered after the folder is opened is read from the same folder
+    check sendBatchEmailsImapServer(1);
+    Message? email = check imapClient->receiveMessage(timeout = 2);
+    if email is () {
+        test:assertFail(msg = "Email delivered after the folder is opened is not read.");
+    }
+    test:assertEquals(email.subject, "Batch E-Mail 0", msg = "Email subject is not matched.");
+    check imapClient->close();
+    check stopBatchImapServer();
+}
+
+public function startBatchImapServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapBatchEmailReceiveTest"
+} external;
+
+public function stopBatchImapServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapBatchEmailReceiveTest"
+} external;
+
+public function sendBatchEmailsImapServer(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapBatchEmailReceiveTest"
+} external;
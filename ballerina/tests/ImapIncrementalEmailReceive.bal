@@ -0,0 +1,128 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {}
+function testReceiveEmailsIncrementallyWithImap() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startIncrementalImapServer();
+    ImapClient imapClient = check new (host, username, password, port = 3146, security = START_TLS_NEVER);
+
+    // An email delivered after the first read is fetched above the UID watermark
+    check sendIncrementalEmails(0, 1);
+    Message? email = check imapClient->receiveMessage(timeout = 0);
+    assertIncrementalEmail(email, 0);
+    email = check imapClient->receiveMessage(timeout = 0);
+    test:assertTrue(email is (), msg = "Email of the first read is read again.");
+    check sendIncrementalEmails(1, 1);
+    email = check imapClient->receiveMessage(timeout = 2);
+    assertIncrementalEmail(email, 1);
+
+    // The emails left out of a batch are kept pending and read by the next read
+    check sendIncrementalEmails(2, 3);
+    Message[] emails = check imapClient->receiveMessages(2);
+    test:assertEquals(emails.length(), 2, msg = "Batch of emails is not limited to the maximum count.");
+    assertIncrementalEmail(emails[0], 2);
+    assertIncrementalEmail(emails[1], 3);
+    emails = check imapClient->receiveMessages(10);
+    test:assertEquals(emails.length(), 1, msg = "Email left out of the previous batch is not read.");
+    assertIncrementalEmail(emails[0], 4);
+
+    // A pending email, which is expunged by another client, is no longer read
+    check sendIncrementalEmails(5, 2);
+    emails = check imapClient->receiveMessages(1);
+    test:assertEquals(emails.length(), 1, msg = "Batch of emails is not limited to the maximum count.");
+    assertIncrementalEmail(emails[0], 5);
+    check expungeIncrementalEmail(6);
+    emails = check imapClient->receiveMessages(10);
+    test:assertEquals(emails.length(), 0, msg = "Expunged email is read.");
+    check sendIncrementalEmails(7, 1);
+    emails = check imapClient->receiveMessages(10);
+    test:assertEquals(emails.length(), 1, msg = "Email delivered after the expunged email is not read.");
+    assertIncrementalEmail(emails[0], 7);
+    email = check imapClient->receiveMessage(timeout = 0);
+    test:assertTrue(email is (), msg = "Emails of the previous reads are read again.");
+
+    check imapClient->close();
+    check stopIncrementalImapServer();
+}
+
+@test:Config {
+    dependsOn: [testReceiveEmailsIncrementallyWithImap]
+}
+function testReopenFolderWithoutResyncWithImap() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    // GreenMail supports neither CONDSTORE nor QRESYNC, so the folder is opened again with a plain `SELECT`
+    check startIncrementalImapServer();
+    check createIncrementalFolder("Archive");
+    ImapClient imapClient = check new (host, username, password, port = 3146, security = START_TLS_NEVER);
+    check sendIncrementalEmails(0, 3);
+    Message[] emails = check imapClient->receiveMessages(2);
+    test:assertEquals(emails.length(), 2, msg = "Batch of emails is not limited to the maximum count.");
+    assertIncrementalEmail(emails[0], 0);
+    assertIncrementalEmail(emails[1], 1);
+
+    // Reading another folder closes the folder, which is opened again by the next read
+    Message? email = check imapClient->receiveMessage("Archive", timeout = 0);
+    test:assertTrue(email is (), msg = "Email is read from an empty folder.");
+    check sendIncrementalEmails(3, 1);
+    emails = check imapClient->receiveMessages(10);
+    test:assertEquals(emails.length(), 2, msg = "Pending or new emails are not read after opening the folder again.");
+    assertIncrementalEmail(emails[0], 2);
+    assertIncrementalEmail(emails[1], 3);
+    email = check imapClient->receiveMessage(timeout = 0);
+    test:assertTrue(email is (), msg = "Emails are read again after opening the folder again.");
+
+    check imapClient->close();
+    check stopIncrementalImapServer();
+}
+
+function assertIncrementalEmail(Message? email, int index) {
+    if email is () {
+        test:assertFail(msg = "Incremental email " + index.toString() + " is not read.");
+    }
+    test:assertEquals(email.subject, "Incremental E-Mail " + index.toString(), msg = "Email subject is not matched.");
+    test:assertEquals(email.body, "This is a test e-mail.", msg = "Email body is not matched.");
+}
+
+public function startIncrementalImapServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapIncrementalEmailReceiveTest"
+} external;
+
+public function stopIncrementalImapServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapIncrementalEmailReceiveTest"
+} external;
+
+public function sendIncrementalEmails(int firstIndex, int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapIncrementalEmailReceiveTest"
+} external;
+
+public function expungeIncrementalEmail(int index) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapIncrementalEmailReceiveTest"
+} external;
+
+public function createIncrementalFolder(string folderName) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ImapIncrementalEmailReceiveTest"
+} external;
@@ -0,0 +1,89 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+int receivedMessageCountImapIdle = 0;
+boolean onErrorInvokedImapIdle = false;
+
+function getReceivedMessageCountImapIdle(int expectedCount) returns int {
+    int i = 0;
+    while ((receivedMessageCountImapIdle < expectedCount) && (i < 10)) {
+        runtime:sleep(1);
+        i += 1;
+    }
+    return receivedMessageCountImapIdle;
+}
+
+@test:Config {}
+function testListenEmailImapWithIdle() returns error? {
+    check startIdleImapServer();
+    ImapListener emailServer = check new ({
+        host: "127.0.0.1",
+        username: "hascode",
+        password: "abcdef123",
+        pollingInterval: 1,
+        port: 3145,
+        security: START_TLS_NEVER,
+        idleConfig: {
+            renewInterval: 2
+        }
+    });
+
+    Service emailObserver = service object {
+        remote function onMessage(Message emailMessage) {
+            receivedMessageCountImapIdle += 1;
+        }
+
+        remote function onError(Error emailError) {
+            onErrorInvokedImapIdle = true;
+        }
+
+        remote function onClose(Error? closeError) {
+        }
+    };
+
+    _ = check emailServer.attach(emailObserver, "");
+    _ = check emailServer.start();
+
+    check sendEmailsIdleImapServer(2);
+    test:assertEquals(getReceivedMessageCountImapIdle(2), 2,
+        msg = "IMAP listener has not listened to exactly 2 emails with IDLE.");
+
+    // Emails delivered after the listener started to wait are listened without restarting the listener
+    check sendEmailsIdleImapServer(1);
+    test:assertEquals(getReceivedMessageCountImapIdle(3), 3,
+        msg = "IMAP listener has not listened to the email delivered while waiting with IDLE.");
+    test:assertFalse(onErrorInvokedImapIdle, msg = "An error occurred while listening with IDLE.");
+
+    _ = check emailServer.gracefulStop();
+    check emailServer.close();
+    check stopIdleImapServer();
+}
+
+public function startIdleImapServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ListenerImapIdleReceiveTest"
+} external;
+
+public function stopIdleImapServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ListenerImapIdleReceiveTest"
+} external;
+
+public function sendEmailsIdleImapServer(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.ListenerImapIdleReceiveTest"
+} external;
@@ -0,0 +1,78 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailToManyRecipients]
+}
+function testSendEmailsAsynchronously() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    int messageCount = 5;
+
+    check startAsyncSmtpServer();
+
+    SmtpConfiguration smtpConfig = {
+        port: 3029,
+        security: START_TLS_NEVER,
+        asyncConfig: {
+            queueCapacity: 10,
+            workers: 2
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    SendFuture[] results = [];
+    foreach int i in 0 ..< messageCount {
+        Message email = {
+            to: "hascode1@localhost",
+            subject: string `Async E-Mail ${i}`,
+            body: "This is a test e-mail sent in the background.",
+            'from: "someone1@localhost.com"
+        };
+        results.push(check smtpClient->sendMessageAsync(email));
+    }
+    foreach SendFuture result in results {
+        Error? response = result.get();
+        if response is Error {
+            test:assertFail(msg = "Error while sending an email in the background: " + response.message());
+        }
+        test:assertTrue(result.isDone(), msg = "Result of a sent email is not completed.");
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validateAsyncEmails(messageCount);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent in the background.");
+    }
+    check stopAsyncSmtpServer();
+}
+
+public function startAsyncSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpAsyncEmailSendTest"
+} external;
+
+public function stopAsyncSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpAsyncEmailSendTest"
+} external;
+
+public function validateAsyncEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpAsyncEmailSendTest"
+} external;
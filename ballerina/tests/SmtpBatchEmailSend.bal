@@ -0,0 +1,85 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsWithConnectionPool]
+}
+function testSendBatchOfEmails() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startBatchSmtpServer();
+
+    SmtpConfiguration smtpConfig = {
+        port: 3027,
+        security: START_TLS_NEVER
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    Message[] emails = [
+        getBatchEmail("hascode1@localhost", 0),
+        getBatchEmail("invalid address@", 1),
+        getBatchEmail("hascode1@localhost", 2)
+    ];
+    Error?[] results = check smtpClient->sendMessages(emails);
+    test:assertEquals(results.length(), 3, msg = "Result count of the batch is not equal to the message count.");
+    test:assertTrue(results[0] is (), msg = "Error while sending the first email of the batch.");
+    test:assertTrue(results[1] is Error, msg = "Email with an invalid recipient was sent successfully.");
+    test:assertTrue(results[2] is (), msg = "Failure of an email aborted the rest of the batch.");
+
+    stream<Message> emailStream = [getBatchEmail("hascode1@localhost", 3),
+        getBatchEmail("hascode1@localhost", 4)].toStream();
+    results = check smtpClient->sendMessages(emailStream);
+    test:assertEquals(results.length(), 2, msg = "Result count of the stream is not equal to the message count.");
+    foreach Error? result in results {
+        if result is Error {
+            test:assertFail(msg = "Error while sending an email from the stream: " + result.message());
+        }
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validateBatchEmails(4);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent in a batch.");
+    }
+    check stopBatchSmtpServer();
+}
+
+function getBatchEmail(string to, int index) returns Message {
+    return {
+        to: to,
+        subject: string `Batch E-Mail ${index}`,
+        body: "This is a test e-mail sent in a batch.",
+        'from: "someone1@localhost.com"
+    };
+}
+
+public function startBatchSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpBatchEmailSendTest"
+} external;
+
+public function stopBatchSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpBatchEmailSendTest"
+} external;
+
+public function validateBatchEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpBatchEmailSendTest"
+} external;
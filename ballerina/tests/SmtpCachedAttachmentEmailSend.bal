@@ -0,0 +1,71 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailWithLargeAttachment]
+}
+function testSendEmailsWithCachedAttachment() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    int messageCount = 3;
+
+    check startCachedAttachmentSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3036,
+        security: START_TLS_NEVER,
+        attachmentCacheConfig: {}
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    // The attachment is encoded for the first message and reused for the rest
+    foreach int i in 0 ..< messageCount {
+        Message email = {
+            to: "hascode1@localhost",
+            subject: string `Cached Attachment E-Mail ${i}`,
+            body: "This is a test e-mail with a cached attachment.",
+            'from: "someone1@localhost.com",
+            attachments: {filePath: "tests/resources/datafiles/corona_virus.jpg", contentType: "image/jpeg"}
+        };
+        Error? response = smtpClient->sendMessage(email);
+        if response is Error {
+            test:assertFail(msg = "Error while sending an email with a cached attachment: " + response.message());
+        }
+    }
+
+    Error? emailValidation = validateCachedAttachmentEmails(messageCount);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails with a cached attachment.");
+    }
+    check smtpClient->close();
+    check stopCachedAttachmentSmtpServer();
+}
+
+public function startCachedAttachmentSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpCachedAttachmentEmailSendTest"
+} external;
+
+public function stopCachedAttachmentSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpCachedAttachmentEmailSendTest"
+} external;
+
+public function validateCachedAttachmentEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpCachedAttachmentEmailSendTest"
+} external;
@@ -0,0 +1,70 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsWithCachedAttachment]
+}
+function testSendEmailWithChunkingFallback() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startChunkedSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3037,
+        security: START_TLS_NEVER,
+        chunkingConfig: {
+            chunkSize: 1024
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    // The server does not support `CHUNKING`, so the message is sent with `DATA`
+    Message email = {
+        to: "hascode1@localhost",
+        subject: "Chunked E-Mail",
+        body: "This is a test e-mail sent with chunking enabled.",
+        'from: "someone1@localhost.com",
+        attachments: {filePath: "tests/resources/datafiles/corona_virus.jpg", contentType: "image/jpeg"}
+    };
+    Error? response = smtpClient->sendMessage(email);
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email with chunking enabled: " + response.message());
+    }
+
+    Error? emailValidation = validateChunkedEmail("tests/resources/datafiles/corona_virus.jpg");
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the email sent with chunking enabled.");
+    }
+    check smtpClient->close();
+    check stopChunkedSmtpServer();
+}
+
+public function startChunkedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpChunkedEmailSendTest"
+} external;
+
+public function stopChunkedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpChunkedEmailSendTest"
+} external;
+
+public function validateChunkedEmail(string attachmentPath) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpChunkedEmailSendTest"
+} external;
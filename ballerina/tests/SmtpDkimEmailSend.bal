@@ -0,0 +1,73 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailToRejectedRecipient]
+}
+function testSendEmailWithDkimSignature() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startDkimSmtpServer();
+    string privateKey = check generateDkimKey();
+    SmtpConfiguration smtpConfig = {
+        port: 3042,
+        security: START_TLS_NEVER,
+        dkimConfig: {
+            domain: "localhost",
+            selector: "test",
+            privateKey: privateKey
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+    Error? response = smtpClient->sendMessage({
+        to: "hascode1@localhost",
+        subject: "DKIM E-Mail",
+        body: "This is a test e-mail signed with DKIM.  \n\n",
+        'from: "someone1@localhost.com"
+    });
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email signed with DKIM: " + response.message());
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validateDkimEmail();
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the email signed with DKIM: " + emailValidation.message());
+    }
+    check stopDkimSmtpServer();
+}
+
+public function startDkimSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpDkimEmailSendTest"
+} external;
+
+public function stopDkimSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpDkimEmailSendTest"
+} external;
+
+public function generateDkimKey() returns string|Error = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpDkimEmailSendTest"
+} external;
+
+public function validateDkimEmail() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpDkimEmailSendTest"
+} external;
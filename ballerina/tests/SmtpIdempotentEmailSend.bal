@@ -0,0 +1,88 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailWithDkimSignature]
+}
+function testSendEmailsWithIdempotencyKey() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startIdempotentSmtpServer();
+    string keyFile = check createIdempotencyKeyFile();
+    SmtpConfiguration smtpConfig = {
+        port: 3043,
+        security: START_TLS_NEVER,
+        idempotencyConfig: {
+            file: keyFile
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+    Message email = {
+        to: "hascode1@localhost",
+        subject: "Idempotent E-Mail 1",
+        body: "This is a test e-mail sent with an idempotency key.",
+        'from: "someone1@localhost.com",
+        idempotencyKey: "notification-1"
+    };
+    foreach int i in 0 ..< 2 {
+        Error? response = smtpClient->sendMessage(email);
+        if response is Error {
+            test:assertFail(msg = "Error while sending an email with an idempotency key: " + response.message());
+        }
+        response = smtpClient->send("hascode1@localhost", "Idempotent E-Mail 2", "someone1@localhost.com",
+            "This is a test e-mail sent with an idempotency key.", idempotencyKey = "notification-2");
+        if response is Error {
+            test:assertFail(msg = "Error while sending an email with an idempotency key: " + response.message());
+        }
+    }
+    check smtpClient->close();
+
+    // The keys are loaded from the file by a new client
+    smtpClient = check new (host, username, password, smtpConfig);
+    Error? response = smtpClient->sendMessage(email);
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email with an idempotency key: " + response.message());
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validateIdempotentEmails(2);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent with idempotency keys.");
+    }
+    check stopIdempotentSmtpServer();
+}
+
+public function startIdempotentSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpIdempotentEmailSendTest"
+} external;
+
+public function stopIdempotentSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpIdempotentEmailSendTest"
+} external;
+
+public function createIdempotencyKeyFile() returns string|Error = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpIdempotentEmailSendTest"
+} external;
+
+public function validateIdempotentEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpIdempotentEmailSendTest"
+} external;
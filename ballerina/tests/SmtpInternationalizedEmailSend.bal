@@ -0,0 +1,76 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailWithChunkingFallback]
+}
+function testSendInternationalizedEmail() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    string body = "ආයුබෝවන් வணக்கம் こんにちは";
+
+    check startInternationalizedSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3038,
+        security: START_TLS_NEVER,
+        allow8BitMime: true,
+        allowUtf8: true
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    // The server supports neither `8BITMIME` nor `SMTPUTF8`, so the body and the display name are encoded
+    Message email = {
+        to: "hascode1@localhost",
+        subject: "Internationalized E-Mail",
+        body: body,
+        'from: "කමල් <someone1@localhost.com>"
+    };
+    Error? response = smtpClient->sendMessage(email);
+    if response is Error {
+        test:assertFail(msg = "Error while sending an internationalized email: " + response.message());
+    }
+
+    // A mailbox with non-ASCII characters cannot be encoded for such a server
+    email.to = "用户@例子.jp";
+    response = smtpClient->sendMessage(email);
+    if response is () {
+        test:assertFail(msg = "An email to an internationalized address was sent without SMTPUTF8.");
+    }
+
+    Error? emailValidation = validateInternationalizedEmail(body, "කමල්");
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the internationalized email.");
+    }
+    check smtpClient->close();
+    check stopInternationalizedSmtpServer();
+}
+
+public function startInternationalizedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpInternationalizedEmailSendTest"
+} external;
+
+public function stopInternationalizedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpInternationalizedEmailSendTest"
+} external;
+
+public function validateInternationalizedEmail(string body, string displayName) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpInternationalizedEmailSendTest"
+} external;
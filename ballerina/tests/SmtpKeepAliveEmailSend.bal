@@ -0,0 +1,78 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsWithTlsSessionCache]
+}
+function testSendEmailWithKeepAlive() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startKeepAliveSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3040,
+        security: START_TLS_NEVER,
+        poolConfig: {
+            maxActiveConnections: 2,
+            maxIdleConnections: 2,
+            minIdleConnections: 2,
+            keepAliveInterval: 0.5
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    // The restarted server drops the pre-warmed connections, which are replaced by the keep-alive
+    check restartKeepAliveSmtpServer();
+    runtime:sleep(1.5);
+
+    Error? response = smtpClient->sendMessage({
+        to: "hascode1@localhost",
+        subject: "Keep-Alive E-Mail",
+        body: "This is a test e-mail sent over a kept alive connection.",
+        'from: "someone1@localhost.com"
+    });
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email over a kept alive connection: " + response.message());
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validateKeepAliveEmail();
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the email sent over a kept alive connection.");
+    }
+    check stopKeepAliveSmtpServer();
+}
+
+public function startKeepAliveSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpKeepAliveEmailSendTest"
+} external;
+
+public function restartKeepAliveSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpKeepAliveEmailSendTest"
+} external;
+
+public function stopKeepAliveSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpKeepAliveEmailSendTest"
+} external;
+
+public function validateKeepAliveEmail() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpKeepAliveEmailSendTest"
+} external;
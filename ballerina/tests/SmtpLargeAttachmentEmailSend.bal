@@ -0,0 +1,103 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/mime;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendTemplateEmails]
+}
+function testSendEmailWithLargeAttachment() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startLargeAttachmentSmtpServer();
+    // The attachment is larger than the size up to which attachments are read into the memory
+    string attachmentPath = check createLargeAttachment();
+    SmtpConfiguration smtpConfig = {
+        port: 3035,
+        security: START_TLS_NEVER
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    mime:Entity attachment = new;
+    mime:ContentDisposition disposition = new;
+    disposition.disposition = "attachment";
+    disposition.fileName = "large.bin";
+    attachment.setContentDisposition(disposition);
+    attachment.setFileAsEntityBody(attachmentPath, mime:APPLICATION_OCTET_STREAM);
+    Message email = {
+        to: "hascode1@localhost",
+        subject: "Large Attachment E-Mail",
+        body: "This is a test e-mail with a large attachment.",
+        'from: "someone1@localhost.com",
+        attachments: attachment
+    };
+    Error? response = smtpClient->sendMessage(email);
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email with a large attachment: " + response.message());
+    }
+
+    // The attachment is copied when the message is accepted, so the file can be changed before it is sent
+    int attachmentCopies = check countAttachmentCopies();
+    mime:Entity asyncAttachment = new;
+    asyncAttachment.setContentDisposition(disposition);
+    asyncAttachment.setFileAsEntityBody(attachmentPath, mime:APPLICATION_OCTET_STREAM);
+    email.attachments = asyncAttachment;
+    SendFuture result = check smtpClient->sendMessageAsync(email);
+    check overwriteLargeAttachment(attachmentPath);
+    response = result.get();
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email with a large attachment in the background: "
+            + response.message());
+    }
+    test:assertEquals(check countAttachmentCopies(), attachmentCopies,
+        msg = "Copy of the attachment is not removed once the message is sent.");
+
+    Error? emailValidation = validateLargeAttachmentEmails(2);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the email with a large attachment.");
+    }
+    check smtpClient->close();
+    check stopLargeAttachmentSmtpServer();
+}
+
+public function startLargeAttachmentSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLargeAttachmentEmailSendTest"
+} external;
+
+public function stopLargeAttachmentSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLargeAttachmentEmailSendTest"
+} external;
+
+public function createLargeAttachment() returns string|Error = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLargeAttachmentEmailSendTest"
+} external;
+
+public function overwriteLargeAttachment(string attachmentPath) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLargeAttachmentEmailSendTest"
+} external;
+
+public function countAttachmentCopies() returns int|Error = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLargeAttachmentEmailSendTest"
+} external;
+
+public function validateLargeAttachmentEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLargeAttachmentEmailSendTest"
+} external;
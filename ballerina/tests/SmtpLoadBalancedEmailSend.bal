@@ -0,0 +1,74 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendRateLimitedEmails]
+}
+function testSendEmailsWithFailover() returns error? {
+    // No server listens on the port of the client, so the messages fail over to the additional host
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    int messageCount = 3;
+
+    check startLoadBalancedSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3033,
+        security: START_TLS_NEVER,
+        loadBalanceConfig: {
+            hosts: ["127.0.0.1:3032"],
+            maxFailures: 1,
+            connectionTimeout: 1
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    foreach int i in 0 ..< messageCount {
+        Message email = {
+            to: "hascode1@localhost",
+            subject: string `Load Balanced E-Mail ${i}`,
+            body: "This is a test e-mail sent to a cluster of servers.",
+            'from: "someone1@localhost.com"
+        };
+        Error? response = smtpClient->sendMessage(email);
+        if response is Error {
+            test:assertFail(msg = "Error while sending an email to the cluster: " + response.message());
+        }
+    }
+
+    Error? emailValidation = validateLoadBalancedEmails(messageCount);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent to the cluster.");
+    }
+    check smtpClient->close();
+    check stopLoadBalancedSmtpServer();
+}
+
+public function startLoadBalancedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLoadBalancedEmailSendTest"
+} external;
+
+public function stopLoadBalancedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLoadBalancedEmailSendTest"
+} external;
+
+public function validateLoadBalancedEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpLoadBalancedEmailSendTest"
+} external;
@@ -0,0 +1,66 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendBatchOfEmails]
+}
+function testSendEmailToManyRecipients() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startMultiRecipientSmtpServer();
+
+    SmtpConfiguration smtpConfig = {
+        port: 3028,
+        security: START_TLS_NEVER
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+    Message email = {
+        to: ["to1@localhost", "to2@localhost", "to3@localhost"],
+        cc: ["cc1@localhost", "cc2@localhost", "cc3@localhost"],
+        bcc: ["bcc1@localhost", "bcc2@localhost", "bcc3@localhost"],
+        subject: "Multi Recipient E-Mail",
+        body: "This is a test e-mail sent to many recipients.",
+        'from: "someone1@localhost.com"
+    };
+    Error? response = smtpClient->sendMessage(email);
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email to many recipients: " + response.message());
+    }
+
+    Error? emailValidation = validateMultiRecipientEmails();
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the email sent to many recipients.");
+    }
+    check stopMultiRecipientSmtpServer();
+}
+
+public function startMultiRecipientSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpMultiRecipientEmailSendTest"
+} external;
+
+public function stopMultiRecipientSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpMultiRecipientEmailSendTest"
+} external;
+
+public function validateMultiRecipientEmails() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpMultiRecipientEmailSendTest"
+} external;
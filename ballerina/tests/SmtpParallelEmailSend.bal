@@ -0,0 +1,76 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsWithIdempotencyKey]
+}
+function testSendEmailsOverParallelConnections() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startParallelSmtpServer();
+    SmtpClient smtpClient = check new (host, username, password,
+        port = 3044,
+        security = START_TLS_NEVER,
+        maxConnections = 3,
+        sendQueueConfig = {queueCapacity: 4, batchWindow: 0.01, maxBatchSize: 2}
+    );
+    Message[] emails = [];
+    foreach int i in 0 ..< 10 {
+        emails.push({
+            to: "hascode1@localhost",
+            subject: "Parallel E-Mail " + i.toString(),
+            body: "This is a test e-mail sent over parallel connections.",
+            'from: "someone1@localhost.com"
+        });
+    }
+    Error?[] responses = check smtpClient->sendMessages(emails);
+    test:assertEquals(responses.length(), 10);
+    foreach Error? response in responses {
+        if response is Error {
+            test:assertFail(msg = "Error while sending an email over parallel connections: " + response.message());
+        }
+    }
+    Error? response = smtpClient->send("hascode1@localhost", "Parallel E-Mail 10", "someone1@localhost.com",
+        "This is a test e-mail sent over parallel connections.");
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email over parallel connections: " + response.message());
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validateParallelEmails(11);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent over parallel connections.");
+    }
+    check stopParallelSmtpServer();
+}
+
+public function startParallelSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpParallelEmailSendTest"
+} external;
+
+public function stopParallelSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpParallelEmailSendTest"
+} external;
+
+public function validateParallelEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpParallelEmailSendTest"
+} external;
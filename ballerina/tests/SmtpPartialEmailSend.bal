@@ -0,0 +1,80 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailWithKeepAlive]
+}
+function testSendEmailToRejectedRecipient() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    Message email = {
+        to: ["hascode1@localhost", "rejected@localhost"],
+        subject: "Partial E-Mail",
+        body: "This is a test e-mail sent to a rejected recipient.",
+        'from: "someone1@localhost.com"
+    };
+
+    check startPartialSmtpServer();
+    SmtpClient smtpClient = check new (host, username, password, {port: 3041, security: START_TLS_NEVER});
+    Error? response = smtpClient->sendMessage(email);
+    if response is SendError {
+        test:assertEquals(response.detail().sentRecipients, [], msg = "Email was sent without sendPartial.");
+        test:assertEquals(response.detail().unsentRecipients, ["hascode1@localhost"],
+            msg = "Accepted recipient was not listed as unsent.");
+        test:assertEquals(response.detail().invalidRecipients, ["rejected@localhost"],
+            msg = "Rejected recipient was not listed as invalid.");
+    } else {
+        test:assertFail(msg = "Email with a rejected recipient did not return an email:SendError.");
+    }
+    check smtpClient->close();
+
+    smtpClient = check new (host, username, password, {port: 3041, security: START_TLS_NEVER, sendPartial: true});
+    response = smtpClient->sendMessage(email);
+    if response is SendError {
+        test:assertEquals(response.detail().sentRecipients, ["hascode1@localhost"],
+            msg = "Accepted recipient was not listed as sent.");
+        test:assertEquals(response.detail().unsentRecipients, [], msg = "Email was not sent with sendPartial.");
+        test:assertEquals(response.detail().recipientFailures,
+            [{address: "rejected@localhost", code: 550, message: "Mailbox unavailable"}],
+            msg = "Reply to the rejected recipient was not returned.");
+    } else {
+        test:assertFail(msg = "Email with a rejected recipient did not return an email:SendError.");
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validatePartialEmail();
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the email sent to the accepted recipient.");
+    }
+    check stopPartialSmtpServer();
+}
+
+public function startPartialSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPartialEmailSendTest"
+} external;
+
+public function stopPartialSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPartialEmailSendTest"
+} external;
+
+public function validatePartialEmail() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPartialEmailSendTest"
+} external;
@@ -0,0 +1,64 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testShareClientConfigurations]
+}
+function testRecordPhaseMetrics() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startPhaseMetricsSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3046,
+        security: START_TLS_NEVER
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+    Message email = {
+        to: "hascode1@localhost",
+        subject: "Phase Metrics E-Mail",
+        body: "This is a test e-mail sent with the metrics enabled.",
+        'from: "someone1@localhost.com"
+    };
+    Error? response = smtpClient->sendMessage(email);
+    if response is Error {
+        test:assertFail(msg = "Error while sending an email with the metrics enabled: " + response.message());
+    }
+
+    Error? metricsValidation = validatePhaseMetrics();
+    if metricsValidation is Error {
+        test:assertFail(msg = "Error while validating the phase metrics.");
+    }
+    check smtpClient->close();
+    check stopPhaseMetricsSmtpServer();
+}
+
+public function startPhaseMetricsSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPhaseMetricsEmailSendTest"
+} external;
+
+public function stopPhaseMetricsSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPhaseMetricsEmailSendTest"
+} external;
+
+public function validatePhaseMetrics() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPhaseMetricsEmailSendTest"
+} external;
@@ -0,0 +1,81 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailWithOptions]
+}
+function testSendEmailsWithConnectionPool() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    int messageCount = 10;
+    int maxActiveConnections = 2;
+    int maxMessagesPerConnection = 4;
+
+    check startPooledSmtpServer();
+
+    SmtpConfiguration smtpConfig = {
+        port: 3026,
+        security: START_TLS_NEVER,
+        poolConfig: {
+            maxActiveConnections: maxActiveConnections,
+            maxIdleConnections: 2,
+            maxMessagesPerConnection: maxMessagesPerConnection
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    future<Error?>[] responses = [];
+    foreach int i in 0 ..< messageCount {
+        Message email = {
+            to: "hascode1@localhost",
+            subject: string `Pooled E-Mail ${i}`,
+            body: "This is a test e-mail sent over a pooled connection.",
+            'from: "someone1@localhost.com"
+        };
+        future<Error?> response = start smtpClient->sendMessage(email);
+        responses.push(response);
+    }
+    foreach future<Error?> response in responses {
+        Error? result = wait response;
+        if result is Error {
+            test:assertFail(msg = "Error while sending an email over a pooled connection: " + result.message());
+        }
+    }
+    check smtpClient->close();
+
+    Error? emailValidation = validatePooledEmails(messageCount, maxActiveConnections, maxMessagesPerConnection);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent over pooled connections.");
+    }
+    check stopPooledSmtpServer();
+}
+
+public function startPooledSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPooledEmailSendTest"
+} external;
+
+public function stopPooledSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPooledEmailSendTest"
+} external;
+
+public function validatePooledEmails(int messageCount, int maxActiveConnections, int maxMessagesPerConnection)
+        returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpPooledEmailSendTest"
+} external;
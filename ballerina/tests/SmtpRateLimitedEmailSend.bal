@@ -0,0 +1,76 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsThroughSpool]
+}
+function testSendRateLimitedEmails() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    int messageCount = 3;
+
+    check startRateLimitedSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3031,
+        security: START_TLS_NEVER,
+        rateLimitConfig: {
+            messagesPerSecond: 2
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    check startRateLimitTimer();
+    foreach int i in 0 ..< messageCount {
+        Message email = {
+            to: "hascode1@localhost",
+            subject: string `Rate Limited E-Mail ${i}`,
+            body: "This is a test e-mail sent within a rate limit.",
+            'from: "someone1@localhost.com"
+        };
+        Error? response = smtpClient->sendMessage(email);
+        if response is Error {
+            test:assertFail(msg = "Error while sending a rate limited email: " + response.message());
+        }
+    }
+
+    Error? emailValidation = validateRateLimitedEmails(messageCount);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the rate limited emails.");
+    }
+    check smtpClient->close();
+    check stopRateLimitedSmtpServer();
+}
+
+public function startRateLimitedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpRateLimitedEmailSendTest"
+} external;
+
+public function stopRateLimitedSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpRateLimitedEmailSendTest"
+} external;
+
+public function startRateLimitTimer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpRateLimitedEmailSendTest"
+} external;
+
+public function validateRateLimitedEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpRateLimitedEmailSendTest"
+} external;
@@ -0,0 +1,86 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendRejectedEmailsThroughSpool]
+}
+function testShareClientConfigurations() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    // A copy of the certificate is modified, so that the other tests are not affected
+    string certificatePath = check createSharedCertificate();
+    SmtpConfiguration smtpConfig = {
+        port: 3465,
+        secureSocket: {
+            cert: certificatePath,
+            verifyHostName: false
+        }
+    };
+    SmtpClient firstClient = check new (host, username, password, smtpConfig);
+    SmtpClient secondClient = check new (host, username, password, smtpConfig);
+    Error? validation = validateSharedSocketFactory(firstClient, secondClient, true);
+    if validation is Error {
+        test:assertFail(msg = "Clients with the same configuration do not share the socket factory.");
+    }
+
+    check modifySharedCertificate(certificatePath);
+    SmtpClient modifiedClient = check new (host, username, password, smtpConfig);
+    validation = validateSharedSocketFactory(firstClient, modifiedClient, false);
+    if validation is Error {
+        test:assertFail(msg = "A modified certificate does not create a new socket factory.");
+    }
+
+    // The TLS session cache settings are applied to the SSL context, so they are not shared across different settings
+    SmtpConfiguration cachingConfig = {
+        port: 3465,
+        secureSocket: {
+            cert: certificatePath,
+            verifyHostName: false
+        },
+        tlsSessionCacheConfig: {
+            size: 10
+        }
+    };
+    SmtpClient cachingClient = check new (host, username, password, cachingConfig);
+    validation = validateSharedSocketFactory(modifiedClient, cachingClient, false);
+    if validation is Error {
+        test:assertFail(msg = "Clients with different TLS session caches share the socket factory.");
+    }
+
+    check firstClient->close();
+    check secondClient->close();
+    check modifiedClient->close();
+    check cachingClient->close();
+}
+
+public function createSharedCertificate() returns string|Error = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSharedConfigurationTest"
+} external;
+
+public function modifySharedCertificate(string certificatePath) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSharedConfigurationTest"
+} external;
+
+public function validateSharedSocketFactory(SmtpClient firstClient, SmtpClient secondClient, boolean shared)
+        returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSharedConfigurationTest"
+} external;
@@ -0,0 +1,89 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsAsynchronously]
+}
+function testSendEmailsThroughSpool() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+    int messageCount = 2;
+
+    check startSpoolSmtpServer();
+    // The spool directory already contains a message left by a previous run
+    string spoolDirectory = check createSpoolDirectory();
+
+    SmtpConfiguration smtpConfig = {
+        port: 3030,
+        security: START_TLS_NEVER,
+        spoolConfig: {
+            directory: spoolDirectory,
+            retryInterval: 0.1
+        }
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    foreach int i in 0 ..< messageCount {
+        Message email = {
+            to: "hascode1@localhost",
+            bcc: "hascode2@localhost",
+            subject: string `Spooled E-Mail ${i}`,
+            body: "This is a test e-mail sent through the spool.",
+            'from: "someone1@localhost.com"
+        };
+        Error? response = smtpClient->sendMessage(email);
+        if response is Error {
+            test:assertFail(msg = "Error while spooling an email: " + response.message());
+        }
+    }
+
+    // Each message is delivered to both the `to` and `bcc` recipients
+    Error? emailValidation = validateSpooledEmails((messageCount + 1) * 2);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent through the spool.");
+    }
+    check smtpClient->close();
+    Error? spoolValidation = validateSpoolDirectory(spoolDirectory);
+    if spoolValidation is Error {
+        test:assertFail(msg = "Delivered emails are left in the spool directory.");
+    }
+    check stopSpoolSmtpServer();
+}
+
+public function startSpoolSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolEmailSendTest"
+} external;
+
+public function stopSpoolSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolEmailSendTest"
+} external;
+
+public function createSpoolDirectory() returns string|Error = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolEmailSendTest"
+} external;
+
+public function validateSpooledEmails(int messageCount) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolEmailSendTest"
+} external;
+
+public function validateSpoolDirectory(string spoolDirectory) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolEmailSendTest"
+} external;
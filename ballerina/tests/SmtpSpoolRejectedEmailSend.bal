@@ -0,0 +1,87 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsThroughSpool]
+}
+function testSendRejectedEmailsThroughSpool() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startSpoolRejectingSmtpServer();
+    string partialSpoolDirectory = check createRejectedSpoolDirectory();
+    string spoolDirectory = check createRejectedSpoolDirectory();
+
+    SmtpClient partialSmtpClient = check new (host, username, password, {
+        port: 3045,
+        security: START_TLS_NEVER,
+        sendPartial: true,
+        spoolConfig: {
+            directory: partialSpoolDirectory,
+            maxRetries: 3,
+            retryInterval: 0.1
+        }
+    });
+    SmtpClient smtpClient = check new (host, username, password, {
+        port: 3045,
+        security: START_TLS_NEVER,
+        spoolConfig: {
+            directory: spoolDirectory,
+            maxRetries: 3,
+            retryInterval: 0.1
+        }
+    });
+
+    Message email = {
+        to: ["hascode1@localhost", "rejected@localhost"],
+        subject: "Rejected Spooled E-Mail",
+        body: "This is a test e-mail sent through the spool to a rejected recipient.",
+        'from: "someone1@localhost.com"
+    };
+    check partialSmtpClient->sendMessage(email);
+    check smtpClient->sendMessage(email);
+
+    // Both messages are failed without another attempt and only the partially sent one is delivered, once
+    Error? emailValidation = validateRejectedSpooledEmails(partialSpoolDirectory, spoolDirectory);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the rejected emails sent through the spool.");
+    }
+    check partialSmtpClient->close();
+    check smtpClient->close();
+    check stopSpoolRejectingSmtpServer();
+}
+
+public function startSpoolRejectingSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolRejectedEmailSendTest"
+} external;
+
+public function stopSpoolRejectingSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolRejectedEmailSendTest"
+} external;
+
+public function createRejectedSpoolDirectory() returns string|Error = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolRejectedEmailSendTest"
+} external;
+
+public function validateRejectedSpooledEmails(string partialSpoolDirectory, string spoolDirectory)
+        returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpSpoolRejectedEmailSendTest"
+} external;
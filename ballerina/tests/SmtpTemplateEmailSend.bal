@@ -0,0 +1,76 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendEmailsWithFailover]
+}
+function testSendTemplateEmails() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startTemplateSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3034,
+        security: START_TLS_NEVER
+    };
+    SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+
+    MessageTemplate template = check smtpClient->prepareTemplate({
+        to: "{{email}}",
+        subject: "Template E-Mail for {{name}}",
+        body: "Dear {{ name }}, this is a test e-mail sent from a template.",
+        'from: "someone1@localhost.com",
+        attachments: {filePath: "tests/resources/datafiles/corona_virus.jpg", contentType: "image/jpeg"}
+    });
+    map<string>[] recipients = [
+        {email: "hascode1@localhost", name: "Alice"},
+        {email: "hascode2@localhost", name: "Bob"}
+    ];
+    foreach map<string> values in recipients {
+        Error? response = smtpClient->sendTemplate(template, values);
+        if response is Error {
+            test:assertFail(msg = "Error while sending a template email: " + response.message());
+        }
+    }
+    Error? missingValue = smtpClient->sendTemplate(template, {email: "hascode1@localhost"});
+    if missingValue is () {
+        test:assertFail(msg = "A template email was sent without the value of a placeholder.");
+    }
+
+    Error? emailValidation = validateTemplateEmails();
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the template emails.");
+    }
+    check smtpClient->close();
+    check stopTemplateSmtpServer();
+}
+
+public function startTemplateSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpTemplateEmailSendTest"
+} external;
+
+public function stopTemplateSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpTemplateEmailSendTest"
+} external;
+
+public function validateTemplateEmails() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpTemplateEmailSendTest"
+} external;
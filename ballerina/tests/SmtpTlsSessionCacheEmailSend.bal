@@ -0,0 +1,76 @@
+// Copyright (c) 2026 WSO2 LLC. (https://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    dependsOn: [testSendInternationalizedEmail]
+}
+function testSendEmailsWithTlsSessionCache() returns error? {
+    string host = "127.0.0.1";
+    string username = "hascode";
+    string password = "abcdef123";
+
+    check startTlsSessionCacheSmtpServer();
+    SmtpConfiguration smtpConfig = {
+        port: 3039,
+        secureSocket: {
+            cert: "tests/resources/certsandkeys/greenmail.crt",
+            protocol: {
+                name: TLS,
+                versions: ["TLSv1.2"]
+            },
+            verifyHostName: false
+        },
+        tlsSessionCacheConfig: {
+            size: 100,
+            timeout: 300
+        }
+    };
+
+    // The clients share the SSL context of the configuration, so the later connections resume the TLS session
+    foreach int i in 1 ... 3 {
+        SmtpClient smtpClient = check new (host, username, password, smtpConfig);
+        Error? response = smtpClient->sendMessage({
+            to: "hascode1@localhost",
+            subject: "TLS Session E-Mail " + i.toString(),
+            body: "This is a test e-mail."
+        });
+        if response is Error {
+            test:assertFail(msg = "Error while sending an email over a resumed TLS session: " + response.message());
+        }
+        check smtpClient->close();
+    }
+
+    Error? emailValidation = validateTlsSessionCacheEmails(3);
+    if emailValidation is Error {
+        test:assertFail(msg = "Error while validating the emails sent over the resumed TLS sessions.");
+    }
+    check stopTlsSessionCacheSmtpServer();
+}
+
+public function startTlsSessionCacheSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpTlsSessionCacheEmailSendTest"
+} external;
+
+public function stopTlsSessionCacheSmtpServer() returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpTlsSessionCacheEmailSendTest"
+} external;
+
+public function validateTlsSessionCacheEmails(int count) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.email.testutils.SmtpTlsSessionCacheEmailSendTest"
+} external;
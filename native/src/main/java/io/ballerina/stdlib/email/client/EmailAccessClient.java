@@ -18,6 +18,10 @@
 
 package io.ballerina.stdlib.email.client;
 
+import com.sun.mail.imap.IMAPFolder;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BMap;
@@ -26,20 +30,27 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.stdlib.email.util.CommonUtil;
 import io.ballerina.stdlib.email.util.EmailAccessUtil;
 import io.ballerina.stdlib.email.util.EmailConstants;
+import io.ballerina.stdlib.email.util.EmailUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
-import java.util.Properties;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.mail.FetchProfile;
 import javax.mail.Flags;
 import javax.mail.Folder;
+import javax.mail.FolderClosedException;
 import javax.mail.Message;
 import javax.mail.MessagingException;
 import javax.mail.Session;
 import javax.mail.Store;
+import javax.mail.search.AndTerm;
 import javax.mail.search.FlagTerm;
+import javax.mail.search.SearchTerm;
 
 /**
  * Contains the functionality of email reading with POP and IMAP clients.
@@ -50,6 +61,19 @@ public class EmailAccessClient {
 
     private static final Logger log = LoggerFactory.getLogger(EmailAccessClient.class);
     private static final FlagTerm UNSEEN_FLAG = new FlagTerm(new Flags(Flags.Flag.SEEN), false);
+    private static final SearchTerm UNSEEN_UNDELETED_FLAGS =
+            new AndTerm(UNSEEN_FLAG, new FlagTerm(new Flags(Flags.Flag.DELETED), false));
+    private static final FetchProfile BATCH_FETCH_PROFILE = new FetchProfile();
+
+    static {
+        // The envelope, flags, body structure and size of a batch are fetched together instead of for each message.
+        // The IMAP client fetches the whole messages in the same command, as all their content is converted.
+        BATCH_FETCH_PROFILE.add(FetchProfile.Item.ENVELOPE);
+        BATCH_FETCH_PROFILE.add(FetchProfile.Item.FLAGS);
+        BATCH_FETCH_PROFILE.add(FetchProfile.Item.CONTENT_INFO);
+        BATCH_FETCH_PROFILE.add(FetchProfile.Item.SIZE);
+        BATCH_FETCH_PROFILE.add(IMAPFolder.FetchProfileItem.MESSAGE);
+    }
 
     private EmailAccessClient() {}
 
@@ -64,15 +88,14 @@ public class EmailAccessClient {
      */
     public static Object initPopClientEndpoint(BObject clientEndpoint, BString host, BString username, BString password,
                                                BMap<BString, Object> config) {
-        Properties properties;
+        Session session;
         try {
-            properties = EmailAccessUtil.getPopProperties(config, host.getValue());
+            session = EmailAccessUtil.getPopSession(config, host.getValue());
         } catch (IOException | GeneralSecurityException e) {
             log.debug("Error while initializing POP3 client properties : ", e);
             return CommonUtil.getBallerinaError(EmailConstants.ERROR,
                     "Error while initializing POP3 client properties: " + e.getMessage());
         }
-        Session session = Session.getInstance(properties, null);
         try {
             Store store = session.getStore(EmailConstants.POP_PROTOCOL);
             store.connect(host.getValue(), username.getValue(), password.getValue());
@@ -99,19 +122,20 @@ public class EmailAccessClient {
      */
     public static Object initImapClientEndpoint(BObject clientEndpoint, BString host, BString username,
                                                 BString password, BMap<BString, Object> config) {
-        Properties properties;
+        Session session;
         try {
-            properties = EmailAccessUtil.getImapProperties(config, host.getValue());
+            session = EmailAccessUtil.getImapSession(config, host.getValue());
         } catch (IOException | GeneralSecurityException e) {
             log.debug("Error while initializing IMAP client properties : ", e);
             return CommonUtil.getBallerinaError(EmailConstants.ERROR,
                     "Error while initializing IMAP client properties: " + e.getMessage());
         }
-        Session session = Session.getInstance(properties, null);
         try {
             Store store = session.getStore(EmailConstants.IMAP_PROTOCOL);
             store.connect(host.getValue(), username.getValue(), password.getValue());
             clientEndpoint.addNativeData(EmailConstants.PROPS_STORE, store);
+            clientEndpoint.addNativeData(EmailConstants.PROPS_UID_WATERMARKS,
+                    new ConcurrentHashMap<String, ImapUidWatermark>());
             clientEndpoint.addNativeData(EmailConstants.PROPS_HOST.getValue(), host.getValue());
             clientEndpoint.addNativeData(EmailConstants.PROPS_USERNAME.getValue(), username.getValue());
             clientEndpoint.addNativeData(EmailConstants.PROPS_PASSWORD.getValue(), password.getValue());
@@ -186,50 +210,166 @@ public class EmailAccessClient {
         return null;
     }
 
+    /**
+     * Reads a batch of unread emails from the server. The emails are fetched together and marked as read, or as
+     * deleted by the POP client, with a single command.
+     * @param clientConnector Represents the POP or IMAP client class
+     * @param maxCount Maximum number of emails to read
+     * @param folderName Name of the folder to read emails
+     * @return If successful return the received emails, otherwise an error
+     */
+    public static Object readMessages(BObject clientConnector, long maxCount, BString folderName) {
+        try {
+            Message[] messages = new Message[0];
+            if (maxCount > 0) {
+                messages = searchUnreadMessages(clientConnector, folderName);
+                if (messages.length > maxCount) {
+                    messages = Arrays.copyOf(messages, (int) maxCount);
+                }
+            }
+            Object[] mapValues = new Object[messages.length];
+            int[] messageNumbers = new int[messages.length];
+            if (messages.length > 0) {
+                Folder folder = messages[0].getFolder();
+                folder.fetch(messages, BATCH_FETCH_PROFILE);
+                for (int i = 0; i < messages.length; i++) {
+                    mapValues[i] = EmailAccessUtil.getMapValue(messages[i]);
+                    messageNumbers[i] = messages[i].getMessageNumber();
+                }
+                folder.setFlags(messageNumbers, getReadFlags(clientConnector), true);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Got a batch of messages. Email count = " + messages.length);
+            }
+            Type messageType = ValueCreator.createRecordValue(EmailUtils.getEmailPackage(),
+                    EmailConstants.EMAIL_MESSAGE).getType();
+            return ValueCreator.createArrayValue(mapValues, TypeCreator.createArrayType(messageType));
+        } catch (MessagingException | IOException e) {
+            log.debug("Error while email folder operation : ", e);
+            closeFolder(clientConnector);
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR, e.getMessage());
+        }
+    }
+
     private static Object readMessageFromFolder(BObject clientConnector, BString folderName) {
         BMap<BString, Object> mapValue = null;
         try {
-            Store store = (Store) clientConnector.getNativeData(EmailConstants.PROPS_STORE);
-            Object folderObj = clientConnector.getNativeData(EmailConstants.PROPS_FOLDER);
-            if (folderObj instanceof Folder && ((Folder) folderObj).isOpen()) {
-                ((Folder) folderObj).close();
+            Message[] messages = searchUnreadMessages(clientConnector, folderName);
+            if (messages.length > 0) {
+                mapValue = EmailAccessUtil.getMapValue(messages[0]);
+                messages[0].getFolder().setFlags(new int[]{messages[0].getMessageNumber()},
+                        getReadFlags(clientConnector), true);
             }
-            Folder folder = store.getFolder(folderName.getValue());
-            if (folder == null) {
-                log.error("Email store folder, " + folderName + " is not found.");
-            } else {
-                if (!folder.isOpen()) {
-                    folder.open(Folder.READ_WRITE);
-                }
-                clientConnector.addNativeData(EmailConstants.PROPS_FOLDER, folder);
-                Message[] messages = folder.search(UNSEEN_FLAG);
-                if (messages.length > 0) {
-                    mapValue = EmailAccessUtil.getMapValue(messages[0]);
-                    Flags flags = new Flags();
-                    if (EmailConstants.POP_CLIENT.equals(TypeUtils.getType(clientConnector).getName())) {
-                        flags.add(Flags.Flag.DELETED);
-                    } else {
-                        flags.add(Flags.Flag.SEEN);
-                    }
-                    folder.setFlags(new int[]{messages[0].getMessageNumber()}, flags, true);
-                }
-                if (log.isDebugEnabled()) {
-                    log.debug("Got the messages. Email count = " + messages.length);
-                }
+            if (log.isDebugEnabled()) {
+                log.debug("Got the messages. Email count = " + messages.length);
             }
             return mapValue;
         } catch (MessagingException | IOException e) {
             log.debug("Error while email folder operation : ", e);
+            closeFolder(clientConnector);
             return CommonUtil.getBallerinaError(EmailConstants.ERROR, e.getMessage());
         }
     }
 
+    // The folder opened by the previous read is reused when the same folder is read again, so that it is not selected
+    // again for each read. It is opened again when it is closed by the server, or when a POP3 folder has no unread
+    // messages, as a POP3 folder does not show the messages delivered after it is opened.
+    private static Message[] searchUnreadMessages(BObject clientConnector, BString folderName)
+            throws MessagingException {
+        boolean popClient = isPopClient(clientConnector);
+        // The messages read by the POP client are deleted only when the folder is closed
+        SearchTerm unreadTerm = popClient ? UNSEEN_UNDELETED_FLAGS : UNSEEN_FLAG;
+        Object folderObj = clientConnector.getNativeData(EmailConstants.PROPS_FOLDER);
+        if (folderObj instanceof Folder) {
+            Folder cachedFolder = (Folder) folderObj;
+            if (cachedFolder.isOpen() && cachedFolder.getFullName().equals(folderName.getValue())) {
+                try {
+                    Message[] messages = searchFolder(clientConnector, cachedFolder, unreadTerm);
+                    if (messages.length > 0 || !popClient) {
+                        return messages;
+                    }
+                } catch (FolderClosedException e) {
+                    log.debug("Email store folder is closed by the server. Opening the folder again : ", e);
+                }
+            }
+        }
+        Folder folder = openFolder(clientConnector, folderName);
+        return folder == null ? new Message[0] : searchFolder(clientConnector, folder, unreadTerm);
+    }
+
+    private static Message[] searchFolder(BObject clientConnector, Folder folder, SearchTerm unreadTerm)
+            throws MessagingException {
+        // An IMAP folder only fetches the messages delivered after the previous read, instead of searching all of them
+        ImapUidWatermark uidWatermark = getUidWatermark(clientConnector, folder);
+        if (uidWatermark != null) {
+            return uidWatermark.searchUnread((IMAPFolder) folder);
+        }
+        return folder.search(unreadTerm);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ImapUidWatermark getUidWatermark(BObject clientConnector, Folder folder) {
+        Map<String, ImapUidWatermark> uidWatermarks = (Map<String, ImapUidWatermark>) clientConnector.getNativeData(
+                EmailConstants.PROPS_UID_WATERMARKS);
+        if (uidWatermarks != null && folder instanceof IMAPFolder) {
+            return uidWatermarks.computeIfAbsent(folder.getFullName(), name -> new ImapUidWatermark());
+        }
+        return null;
+    }
+
+    private static Folder openFolder(BObject clientConnector, BString folderName) throws MessagingException {
+        Store store = (Store) clientConnector.getNativeData(EmailConstants.PROPS_STORE);
+        closeFolder(clientConnector);
+        Folder folder = store.getFolder(folderName.getValue());
+        if (folder == null) {
+            log.error("Email store folder, " + folderName + " is not found.");
+            return null;
+        }
+        // The folder is kept before it is opened, so that it is closed if resynchronizing it fails after it is opened
+        clientConnector.addNativeData(EmailConstants.PROPS_FOLDER, folder);
+        if (!folder.isOpen()) {
+            ImapUidWatermark uidWatermark = getUidWatermark(clientConnector, folder);
+            if (uidWatermark != null) {
+                uidWatermark.open((IMAPFolder) folder);
+            } else {
+                folder.open(Folder.READ_WRITE);
+            }
+        }
+        return folder;
+    }
+
+    private static void closeFolder(BObject clientConnector) {
+        Object folderObj = clientConnector.getNativeData(EmailConstants.PROPS_FOLDER);
+        if (folderObj instanceof Folder && ((Folder) folderObj).isOpen()) {
+            try {
+                // Closing the folder of the POP client deletes the messages read from it
+                ((Folder) folderObj).close(isPopClient(clientConnector));
+            } catch (MessagingException e) {
+                log.debug("Error while closing the email store folder : ", e);
+            }
+        }
+    }
+
+    private static Flags getReadFlags(BObject clientConnector) {
+        Flags flags = new Flags();
+        if (isPopClient(clientConnector)) {
+            flags.add(Flags.Flag.DELETED);
+        } else {
+            flags.add(Flags.Flag.SEEN);
+        }
+        return flags;
+    }
+
+    private static boolean isPopClient(BObject clientConnector) {
+        return EmailConstants.POP_CLIENT.equals(TypeUtils.getType(clientConnector).getName());
+    }
+
     public static Object close(BObject clientConnector) {
         try {
             Store store = (Store) clientConnector.getNativeData(EmailConstants.PROPS_STORE);
-            Folder folder = (Folder) clientConnector.getNativeData(EmailConstants.PROPS_FOLDER);
-            if (folder.isOpen()) {
-                folder.close(false);
+            Object folderObj = clientConnector.getNativeData(EmailConstants.PROPS_FOLDER);
+            if (folderObj instanceof Folder && ((Folder) folderObj).isOpen()) {
+                ((Folder) folderObj).close(isPopClient(clientConnector));
             }
             store.close();
         } catch (MessagingException e) {
@@ -238,5 +378,4 @@ public class EmailAccessClient {
         }
         return null;
     }
-
 }
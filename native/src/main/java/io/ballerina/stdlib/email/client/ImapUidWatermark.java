@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPStore;
+import com.sun.mail.imap.MessageVanishedEvent;
+import com.sun.mail.imap.ResyncData;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import javax.mail.FetchProfile;
+import javax.mail.Flags;
+import javax.mail.Folder;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.UIDFolder;
+import javax.mail.event.MailEvent;
+import javax.mail.event.MessageChangedEvent;
+import javax.mail.search.FlagTerm;
+
+/**
+ * Tracks the UIDs of an IMAP folder, which are already checked for unread messages, so that a read only fetches the
+ * messages delivered after the previous read instead of searching the whole folder. The folder is searched again only
+ * when its UIDVALIDITY changes, as the UIDs of the folder are no longer valid.
+ * <p>
+ * If the server supports CONDSTORE or QRESYNC, the HIGHESTMODSEQ of the folder is kept when the folder is opened.
+ * When the folder is opened again by the same client, only the messages changed or expunged since then are fetched to
+ * find the messages marked as unread again and to drop the expunged ones. The watermark is kept in the memory of the
+ * client only, so a new client searches the whole folder again.
+ *
+ * @since 2.12.1
+ */
+class ImapUidWatermark {
+
+    private static final FlagTerm UNSEEN_FLAG = new FlagTerm(new Flags(Flags.Flag.SEEN), false);
+    private static final String CONDSTORE = "CONDSTORE";
+    private static final String QRESYNC = "QRESYNC";
+    private static final String ENABLE = "ENABLE";
+    private static final FetchProfile UID_FLAGS_PROFILE = new FetchProfile();
+
+    static {
+        UID_FLAGS_PROFILE.add(UIDFolder.FetchProfileItem.UID);
+        UID_FLAGS_PROFILE.add(FetchProfile.Item.FLAGS);
+    }
+
+    private long uidValidity = -1;
+    // Highest UID of the folder, which is checked for unread messages
+    private long lastUid = 0;
+    // UIDs of the unread messages up to the last UID, which are not read yet
+    private final TreeSet<Long> pendingUids = new TreeSet<>();
+    // HIGHESTMODSEQ of the folder when it was last opened, or -1 if the server does not support CONDSTORE
+    private long highestModSeq = -1;
+
+    /**
+     * Opens the folder and updates the unread messages up to the last UID with the changes made since the folder was
+     * last opened, if the server supports CONDSTORE or QRESYNC.
+     * @param folder IMAP folder, which is tracked by this watermark
+     * @throws MessagingException If the folder could not be opened
+     */
+    synchronized void open(IMAPFolder folder) throws MessagingException {
+        IMAPStore store = (IMAPStore) folder.getStore();
+        boolean qresync = store.hasCapability(QRESYNC);
+        boolean synced = uidValidity != -1 && highestModSeq > 0 && lastUid > 0;
+        // CONDSTORE and QRESYNC are turned on with the `ENABLE` command
+        if (!store.hasCapability(ENABLE) || (!qresync && !store.hasCapability(CONDSTORE))) {
+            folder.open(Folder.READ_WRITE);
+            highestModSeq = -1;
+            return;
+        }
+        if (qresync && synced) {
+            // The server returns the UIDs expunged and the messages changed since the given HIGHESTMODSEQ
+            List<MailEvent> changes = folder.open(Folder.READ_WRITE,
+                    new ResyncData(uidValidity, highestModSeq, 1, lastUid));
+            if (folder.getUIDValidity() == uidValidity) {
+                applyChanges(folder, changes);
+            }
+        } else {
+            folder.open(Folder.READ_WRITE, ResyncData.CONDSTORE);
+            if (synced && folder.getUIDValidity() == uidValidity) {
+                // The expunged messages are dropped when the pending messages are fetched
+                Message[] changedMessages = folder.getMessagesByUIDChangedSince(1, lastUid, highestModSeq);
+                for (Message message : changedMessages) {
+                    updatePending(folder, message);
+                }
+            }
+        }
+        highestModSeq = folder.getHighestModSeq();
+    }
+
+    /**
+     * Finds the unread messages of the folder in the order of their UIDs.
+     * @param folder Open IMAP folder, which is tracked by this watermark
+     * @return The unread messages
+     * @throws MessagingException If the messages could not be fetched
+     */
+    synchronized Message[] searchUnread(IMAPFolder folder) throws MessagingException {
+        UIDFolder uidFolder = folder;
+        long currentUidValidity = uidFolder.getUIDValidity();
+        if (currentUidValidity != uidValidity) {
+            pendingUids.clear();
+            searchFolder(folder, uidFolder);
+            uidValidity = currentUidValidity;
+        } else {
+            fetchNewMessages(folder, uidFolder);
+        }
+        if (pendingUids.isEmpty()) {
+            return new Message[0];
+        }
+        long[] uids = new long[pendingUids.size()];
+        int index = 0;
+        for (long uid : pendingUids) {
+            uids[index++] = uid;
+        }
+        Message[] pendingMessages = uidFolder.getMessagesByUID(uids);
+        List<Message> fetchedMessages = new ArrayList<>(pendingMessages.length);
+        for (Message message : pendingMessages) {
+            if (message != null) {
+                fetchedMessages.add(message);
+            }
+        }
+        folder.fetch(fetchedMessages.toArray(new Message[0]), UID_FLAGS_PROFILE);
+        // The messages, which are expunged or read since they were found, are no longer pending
+        List<Message> unreadMessages = new ArrayList<>(pendingMessages.length);
+        Iterator<Long> pendingIterator = pendingUids.iterator();
+        for (Message message : pendingMessages) {
+            pendingIterator.next();
+            if (message == null || message.isExpunged() || message.isSet(Flags.Flag.SEEN)) {
+                pendingIterator.remove();
+            } else {
+                unreadMessages.add(message);
+            }
+        }
+        return unreadMessages.toArray(new Message[0]);
+    }
+
+    private void applyChanges(IMAPFolder folder, List<MailEvent> changes) throws MessagingException {
+        if (changes == null) {
+            return;
+        }
+        for (MailEvent change : changes) {
+            if (change instanceof MessageVanishedEvent) {
+                for (long uid : ((MessageVanishedEvent) change).getUIDs()) {
+                    pendingUids.remove(uid);
+                }
+            } else if (change instanceof MessageChangedEvent) {
+                updatePending(folder, ((MessageChangedEvent) change).getMessage());
+            }
+        }
+    }
+
+    // A changed message is pending if it is still unread, including a message marked as unread again after it is read
+    private void updatePending(IMAPFolder folder, Message message) throws MessagingException {
+        long uid = folder.getUID(message);
+        if (uid > lastUid) {
+            return;
+        }
+        if (message.isSet(Flags.Flag.SEEN)) {
+            pendingUids.remove(uid);
+        } else {
+            pendingUids.add(uid);
+        }
+    }
+
+    private void searchFolder(IMAPFolder folder, UIDFolder uidFolder) throws MessagingException {
+        // The last UID is taken before searching, so that a message delivered in between is fetched by the next read
+        // even if the search misses it
+        int messageCount = folder.getMessageCount();
+        lastUid = messageCount > 0 ? uidFolder.getUID(folder.getMessage(messageCount)) : 0;
+        Message[] unreadMessages = folder.search(UNSEEN_FLAG);
+        folder.fetch(unreadMessages, UID_FLAGS_PROFILE);
+        for (Message message : unreadMessages) {
+            long uid = uidFolder.getUID(message);
+            if (uid <= lastUid) {
+                pendingUids.add(uid);
+            }
+        }
+    }
+
+    private void fetchNewMessages(IMAPFolder folder, UIDFolder uidFolder) throws MessagingException {
+        // The folder only knows the messages announced by the server. A `NOOP` gets the new messages announced, as a
+        // server is not required to announce them in the response of a `UID FETCH`.
+        folder.doCommand(protocol -> {
+            protocol.noop();
+            return null;
+        });
+        // `UID n:*` returns the message with the highest UID even when it is below `n`, which is skipped
+        Message[] newMessages = uidFolder.getMessagesByUID(lastUid + 1, UIDFolder.LASTUID);
+        folder.fetch(newMessages, UID_FLAGS_PROFILE);
+        long highestUid = lastUid;
+        for (Message message : newMessages) {
+            long uid = uidFolder.getUID(message);
+            if (uid <= lastUid) {
+                continue;
+            }
+            highestUid = Math.max(highestUid, uid);
+            if (!message.isSet(Flags.Flag.SEEN)) {
+                pendingUids.add(uid);
+            }
+        }
+        lastUid = highestUid;
+    }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import io.ballerina.stdlib.email.util.EmailConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Sends the messages submitted by an SMTP client in the background. Messages are queued in a bounded queue and sent
+ * by a fixed number of workers, each running on its own thread. Each worker keeps its SMTP session open while there are
+ * messages in the queue. The workers take the queued messages in batches, so that the messages arriving within the
+ * batch window are sent over the same connection, while a backlog is shared across all the workers.
+ *
+ * @since 2.12.1
+ */
+public class SmtpAsyncSender {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpAsyncSender.class);
+    // A worker releases its connection after being idle for this long
+    private static final long IDLE_TIMEOUT_IN_MS = 1000;
+
+    private final SmtpConnectionFactory connectionFactory;
+    private final SmtpConnectionPool connectionPool;
+    private final BlockingQueue<QueuedMessage> queue;
+    private final int workerCount;
+    private final String overflowPolicy;
+    private final long batchWindowInNs;
+    private final int maxBatchSize;
+    // Only one worker collects a batch at a time, so that a message is not taken by an idle worker while another
+    // worker is waiting for more messages to send over its connection
+    private final Lock batchLock = new ReentrantLock();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a background sender. The workers are started when the first message is submitted.
+     * @param connectionFactory Factory used to open the SMTP connections
+     * @param connectionPool Connection pool of the SMTP client or `null`
+     * @param queueCapacity Maximum number of messages waiting to be sent
+     * @param workerCount Number of workers sending the queued messages
+     * @param overflowPolicy Action taken when a message is submitted while the queue is full
+     * @param batchWindowInMs Maximum time a worker waits for more messages before sending a batch
+     * @param maxBatchSize Maximum number of messages a worker takes from the queue at once
+     */
+    SmtpAsyncSender(SmtpConnectionFactory connectionFactory, SmtpConnectionPool connectionPool,
+                    int queueCapacity, int workerCount, String overflowPolicy, long batchWindowInMs,
+                    int maxBatchSize) {
+        this.connectionFactory = connectionFactory;
+        this.connectionPool = connectionPool;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.overflowPolicy = overflowPolicy;
+        this.batchWindowInNs = TimeUnit.MILLISECONDS.toNanos(batchWindowInMs);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+    }
+
+    /**
+     * Submits a message to be sent in the background.
+     * @param message Message to be sent
+     * @return A future, which is completed once the message is sent or failed
+     * @throws MessagingException If the message could not be queued
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) throws MessagingException {
+        if (closed) {
+            throw new MessagingException("SMTP client is already closed.");
+        }
+        startWorkers();
+        QueuedMessage queuedMessage = new QueuedMessage(message);
+        switch (overflowPolicy) {
+            case EmailConstants.OVERFLOW_POLICY_FAIL:
+                if (!queue.offer(queuedMessage)) {
+                    throw new MessagingException("Send queue of the SMTP client is full.");
+                }
+                break;
+            case EmailConstants.OVERFLOW_POLICY_DROP:
+                if (!queue.offer(queuedMessage)) {
+                    log.debug("Dropped a message as the send queue of the SMTP client is full.");
+                    queuedMessage.result.completeExceptionally(new MessagingException(
+                            "Message was dropped as the send queue of the SMTP client is full."));
+                }
+                break;
+            default:
+                try {
+                    queue.put(queuedMessage);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MessagingException("Interrupted while waiting for space in the send queue.", e);
+                }
+        }
+        // The client may have been closed while the message was being queued
+        if (closed && queue.remove(queuedMessage)) {
+            throw new MessagingException("SMTP client is already closed.");
+        }
+        return queuedMessage.result;
+    }
+
+    /**
+     * Stops accepting messages and waits until the queued messages are sent.
+     */
+    public void close() {
+        closed = true;
+        List<Thread> startedWorkers;
+        synchronized (workers) {
+            startedWorkers = new ArrayList<>(workers);
+        }
+        for (Thread worker : startedWorkers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        QueuedMessage queuedMessage;
+        while ((queuedMessage = queue.poll()) != null) {
+            queuedMessage.result.completeExceptionally(new MessagingException("SMTP client is already closed."));
+        }
+    }
+
+    private void startWorkers() {
+        synchronized (workers) {
+            if (!workers.isEmpty()) {
+                return;
+            }
+            // JavaMail holds a monitor while it waits for the server, which pins a virtual thread to its carrier, so
+            // the workers run on platform threads to send over all the connections at the same time
+            Thread.Builder builder = Thread.ofPlatform().daemon().name("smtp-sender-", 0);
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(builder.start(this::sendQueuedMessages));
+            }
+        }
+    }
+
+    private void sendQueuedMessages() {
+        SmtpSession smtpSession = new SmtpSession(connectionFactory, connectionPool);
+        List<QueuedMessage> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                collectBatch(batch);
+                if (batch.isEmpty()) {
+                    smtpSession.close();
+                    continue;
+                }
+                for (QueuedMessage queuedMessage : batch) {
+                    try {
+                        smtpSession.send(queuedMessage.message);
+                        queuedMessage.result.complete(null);
+                    } catch (MessagingException | RuntimeException e) {
+                        log.debug("Error while sending a queued message : ", e);
+                        queuedMessage.result.completeExceptionally(e);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            smtpSession.close();
+            for (QueuedMessage queuedMessage : batch) {
+                queuedMessage.result.completeExceptionally(new MessagingException("SMTP client is already closed."));
+            }
+        }
+    }
+
+    private void collectBatch(List<QueuedMessage> batch) throws InterruptedException {
+        if (!batchLock.tryLock(IDLE_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        try {
+            QueuedMessage queuedMessage = queue.poll(IDLE_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+            if (queuedMessage == null) {
+                return;
+            }
+            batch.add(queuedMessage);
+            long deadline = System.nanoTime() + batchWindowInNs;
+            while (batch.size() < maxBatchSize) {
+                int queuedCount = queue.size();
+                if (queuedCount > 0) {
+                    // A backlog is shared with the other workers, so that it is sent over all the connections
+                    int share = Math.min((batch.size() + queuedCount + workerCount - 1) / workerCount, maxBatchSize);
+                    if (batch.size() >= share) {
+                        return;
+                    }
+                    queue.drainTo(batch, share - batch.size());
+                    continue;
+                }
+                long remainingTime = deadline - System.nanoTime();
+                if (remainingTime <= 0) {
+                    return;
+                }
+                queuedMessage = queue.poll(remainingTime, TimeUnit.NANOSECONDS);
+                if (queuedMessage == null) {
+                    return;
+                }
+                batch.add(queuedMessage);
+            }
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    private static class QueuedMessage {
+
+        private final MimeMessage message;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        QueuedMessage(MimeMessage message) {
+            this.message = message;
+        }
+
+    }
+
+}
@@ -18,27 +18,42 @@
 
 package io.ballerina.stdlib.email.client;
 
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BHandle;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.AttachmentCache;
 import io.ballerina.stdlib.email.util.CommonUtil;
 import io.ballerina.stdlib.email.util.EmailConstants;
+import io.ballerina.stdlib.email.util.EmailMetrics;
+import io.ballerina.stdlib.email.util.FileChannelDataSource;
+import io.ballerina.stdlib.email.util.MessageTemplate;
 import io.ballerina.stdlib.email.util.SmtpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
-import java.util.Arrays;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.Properties;
-import java.util.stream.Collectors;
 
 import javax.mail.Address;
 import javax.mail.MessagingException;
 import javax.mail.PasswordAuthentication;
 import javax.mail.SendFailedException;
 import javax.mail.Session;
-import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
 
 /**
  * Contains functionality of SMTP Client.
@@ -48,6 +63,13 @@ import javax.mail.Transport;
 public class SmtpClient {
 
     private static final Logger log = LoggerFactory.getLogger(SmtpClient.class);
+    // Defaults of `email:AsyncConfiguration`, which are used when the client does not have an `asyncConfig`
+    private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1000;
+    private static final int DEFAULT_ASYNC_WORKERS = 2;
+    // Defaults of `email:IdempotencyConfiguration`, which are used when the client does not have an
+    // `idempotencyConfig`
+    private static final int DEFAULT_IDEMPOTENCY_MAX_KEYS = 10000;
+    private static final long DEFAULT_IDEMPOTENCY_RETENTION_IN_MS = 86400000;
 
     private SmtpClient() {}
 
@@ -72,6 +94,27 @@ public class SmtpClient {
             log.debug("Error while initializing SMTP properties : ", e);
             return CommonUtil.getBallerinaError(EmailConstants.ERROR, e.getMessage());
         }
+        BMap<BString, Object> loadBalanceConfig =
+                (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_LOAD_BALANCE_CONFIG);
+        SmtpHostSelector hostSelector;
+        if (loadBalanceConfig == null) {
+            hostSelector = new SmtpHostSelector(
+                    Collections.singletonList(new SmtpHost(host.getValue(), -1, Integer.MAX_VALUE, 0)),
+                    SmtpHostSelector.Policy.ROUND_ROBIN);
+        } else {
+            try {
+                hostSelector = createHostSelector(host.getValue(), loadBalanceConfig);
+            } catch (NumberFormatException e) {
+                log.debug("Error while parsing the SMTP hosts : ", e);
+                return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                        "Invalid port in the SMTP hosts: " + e.getMessage());
+            }
+            // Connections to an unreachable server time out quickly, so that they can fail over to another server.
+            // The cached properties are shared by other clients, so a copy of them is modified.
+            properties = (Properties) properties.clone();
+            properties.put(EmailConstants.PROPS_SMTP_CONNECTION_TIMEOUT, Long.toString(
+                    getTimeInMs(loadBalanceConfig, EmailConstants.LOAD_BALANCE_CONNECTION_TIMEOUT)));
+        }
         Session session = Session.getInstance(properties,
                 new javax.mail.Authenticator() {
                     protected PasswordAuthentication getPasswordAuthentication() {
@@ -80,6 +123,78 @@ public class SmtpClient {
                 });
         clientEndpoint.addNativeData(EmailConstants.PROPS_SESSION, session);
         clientEndpoint.addNativeData(EmailConstants.PROPS_USERNAME.getValue(), username.getValue());
+        BMap<BString, Object> attachmentCacheConfig =
+                (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_ATTACHMENT_CACHE_CONFIG);
+        if (attachmentCacheConfig != null) {
+            clientEndpoint.addNativeData(EmailConstants.PROPS_ATTACHMENT_CACHE, new AttachmentCache(
+                    attachmentCacheConfig.getIntValue(EmailConstants.ATTACHMENT_CACHE_MAX_SIZE)));
+        }
+        BMap<BString, Object> rateLimitConfig =
+                (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_RATE_LIMIT_CONFIG);
+        SmtpRateLimiter rateLimiter = rateLimitConfig == null ? null
+                : createRateLimiter(host.getValue(), rateLimitConfig);
+        BMap<BString, Object> dkimConfig = (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_DKIM_CONFIG);
+        DkimSigner dkimSigner = null;
+        if (dkimConfig != null) {
+            try {
+                dkimSigner = createDkimSigner(dkimConfig);
+            } catch (IOException | GeneralSecurityException e) {
+                log.debug("Error while loading the DKIM private key : ", e);
+                return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                        "Error while loading the DKIM private key: " + e.getMessage());
+            }
+        }
+        // The idempotency keys are loaded before the connections and the threads of the client are created, so that
+        // nothing is left running if they cannot be loaded
+        BMap<BString, Object> idempotencyConfig =
+                (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_IDEMPOTENCY_CONFIG);
+        if (idempotencyConfig != null) {
+            try {
+                clientEndpoint.addNativeData(EmailConstants.PROPS_IDEMPOTENCY_STORE,
+                        createIdempotencyStore(idempotencyConfig));
+            } catch (IOException e) {
+                log.debug("Error while loading the idempotency keys : ", e);
+                return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                        "Error while loading the idempotency keys: " + e.getMessage());
+            }
+        }
+        SmtpConnectionFactory connectionFactory =
+                new SmtpConnectionFactory(session, hostSelector, rateLimiter, dkimSigner);
+        clientEndpoint.addNativeData(EmailConstants.PROPS_CONNECTION_FACTORY, connectionFactory);
+        BMap<BString, Object> poolConfig =
+                (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_POOL_CONFIG);
+        SmtpConnectionPool connectionPool = null;
+        if (poolConfig != null) {
+            connectionPool = createConnectionPool(connectionFactory, poolConfig);
+            clientEndpoint.addNativeData(EmailConstants.PROPS_CONNECTION_POOL, connectionPool);
+        }
+        // The background sender is created when the first message is submitted with `sendMessageAsync`
+        BMap<BString, Object> asyncConfig =
+                (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_ASYNC_CONFIG);
+        if (asyncConfig != null) {
+            clientEndpoint.addNativeData(EmailConstants.PROPS_ASYNC_CONFIG.getValue(), asyncConfig);
+        }
+        int maxConnections = config.getIntValue(EmailConstants.PROPS_MAX_CONNECTIONS).intValue();
+        if (maxConnections > 1) {
+            clientEndpoint.addNativeData(EmailConstants.PROPS_PARALLEL_SENDER, createParallelSender(connectionFactory,
+                    connectionPool, maxConnections,
+                    (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_SEND_QUEUE_CONFIG)));
+        }
+        BMap<BString, Object> spoolConfig =
+                (BMap<BString, Object>) config.getMapValue(EmailConstants.PROPS_SPOOL_CONFIG);
+        if (spoolConfig != null) {
+            SmtpSpool spool = createSpool(connectionFactory, connectionPool, spoolConfig);
+            try {
+                spool.start();
+            } catch (IOException e) {
+                log.debug("Error while initializing the SMTP spool : ", e);
+                // The client cannot be used, so the connections and the threads created for it are released
+                close(clientEndpoint);
+                return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                        "Error while initializing the SMTP spool: " + e.getMessage());
+            }
+            clientEndpoint.addNativeData(EmailConstants.PROPS_SPOOL, spool);
+        }
         return null;
     }
 
@@ -90,21 +205,488 @@ public class SmtpClient {
      * @return If an error occurs in the SMTP client, error
      */
     public static Object sendMessage(BObject clientConnector, BMap<BString, Object> message) {
+        String idempotencyKey = getIdempotencyKey(message);
+        try {
+            if (!reserveIdempotencyKey(clientConnector, idempotencyKey)) {
+                return null;
+            }
+        } catch (MessagingException e) {
+            return getSendError(e);
+        }
+        boolean sent = false;
+        try {
+            MimeMessage mimeMessage = generateMessage(clientConnector, message);
+            send(clientConnector, mimeMessage);
+            sent = true;
+            return null;
+        } catch (MessagingException | IOException e) {
+            return getSendError(e);
+        } finally {
+            releaseIdempotencyKey(clientConnector, idempotencyKey, sent);
+        }
+    }
+
+    /**
+     * Prepares a template email, which can be merged and sent to many recipients.
+     * @param clientConnector Represents the SMTP Client class
+     * @param message Fields of the template email
+     * @return A handle to the prepared template, or else an error if the template could not be prepared
+     */
+    public static Object prepareTemplate(BObject clientConnector, BMap<BString, Object> message) {
         try {
-            Transport.send(SmtpUtil.generateMessage(
+            MessageTemplate template = MessageTemplate.prepare(
                     (Session) clientConnector.getNativeData(EmailConstants.PROPS_SESSION),
-                    (String) clientConnector.getNativeData(EmailConstants.PROPS_USERNAME.getValue()), message));
+                    (String) clientConnector.getNativeData(EmailConstants.PROPS_USERNAME.getValue()), message,
+                    (AttachmentCache) clientConnector.getNativeData(EmailConstants.PROPS_ATTACHMENT_CACHE));
+            return ValueCreator.createHandleValue(template);
+        } catch (MessagingException | IOException e) {
+            log.debug("Error while preparing the email template : ", e);
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while preparing the email template: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merges a prepared template with the given values and sends it to an SMTP server.
+     * @param clientConnector Represents the SMTP Client class
+     * @param template Handle to the prepared template
+     * @param values Values of the placeholders in the template
+     * @return If an error occurs in the SMTP client, error
+     */
+    public static Object sendTemplate(BObject clientConnector, BHandle template, BMap<BString, BString> values) {
+        try {
+            send(clientConnector, ((MessageTemplate) template.getValue()).merge(values));
+            return null;
+        } catch (MessagingException | IOException e) {
+            return getSendError(e);
+        }
+    }
+
+    /**
+     * Submits an email to be sent in the background by the SMTP client.
+     * @param clientConnector Represents the SMTP Client class
+     * @param message Fields of an email
+     * @return A handle to the pending result of the message, or else an error if the message could not be queued
+     */
+    public static Object sendMessageAsync(BObject clientConnector, BMap<BString, Object> message) {
+        SmtpAsyncSender asyncSender;
+        try {
+            asyncSender = getAsyncSender(clientConnector);
+        } catch (MessagingException e) {
+            return getSendError(e);
+        }
+        return submit(clientConnector, message, asyncSender, true);
+    }
+
+    /**
+     * Submits an email of a batch to the shared send queue of an SMTP client with more than one connection. The
+     * result of the message is read with the `getAsyncSendResult` function.
+     * @param clientConnector Represents the SMTP Client class
+     * @param message Fields of an email
+     * @return A handle to the pending result of the message, or else an error if the message could not be queued
+     */
+    public static Object submitMessage(BObject clientConnector, BMap<BString, Object> message) {
+        return submit(clientConnector, message,
+                (SmtpAsyncSender) clientConnector.getNativeData(EmailConstants.PROPS_PARALLEL_SENDER), false);
+    }
+
+    /**
+     * Checks whether an SMTP client sends its messages over more than one connection in parallel.
+     * @param clientConnector Represents the SMTP Client class
+     * @return Whether the client has a shared send queue
+     */
+    public static boolean isParallel(BObject clientConnector) {
+        return clientConnector.getNativeData(EmailConstants.PROPS_PARALLEL_SENDER) != null;
+    }
+
+    /**
+     * Waits until a message submitted with the `sendMessageAsync` function is sent.
+     * @param result Handle to the pending result of the message
+     * @return If the message could not be sent, error
+     */
+    public static Object getAsyncSendResult(BHandle result) {
+        try {
+            ((CompletableFuture<?>) result.getValue()).get();
             return null;
-        } catch (SendFailedException e) {
-            String invalidAddresses = Arrays.stream(e.getInvalidAddresses())
-                    .map((Address::toString))
-                    .collect(Collectors.joining(","));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MessagingException) {
+                return getSendError((MessagingException) cause);
+            }
+            log.debug("Error while sending the message to SMTP server : ", cause);
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR, cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return CommonUtil.getBallerinaError(EmailConstants.ERROR,
-                    "Error while sending the message to SMTP server : " + e.getMessage() + " " + invalidAddresses);
+                    "Interrupted while waiting for the message to be sent.");
+        }
+    }
+
+    /**
+     * Checks whether a message submitted with the `sendMessageAsync` function is sent or failed.
+     * @param result Handle to the pending result of the message
+     * @return Whether the message is sent or failed
+     */
+    public static boolean isAsyncSendDone(BHandle result) {
+        return ((CompletableFuture<?>) result.getValue()).isDone();
+    }
+
+    /**
+     * Opens an SMTP session to send a batch of messages over a single connection.
+     * @param clientConnector Represents the SMTP Client class
+     * @return A handle to the SMTP session
+     */
+    public static BHandle openSession(BObject clientConnector) {
+        SmtpConnectionFactory connectionFactory =
+                (SmtpConnectionFactory) clientConnector.getNativeData(EmailConstants.PROPS_CONNECTION_FACTORY);
+        SmtpConnectionPool connectionPool =
+                (SmtpConnectionPool) clientConnector.getNativeData(EmailConstants.PROPS_CONNECTION_POOL);
+        return ValueCreator.createHandleValue(new SmtpSession(connectionFactory, connectionPool));
+    }
+
+    /**
+     * Sends an email over an SMTP session opened with the `openSession` function.
+     * @param clientConnector Represents the SMTP Client class
+     * @param smtpSession Handle to the SMTP session
+     * @param message Fields of an email
+     * @return If an error occurs while sending the message, error
+     */
+    public static Object sendMessageInSession(BObject clientConnector, BHandle smtpSession,
+                                              BMap<BString, Object> message) {
+        String idempotencyKey = getIdempotencyKey(message);
+        try {
+            if (!reserveIdempotencyKey(clientConnector, idempotencyKey)) {
+                return null;
+            }
+        } catch (MessagingException e) {
+            return getSendError(e);
+        }
+        boolean sent = false;
+        try {
+            MimeMessage mimeMessage = generateMessage(clientConnector, message);
+            ((SmtpSession) smtpSession.getValue()).send(mimeMessage);
+            sent = true;
+            return null;
         } catch (MessagingException | IOException e) {
-            log.debug("Error while sending the message to SMTP server : ", e);
-            return CommonUtil.getBallerinaError(EmailConstants.ERROR, e.getMessage());
+            return getSendError(e);
+        } finally {
+            releaseIdempotencyKey(clientConnector, idempotencyKey, sent);
+        }
+    }
+
+    /**
+     * Closes an SMTP session opened with the `openSession` function.
+     * @param smtpSession Handle to the SMTP session
+     */
+    public static void closeSession(BHandle smtpSession) {
+        ((SmtpSession) smtpSession.getValue()).close();
+    }
+
+    /**
+     * Closes the SMTP client along with the pooled connections, after sending the messages queued to be sent in the
+     * background.
+     * @param clientConnector Represents the SMTP Client class
+     * @return If an error occurs in the SMTP client, error
+     */
+    public static Object close(BObject clientConnector) {
+        SmtpSpool spool = (SmtpSpool) clientConnector.getNativeData(EmailConstants.PROPS_SPOOL);
+        if (spool != null) {
+            spool.close();
+        }
+        SmtpAsyncSender asyncSender;
+        synchronized (clientConnector) {
+            // A background sender is not created for the messages submitted after the client is closed
+            clientConnector.addNativeData(EmailConstants.PROPS_CLIENT_CLOSED, Boolean.TRUE);
+            asyncSender = (SmtpAsyncSender) clientConnector.getNativeData(EmailConstants.PROPS_ASYNC_SENDER);
+        }
+        if (asyncSender != null) {
+            asyncSender.close();
+        }
+        SmtpAsyncSender parallelSender =
+                (SmtpAsyncSender) clientConnector.getNativeData(EmailConstants.PROPS_PARALLEL_SENDER);
+        if (parallelSender != null) {
+            parallelSender.close();
+        }
+        SmtpConnectionPool connectionPool =
+                (SmtpConnectionPool) clientConnector.getNativeData(EmailConstants.PROPS_CONNECTION_POOL);
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+        SmtpIdempotencyStore idempotencyStore =
+                (SmtpIdempotencyStore) clientConnector.getNativeData(EmailConstants.PROPS_IDEMPOTENCY_STORE);
+        if (idempotencyStore != null) {
+            idempotencyStore.close();
+        }
+        return null;
+    }
+
+    private static SmtpConnectionPool createConnectionPool(SmtpConnectionFactory connectionFactory,
+                                                           BMap<BString, Object> poolConfig) {
+        int maxActiveConnections = poolConfig.getIntValue(EmailConstants.POOL_MAX_ACTIVE_CONNECTIONS).intValue();
+        int maxIdleConnections = poolConfig.getIntValue(EmailConstants.POOL_MAX_IDLE_CONNECTIONS).intValue();
+        int maxMessagesPerConnection =
+                poolConfig.getIntValue(EmailConstants.POOL_MAX_MESSAGES_PER_CONNECTION).intValue();
+        long waitTimeInMs = getTimeInMs(poolConfig, EmailConstants.POOL_WAIT_TIME);
+        long maxConnectionLifetimeInMs = getTimeInMs(poolConfig, EmailConstants.POOL_MAX_CONNECTION_LIFETIME);
+        int minIdleConnections = poolConfig.getIntValue(EmailConstants.POOL_MIN_IDLE_CONNECTIONS).intValue();
+        long keepAliveIntervalInMs = getTimeInMs(poolConfig, EmailConstants.POOL_KEEP_ALIVE_INTERVAL);
+        SmtpConnectionPool connectionPool = new SmtpConnectionPool(connectionFactory, maxActiveConnections,
+                maxIdleConnections, waitTimeInMs, maxMessagesPerConnection, maxConnectionLifetimeInMs,
+                minIdleConnections, keepAliveIntervalInMs);
+        connectionPool.start();
+        return connectionPool;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SmtpAsyncSender getAsyncSender(BObject clientConnector) throws MessagingException {
+        synchronized (clientConnector) {
+            SmtpAsyncSender asyncSender =
+                    (SmtpAsyncSender) clientConnector.getNativeData(EmailConstants.PROPS_ASYNC_SENDER);
+            if (asyncSender != null) {
+                return asyncSender;
+            }
+            if (clientConnector.getNativeData(EmailConstants.PROPS_CLIENT_CLOSED) != null) {
+                throw new MessagingException("SMTP client is already closed.");
+            }
+            BMap<BString, Object> asyncConfig = (BMap<BString, Object>) clientConnector.getNativeData(
+                    EmailConstants.PROPS_ASYNC_CONFIG.getValue());
+            int queueCapacity = DEFAULT_ASYNC_QUEUE_CAPACITY;
+            int workers = DEFAULT_ASYNC_WORKERS;
+            String overflowPolicy = EmailConstants.OVERFLOW_POLICY_BLOCK;
+            if (asyncConfig != null) {
+                queueCapacity = asyncConfig.getIntValue(EmailConstants.ASYNC_QUEUE_CAPACITY).intValue();
+                workers = asyncConfig.getIntValue(EmailConstants.ASYNC_WORKERS).intValue();
+                overflowPolicy = asyncConfig.getStringValue(EmailConstants.ASYNC_OVERFLOW_POLICY).getValue();
+            }
+            asyncSender = new SmtpAsyncSender(
+                    (SmtpConnectionFactory) clientConnector.getNativeData(EmailConstants.PROPS_CONNECTION_FACTORY),
+                    (SmtpConnectionPool) clientConnector.getNativeData(EmailConstants.PROPS_CONNECTION_POOL),
+                    queueCapacity, workers, overflowPolicy, 0, 1);
+            clientConnector.addNativeData(EmailConstants.PROPS_ASYNC_SENDER, asyncSender);
+            return asyncSender;
+        }
+    }
+
+    private static SmtpAsyncSender createParallelSender(SmtpConnectionFactory connectionFactory,
+                                                        SmtpConnectionPool connectionPool, int maxConnections,
+                                                        BMap<BString, Object> sendQueueConfig) {
+        int queueCapacity = sendQueueConfig.getIntValue(EmailConstants.ASYNC_QUEUE_CAPACITY).intValue();
+        long batchWindowInMs = getTimeInMs(sendQueueConfig, EmailConstants.SEND_QUEUE_BATCH_WINDOW);
+        int maxBatchSize = sendQueueConfig.getIntValue(EmailConstants.SEND_QUEUE_MAX_BATCH_SIZE).intValue();
+        // The callers wait for their messages, so a full queue holds them back instead of failing the messages
+        return new SmtpAsyncSender(connectionFactory, connectionPool, queueCapacity, maxConnections,
+                EmailConstants.OVERFLOW_POLICY_BLOCK, batchWindowInMs, maxBatchSize);
+    }
+
+    private static SmtpHostSelector createHostSelector(String host, BMap<BString, Object> loadBalanceConfig) {
+        int maxFailures = loadBalanceConfig.getIntValue(EmailConstants.LOAD_BALANCE_MAX_FAILURES).intValue();
+        long failureTimeoutInMs = getTimeInMs(loadBalanceConfig, EmailConstants.LOAD_BALANCE_FAILURE_TIMEOUT);
+        BArray additionalHosts = loadBalanceConfig.getArrayValue(EmailConstants.LOAD_BALANCE_HOSTS);
+        List<SmtpHost> hosts = new ArrayList<>();
+        hosts.add(new SmtpHost(host, -1, maxFailures, failureTimeoutInMs));
+        for (String additionalHost : additionalHosts.getStringArray()) {
+            hosts.add(SmtpHost.parse(additionalHost, maxFailures, failureTimeoutInMs));
+        }
+        SmtpHostSelector.Policy policy = SmtpHostSelector.Policy.valueOf(
+                loadBalanceConfig.getStringValue(EmailConstants.LOAD_BALANCE_POLICY).getValue());
+        return new SmtpHostSelector(hosts, policy);
+    }
+
+    private static SmtpRateLimiter createRateLimiter(String host, BMap<BString, Object> rateLimitConfig) {
+        double messagesPerSecond = 0;
+        if (rateLimitConfig.containsKey(EmailConstants.RATE_LIMIT_MESSAGES_PER_SECOND)) {
+            messagesPerSecond =
+                    ((BDecimal) rateLimitConfig.get(EmailConstants.RATE_LIMIT_MESSAGES_PER_SECOND)).floatValue();
+        }
+        long recipientsPerMinute = 0;
+        if (rateLimitConfig.containsKey(EmailConstants.RATE_LIMIT_RECIPIENTS_PER_MINUTE)) {
+            recipientsPerMinute = rateLimitConfig.getIntValue(EmailConstants.RATE_LIMIT_RECIPIENTS_PER_MINUTE);
+        }
+        return new SmtpRateLimiter(host, messagesPerSecond, recipientsPerMinute);
+    }
+
+    private static DkimSigner createDkimSigner(BMap<BString, Object> dkimConfig)
+            throws IOException, GeneralSecurityException {
+        PrivateKey privateKey = DkimSigner.loadPrivateKey(
+                Paths.get(dkimConfig.getStringValue(EmailConstants.DKIM_PRIVATE_KEY).getValue()));
+        return new DkimSigner(dkimConfig.getStringValue(EmailConstants.DKIM_DOMAIN).getValue(),
+                dkimConfig.getStringValue(EmailConstants.DKIM_SELECTOR).getValue(), privateKey,
+                dkimConfig.getArrayValue(EmailConstants.DKIM_HEADERS).getStringArray(),
+                isRelaxed(dkimConfig, EmailConstants.DKIM_HEADER_CANONICALIZATION),
+                isRelaxed(dkimConfig, EmailConstants.DKIM_BODY_CANONICALIZATION));
+    }
+
+    private static boolean isRelaxed(BMap<BString, Object> dkimConfig, BString key) {
+        return EmailConstants.DKIM_CANONICALIZATION_RELAXED.equals(dkimConfig.getStringValue(key).getValue());
+    }
+
+    private static SmtpIdempotencyStore createIdempotencyStore(BMap<BString, Object> idempotencyConfig)
+            throws IOException {
+        BString file = idempotencyConfig.getStringValue(EmailConstants.IDEMPOTENCY_FILE);
+        return new SmtpIdempotencyStore(idempotencyConfig.getIntValue(EmailConstants.IDEMPOTENCY_MAX_KEYS).intValue(),
+                getTimeInMs(idempotencyConfig, EmailConstants.IDEMPOTENCY_RETENTION),
+                file == null ? null : Paths.get(file.getValue()));
+    }
+
+    private static String getIdempotencyKey(BMap<BString, Object> message) {
+        BString idempotencyKey = message.getStringValue(EmailConstants.MESSAGE_IDEMPOTENCY_KEY);
+        return idempotencyKey == null ? null : idempotencyKey.getValue();
+    }
+
+    // Returns whether the message has to be sent, or else a message with the same key was already sent
+    private static boolean reserveIdempotencyKey(BObject clientConnector, String idempotencyKey)
+            throws MessagingException {
+        if (idempotencyKey == null) {
+            return true;
+        }
+        if (getIdempotencyStore(clientConnector).reserve(idempotencyKey)) {
+            return true;
+        }
+        log.debug("Skipping the message with the idempotency key " + idempotencyKey + ", which was already sent.");
+        return false;
+    }
+
+    private static void releaseIdempotencyKey(BObject clientConnector, String idempotencyKey, boolean sent) {
+        if (idempotencyKey != null) {
+            getIdempotencyStore(clientConnector).release(idempotencyKey, sent);
+        }
+    }
+
+    // The store of a client without an `idempotencyConfig` is created when the first message with a key is sent
+    private static SmtpIdempotencyStore getIdempotencyStore(BObject clientConnector) {
+        synchronized (clientConnector) {
+            SmtpIdempotencyStore idempotencyStore =
+                    (SmtpIdempotencyStore) clientConnector.getNativeData(EmailConstants.PROPS_IDEMPOTENCY_STORE);
+            if (idempotencyStore == null) {
+                idempotencyStore = new SmtpIdempotencyStore(DEFAULT_IDEMPOTENCY_MAX_KEYS,
+                        DEFAULT_IDEMPOTENCY_RETENTION_IN_MS);
+                clientConnector.addNativeData(EmailConstants.PROPS_IDEMPOTENCY_STORE, idempotencyStore);
+            }
+            return idempotencyStore;
+        }
+    }
+
+    private static SmtpSpool createSpool(SmtpConnectionFactory connectionFactory, SmtpConnectionPool connectionPool,
+                                         BMap<BString, Object> spoolConfig) {
+        Path directory = Paths.get(spoolConfig.getStringValue(EmailConstants.SPOOL_DIRECTORY).getValue());
+        int maxRetries = spoolConfig.getIntValue(EmailConstants.SPOOL_MAX_RETRIES).intValue();
+        long retryIntervalInMs = getTimeInMs(spoolConfig, EmailConstants.SPOOL_RETRY_INTERVAL);
+        double backOffFactor = spoolConfig.getFloatValue(EmailConstants.SPOOL_BACK_OFF_FACTOR);
+        long maxRetryIntervalInMs = getTimeInMs(spoolConfig, EmailConstants.SPOOL_MAX_RETRY_INTERVAL);
+        return new SmtpSpool(connectionFactory, connectionPool, directory, maxRetries, retryIntervalInMs, backOffFactor,
+                maxRetryIntervalInMs);
+    }
+
+    // The attachment channels are copied for a message, whose sender does not wait for it to be sent
+    private static Object submit(BObject clientConnector, BMap<BString, Object> message, SmtpAsyncSender sender,
+                                 boolean copyAttachments) {
+        String idempotencyKey = getIdempotencyKey(message);
+        try {
+            if (!reserveIdempotencyKey(clientConnector, idempotencyKey)) {
+                return ValueCreator.createHandleValue(CompletableFuture.completedFuture(null));
+            }
+        } catch (MessagingException e) {
+            return getSendError(e);
+        }
+        boolean submitted = false;
+        List<FileChannelDataSource> attachmentCopies = Collections.emptyList();
+        try {
+            MimeMessage mimeMessage = generateMessage(clientConnector, message);
+            if (copyAttachments) {
+                attachmentCopies = SmtpUtil.copyStreamedAttachments(mimeMessage);
+            }
+            CompletableFuture<Void> result = sender.submit(mimeMessage);
+            submitted = true;
+            if (!attachmentCopies.isEmpty()) {
+                // The copies are removed before the caller sees the result of the message
+                List<FileChannelDataSource> copies = attachmentCopies;
+                result = result.whenComplete((ignored, error) -> SmtpUtil.removeAttachmentCopies(copies));
+            }
+            if (idempotencyKey != null) {
+                result.whenComplete((ignored, error) ->
+                        releaseIdempotencyKey(clientConnector, idempotencyKey, error == null));
+            }
+            return ValueCreator.createHandleValue(result);
+        } catch (MessagingException | IOException e) {
+            return getSendError(e);
+        } finally {
+            if (!submitted) {
+                SmtpUtil.removeAttachmentCopies(attachmentCopies);
+                releaseIdempotencyKey(clientConnector, idempotencyKey, false);
+            }
+        }
+    }
+
+    private static MimeMessage generateMessage(BObject clientConnector, BMap<BString, Object> message)
+            throws MessagingException, IOException {
+        Session session = (Session) clientConnector.getNativeData(EmailConstants.PROPS_SESSION);
+        long startTime = System.nanoTime();
+        MimeMessage mimeMessage = SmtpUtil.generateMessage(session,
+                (String) clientConnector.getNativeData(EmailConstants.PROPS_USERNAME.getValue()), message,
+                (AttachmentCache) clientConnector.getNativeData(EmailConstants.PROPS_ATTACHMENT_CACHE));
+        if (EmailMetrics.isEnabled()) {
+            Address[] recipients = mimeMessage.getAllRecipients();
+            SmtpPhaseMetrics.recordCompose(session.getProperty(EmailConstants.PROPS_SMTP_HOST),
+                    recipients == null ? 0 : recipients.length, System.nanoTime() - startTime);
+        }
+        return mimeMessage;
+    }
+
+    private static void send(BObject clientConnector, MimeMessage mimeMessage) throws MessagingException, IOException {
+        SmtpSpool spool = (SmtpSpool) clientConnector.getNativeData(EmailConstants.PROPS_SPOOL);
+        SmtpAsyncSender parallelSender =
+                (SmtpAsyncSender) clientConnector.getNativeData(EmailConstants.PROPS_PARALLEL_SENDER);
+        SmtpConnectionPool connectionPool =
+                (SmtpConnectionPool) clientConnector.getNativeData(EmailConstants.PROPS_CONNECTION_POOL);
+        if (spool != null) {
+            spool.spool(mimeMessage);
+            return;
+        }
+        if (parallelSender != null) {
+            waitForResult(parallelSender.submit(mimeMessage));
+            return;
+        }
+        SmtpConnectionFactory connectionFactory =
+                (SmtpConnectionFactory) clientConnector.getNativeData(EmailConstants.PROPS_CONNECTION_FACTORY);
+        // The rate limit is waited for before a connection is borrowed, so that other senders can use it meanwhile
+        connectionFactory.acquirePermit(mimeMessage);
+        if (connectionPool != null) {
+            connectionPool.send(mimeMessage);
+        } else {
+            SmtpConnection connection = connectionFactory.open();
+            try {
+                connection.send(mimeMessage);
+            } finally {
+                connection.close();
+            }
         }
     }
 
+    private static void waitForResult(CompletableFuture<Void> result) throws MessagingException {
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MessagingException) {
+                throw (MessagingException) cause;
+            }
+            throw new MessagingException(cause.getMessage(), cause instanceof Exception ? (Exception) cause : null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for the message to be sent.", e);
+        }
+    }
+
+    private static BError getSendError(Exception e) {
+        if (e instanceof SendFailedException) {
+            return SmtpSendError.create((SendFailedException) e);
+        }
+        log.debug("Error while sending the message to SMTP server : ", e);
+        return CommonUtil.getBallerinaError(EmailConstants.ERROR, e.getMessage());
+    }
+
+    private static long getTimeInMs(BMap<BString, Object> config, BString key) {
+        return (long) (((BDecimal) config.get(key)).floatValue() * 1000);
+    }
+
 }
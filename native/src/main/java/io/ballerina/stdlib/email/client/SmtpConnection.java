@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.email.client;
+
+import com.sun.mail.smtp.SMTPTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.mail.Address;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Represents an authenticated connection to an SMTP server, which can be used to send more than one message.
+ *
+ * @since 2.12.1
+ */
+public class SmtpConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpConnection.class);
+
+    private final Transport transport;
+    private final SmtpHost host;
+    private final long createdTime;
+    private long lastUsedTime;
+    private int sentMessageCount = 0;
+
+    SmtpConnection(Transport transport, SmtpHost host) {
+        this.transport = transport;
+        this.host = host;
+        this.createdTime = System.currentTimeMillis();
+        this.lastUsedTime = createdTime;
+    }
+
+    /**
+     * Sends a message to all its recipients over this connection.
+     * @param message Message to be sent
+     * @throws MessagingException If the message could not be sent
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        message.saveChanges();
+        Address[] recipients = message.getAllRecipients();
+        if (recipients == null || recipients.length == 0) {
+            throw new SendFailedException("No recipient addresses");
+        }
+        lastUsedTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        host.incrementInFlightCount();
+        try {
+            transport.sendMessage(message, recipients);
+            host.recordSuccess(System.nanoTime() - startTime);
+        } catch (SendFailedException e) {
+            // The server rejected the message or some recipients, which does not indicate a failing server
+            throw e;
+        } catch (MessagingException e) {
+            host.recordFailure();
+            throw e;
+        } finally {
+            host.decrementInFlightCount();
+        }
+        sentMessageCount++;
+    }
+
+    /**
+     * Checks whether the server still accepts commands on this connection. This sends a `NOOP` to the server.
+     * @return Whether the connection is usable
+     */
+    public boolean isAlive() {
+        if (!transport.isConnected()) {
+            return false;
+        }
+        lastUsedTime = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Resets the state of the current mail transaction by sending `RSET` to the server.
+     * @return Whether the connection is usable for the next message
+     */
+    public boolean reset() {
+        if (!(transport instanceof SMTPTransport)) {
+            return isAlive();
+        }
+        SMTPTransport smtpTransport = (SMTPTransport) transport;
+        boolean useRset = smtpTransport.getUseRset();
+        smtpTransport.setUseRset(true);
+        try {
+            return smtpTransport.isConnected();
+        } finally {
+            smtpTransport.setUseRset(useRset);
+        }
+    }
+
+    /**
+     * Closes the connection by sending `QUIT` to the server.
+     */
+    public void close() {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error while closing the SMTP connection : ", e);
+        }
+    }
+
+    SmtpHost getHost() {
+        return host;
+    }
+
+    Transport getTransport() {
+        return transport;
+    }
+
+    long getCreatedTime() {
+        return createdTime;
+    }
+
+    long getLastUsedTime() {
+        return lastUsedTime;
+    }
+
+    int getSentMessageCount() {
+        return sentMessageCount;
+    }
+
+}
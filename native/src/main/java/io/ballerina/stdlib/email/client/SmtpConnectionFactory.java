@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import io.ballerina.stdlib.email.util.EmailConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import javax.mail.Address;
+import javax.mail.AuthenticationFailedException;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.URLName;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Opens the authenticated connections of an SMTP client, which share the session and the rate limits of the client.
+ * When the client has more than one server, a connection is opened to the server chosen by the host selector and
+ * fails over to the next server if the chosen one cannot be connected.
+ *
+ * @since 2.12.1
+ */
+class SmtpConnectionFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpConnectionFactory.class);
+
+    private final Session session;
+    private final SmtpHostSelector hostSelector;
+    private final SmtpRateLimiter rateLimiter;
+    private final DkimSigner dkimSigner;
+
+    /**
+     * Creates a connection factory for the given SMTP session, whose connections sign the messages with DKIM.
+     * @param session Session used to open the connections
+     * @param hostSelector Selector of the server to which a connection is opened
+     * @param rateLimiter Rate limiter applied to the messages sent over the connections or `null`
+     * @param dkimSigner Signer of the messages sent over the connections or `null`
+     */
+    SmtpConnectionFactory(Session session, SmtpHostSelector hostSelector, SmtpRateLimiter rateLimiter,
+                          DkimSigner dkimSigner) {
+        this.session = session;
+        this.hostSelector = hostSelector;
+        this.rateLimiter = rateLimiter;
+        this.dkimSigner = dkimSigner;
+    }
+
+    /**
+     * Opens a new authenticated connection to an SMTP server.
+     * @return The opened SMTP connection
+     * @throws MessagingException If a connection could not be established to any of the servers
+     */
+    SmtpConnection open() throws MessagingException {
+        return open(hostSelector.select());
+    }
+
+    /**
+     * Opens a new authenticated connection to the first of the given SMTP servers, which accepts it.
+     * @param hosts Servers in the order in which a connection should be attempted
+     * @return The opened SMTP connection
+     * @throws MessagingException If a connection could not be established to any of the servers
+     */
+    SmtpConnection open(List<SmtpHost> hosts) throws MessagingException {
+        if (hosts.isEmpty()) {
+            throw new MessagingException("No SMTP server is configured for the client.");
+        }
+        MessagingException failure = null;
+        for (SmtpHost host : hosts) {
+            SmtpTransport transport = new SmtpTransport(session,
+                    new URLName(EmailConstants.SMTP_PROTOCOL, null, -1, null, null, null), dkimSigner);
+            long startTime = System.nanoTime();
+            try {
+                transport.connect(host.getName(), host.getPort(), null, null);
+            } catch (AuthenticationFailedException e) {
+                // The servers share the credentials, so the other servers would reject them as well
+                throw e;
+            } catch (MessagingException e) {
+                host.recordFailure();
+                log.debug("Error while connecting to the SMTP server " + host + " : ", e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.setNextException(e);
+                }
+                continue;
+            }
+            host.recordSuccess(System.nanoTime() - startTime);
+            return new SmtpConnection(transport, host);
+        }
+        throw failure;
+    }
+
+    /**
+     * Waits until the given message can be sent within the rate limits. This is called before a connection is
+     * obtained for the message, so that a pooled connection is not held while waiting.
+     * @param message Message to be sent
+     * @throws MessagingException If interrupted while waiting
+     */
+    void acquirePermit(MimeMessage message) throws MessagingException {
+        if (rateLimiter == null) {
+            return;
+        }
+        Address[] recipients = message.getAllRecipients();
+        rateLimiter.acquire(recipients == null ? 0 : recipients.length);
+    }
+
+    /**
+     * Returns the servers ordered by their load, when the messages should be sent over a connection to the least
+     * loaded server rather than over any reusable connection.
+     * @return Servers ordered by their load or `null` if any reusable connection can be used
+     */
+    List<SmtpHost> selectByLoad() {
+        return hostSelector.selectByLoad();
+    }
+
+    Session getSession() {
+        return session;
+    }
+
+}
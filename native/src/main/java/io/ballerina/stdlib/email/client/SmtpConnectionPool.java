@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.email.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * A bounded pool of authenticated SMTP connections, which is shared by all the strands using an SMTP client. The pool
+ * can open a minimum number of idle connections when it is started and keep the idle connections alive with a `NOOP`
+ * at an interval, replacing the connections closed by the server, so that a message finds a connection ready to send.
+ *
+ * @since 2.12.1
+ */
+public class SmtpConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpConnectionPool.class);
+    // Idle connections older than this are checked with a `NOOP` before reuse as the server may have dropped them
+    static final long IDLE_VALIDATION_INTERVAL_IN_MS = 10000;
+
+    private final SmtpConnectionFactory connectionFactory;
+    private final int maxIdleConnections;
+    private final int minIdleConnections;
+    private final long keepAliveIntervalInMs;
+    private final long waitTimeInMs;
+    private final int maxMessagesPerConnection;
+    private final long maxConnectionLifetimeInMs;
+    private final Semaphore permits;
+    private final Deque<SmtpConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final CountDownLatch closeSignal = new CountDownLatch(1);
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a connection pool for the given SMTP session.
+     * @param connectionFactory Factory used to open the SMTP connections
+     * @param maxActiveConnections Maximum number of connections that can be borrowed at the same time
+     * @param maxIdleConnections Maximum number of idle connections kept open
+     * @param waitTimeInMs Maximum time to wait for a connection when the pool is exhausted
+     * @param maxMessagesPerConnection Maximum number of messages sent over a single connection
+     * @param maxConnectionLifetimeInMs Maximum time a connection is kept open after it is established
+     * @param minIdleConnections Minimum number of idle connections opened when the pool is started and kept open by
+     *                           the keep-alive
+     * @param keepAliveIntervalInMs Interval at which the idle connections are checked or `0` to disable the keep-alive
+     */
+    SmtpConnectionPool(SmtpConnectionFactory connectionFactory, int maxActiveConnections,
+                       int maxIdleConnections, long waitTimeInMs, int maxMessagesPerConnection,
+                       long maxConnectionLifetimeInMs, int minIdleConnections, long keepAliveIntervalInMs) {
+        this.connectionFactory = connectionFactory;
+        this.maxIdleConnections = maxIdleConnections;
+        this.minIdleConnections = Math.min(minIdleConnections, maxIdleConnections);
+        this.keepAliveIntervalInMs = keepAliveIntervalInMs;
+        this.waitTimeInMs = waitTimeInMs;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxConnectionLifetimeInMs = maxConnectionLifetimeInMs;
+        this.permits = new Semaphore(maxActiveConnections, true);
+    }
+
+    /**
+     * Opens the minimum number of idle connections and starts the keep-alive. A connection, which cannot be opened,
+     * does not fail the pool, as the keep-alive or the next message opens it again.
+     */
+    public void start() {
+        openIdleConnections();
+        if (keepAliveIntervalInMs > 0) {
+            Thread.startVirtualThread(this::keepAlive);
+        }
+    }
+
+    /**
+     * Sends a message over a pooled connection.
+     * @param message Message to be sent
+     * @throws MessagingException If the message could not be sent
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        SmtpConnection connection = borrowConnection();
+        boolean reusable = false;
+        try {
+            connection.send(message);
+            reusable = true;
+        } catch (SendFailedException e) {
+            // The server rejected the message, but the connection may still be usable for the next one
+            reusable = connection.reset();
+            throw e;
+        } finally {
+            releaseConnection(connection, reusable);
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if there is no reusable idle connection.
+     * @return An authenticated SMTP connection
+     * @throws MessagingException If a connection could not be obtained within the wait time
+     */
+    public SmtpConnection borrowConnection() throws MessagingException {
+        if (closed) {
+            throw new MessagingException("SMTP connection pool is already closed.");
+        }
+        try {
+            if (!permits.tryAcquire(waitTimeInMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out while waiting for an SMTP connection from the pool.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection from the pool.", e);
+        }
+        try {
+            // With a load aware policy, only a connection to a server as loaded as the least loaded one is reused
+            List<SmtpHost> hosts = connectionFactory.selectByLoad();
+            SmtpHost host = hosts == null ? null : hosts.get(0);
+            SmtpConnection connection;
+            while ((connection = pollIdleConnection(host)) != null) {
+                if (isReusable(connection)) {
+                    return connection;
+                }
+                connection.close();
+            }
+            return openConnection(hosts);
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool.
+     * @param connection Connection borrowed from this pool
+     * @param reusable Whether the connection can be used to send another message
+     */
+    public void releaseConnection(SmtpConnection connection, boolean reusable) {
+        try {
+            if (reusable && !closed && !isExhausted(connection) && idleConnections.size() < maxIdleConnections) {
+                idleConnections.offerFirst(connection);
+            } else {
+                connection.close();
+            }
+        } finally {
+            permits.release();
+        }
+        // The pool may have been closed while the connection was being released
+        if (closed) {
+            closeIdleConnections();
+        }
+    }
+
+    /**
+     * Closes the pool along with all the idle connections.
+     */
+    public void close() {
+        closed = true;
+        closeSignal.countDown();
+        closeIdleConnections();
+    }
+
+    private void keepAlive() {
+        try {
+            while (!closeSignal.await(keepAliveIntervalInMs, TimeUnit.MILLISECONDS)) {
+                checkIdleConnections();
+                openIdleConnections();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkIdleConnections() {
+        // The idle connections are taken out of the pool while they are checked, so that they are not borrowed
+        // while a `NOOP` is in progress. The oldest connections are at the end of the pool.
+        List<SmtpConnection> aliveConnections = new ArrayList<>();
+        for (int i = idleConnections.size(); i > 0; i--) {
+            SmtpConnection connection = idleConnections.pollLast();
+            if (connection == null) {
+                break;
+            }
+            if (!isExhausted(connection) && connection.getHost().isAvailable() && connection.isAlive()) {
+                aliveConnections.add(connection);
+            } else {
+                log.debug("Replacing an idle SMTP connection, which is closed or exhausted.");
+                connection.close();
+            }
+        }
+        for (int i = aliveConnections.size() - 1; i >= 0; i--) {
+            SmtpConnection connection = aliveConnections.get(i);
+            if (!closed && idleConnections.size() < maxIdleConnections) {
+                idleConnections.offerLast(connection);
+            } else {
+                connection.close();
+            }
+        }
+        // The pool may have been closed while the connections were being checked
+        if (closed) {
+            closeIdleConnections();
+        }
+    }
+
+    private void openIdleConnections() {
+        while (!closed && idleConnections.size() < minIdleConnections) {
+            SmtpConnection connection;
+            try {
+                connection = openConnection(null);
+            } catch (MessagingException | RuntimeException e) {
+                log.debug("Error while opening an idle SMTP connection : ", e);
+                return;
+            }
+            idleConnections.offerLast(connection);
+        }
+        if (closed) {
+            closeIdleConnections();
+        }
+    }
+
+    private SmtpConnection pollIdleConnection(SmtpHost host) {
+        if (host == null) {
+            return idleConnections.pollFirst();
+        }
+        for (SmtpConnection connection : idleConnections) {
+            // The connection may have been borrowed by another strand meanwhile
+            if (connection.getHost().getInFlightCount() <= host.getInFlightCount()
+                    && idleConnections.removeFirstOccurrence(connection)) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    private SmtpConnection openConnection(List<SmtpHost> hosts) throws MessagingException {
+        SmtpConnection connection = hosts == null ? connectionFactory.open() : connectionFactory.open(hosts);
+        if (log.isDebugEnabled()) {
+            log.debug("Opened a new SMTP connection. Available permits: " + permits.availablePermits());
+        }
+        return connection;
+    }
+
+    private boolean isReusable(SmtpConnection connection) {
+        // Connections to a failing server are replaced, so that the new connection can fail over to another server
+        if (isExhausted(connection) || !connection.getHost().isAvailable()) {
+            return false;
+        }
+        if (System.currentTimeMillis() - connection.getLastUsedTime() > IDLE_VALIDATION_INTERVAL_IN_MS) {
+            return connection.isAlive();
+        }
+        return true;
+    }
+
+    boolean isExhausted(SmtpConnection connection) {
+        return connection.getSentMessageCount() >= maxMessagesPerConnection
+                || System.currentTimeMillis() - connection.getCreatedTime() >= maxConnectionLifetimeInMs;
+    }
+
+    private void closeIdleConnections() {
+        SmtpConnection connection;
+        while ((connection = idleConnections.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents an SMTP server of a client along with its passively tracked health. A server is considered unavailable
+ * for a while after a number of consecutive failures, and the latency of the server is tracked as an exponentially
+ * weighted moving average.
+ *
+ * @since 2.12.1
+ */
+public class SmtpHost {
+
+    // Weight of the latest latency sample in the moving average
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final String name;
+    private final int port;
+    private final int maxFailures;
+    private final long failureTimeoutInMs;
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private int consecutiveFailures = 0;
+    private long unavailableUntil = 0;
+    private double latencyInMs = 0;
+
+    /**
+     * Creates an SMTP server of a client.
+     * @param name Host name of the server
+     * @param port Port of the server or `-1` to use the port of the client
+     * @param maxFailures Number of consecutive failures after which the server is considered unavailable
+     * @param failureTimeoutInMs Time the server is considered unavailable after the consecutive failures
+     */
+    public SmtpHost(String name, int port, int maxFailures, long failureTimeoutInMs) {
+        this.name = name;
+        this.port = port;
+        this.maxFailures = maxFailures;
+        this.failureTimeoutInMs = failureTimeoutInMs;
+    }
+
+    /**
+     * Parses a host given in the `host` or `host:port` format.
+     * @param address Address of the server
+     * @param maxFailures Number of consecutive failures after which the server is considered unavailable
+     * @param failureTimeoutInMs Time the server is considered unavailable after the consecutive failures
+     * @return The SMTP server
+     */
+    public static SmtpHost parse(String address, int maxFailures, long failureTimeoutInMs) {
+        String host = address;
+        int port = -1;
+        int index = address.lastIndexOf(':');
+        // A colon is a port separator only when the host is not an IPv6 address or it is enclosed in brackets
+        if (index > 0 && (address.indexOf(':') == index || address.charAt(index - 1) == ']')) {
+            host = address.substring(0, index);
+            port = Integer.parseInt(address.substring(index + 1));
+        }
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        return new SmtpHost(host, port, maxFailures, failureTimeoutInMs);
+    }
+
+    /**
+     * Checks whether the server can be used to send the messages.
+     * @return Whether the server is not failing
+     */
+    public synchronized boolean isAvailable() {
+        return consecutiveFailures < maxFailures || System.currentTimeMillis() >= unavailableUntil;
+    }
+
+    /**
+     * Records a successful interaction with the server.
+     * @param latencyInNanos Time taken by the interaction
+     */
+    public synchronized void recordSuccess(long latencyInNanos) {
+        double latency = (double) latencyInNanos / TimeUnit.MILLISECONDS.toNanos(1);
+        latencyInMs = latencyInMs == 0 ? latency : LATENCY_WEIGHT * latency + (1 - LATENCY_WEIGHT) * latencyInMs;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Records a failed interaction with the server.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (consecutiveFailures >= maxFailures) {
+            unavailableUntil = System.currentTimeMillis() + failureTimeoutInMs;
+        }
+    }
+
+    void incrementInFlightCount() {
+        inFlightCount.incrementAndGet();
+    }
+
+    void decrementInFlightCount() {
+        inFlightCount.decrementAndGet();
+    }
+
+    int getInFlightCount() {
+        return inFlightCount.get();
+    }
+
+    synchronized double getLatencyInMs() {
+        return latencyInMs;
+    }
+
+    synchronized long getUnavailableUntil() {
+        return unavailableUntil;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    @Override
+    public String toString() {
+        if (port == -1) {
+            return name;
+        }
+        return name.indexOf(':') >= 0 ? "[" + name + "]:" + port : name + ":" + port;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the SMTP server to which a new connection is opened, among the servers of a client. The available servers
+ * are ordered by the load balancing policy, and the unavailable servers are kept as the last resort.
+ *
+ * @since 2.12.1
+ */
+public class SmtpHostSelector {
+
+    /**
+     * Policy used to spread the connections across the available servers.
+     */
+    public enum Policy {
+        ROUND_ROBIN,
+        LEAST_IN_FLIGHT
+    }
+
+    private static final Comparator<SmtpHost> RECOVERY_ORDER = Comparator.comparingLong(SmtpHost::getUnavailableUntil);
+
+    private final List<SmtpHost> hosts;
+    private final Policy policy;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    /**
+     * Creates a selector for the given servers.
+     * @param hosts Servers of the client
+     * @param policy Policy used to spread the connections across the available servers
+     */
+    public SmtpHostSelector(List<SmtpHost> hosts, Policy policy) {
+        this.hosts = hosts;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the servers in the order in which a connection should be attempted.
+     * @return Available servers ordered by the policy followed by the unavailable servers
+     */
+    public List<SmtpHost> select() {
+        int size = hosts.size();
+        if (size <= 1) {
+            return hosts;
+        }
+        List<SmtpHost> available = new ArrayList<>(size);
+        List<SmtpHost> unavailable = new ArrayList<>();
+        int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            SmtpHost host = hosts.get((start + i) % size);
+            if (host.isAvailable()) {
+                available.add(host);
+            } else {
+                unavailable.add(host);
+            }
+        }
+        if (policy == Policy.LEAST_IN_FLIGHT && available.size() > 1) {
+            available.add(0, available.remove(getLeastLoadedIndex(available)));
+        }
+        unavailable.sort(RECOVERY_ORDER);
+        available.addAll(unavailable);
+        return available;
+    }
+
+    /**
+     * Returns the servers ordered by their load, when the policy moves the messages to the least loaded server rather
+     * than only choosing the server of a new connection.
+     * @return Servers in the order of {@link #select()} or `null` if the policy does not take the load into account
+     */
+    public List<SmtpHost> selectByLoad() {
+        if (policy != Policy.LEAST_IN_FLIGHT || hosts.size() <= 1) {
+            return null;
+        }
+        return select();
+    }
+
+    private static int getLeastLoadedIndex(List<SmtpHost> available) {
+        // Ties are broken by the latency and then by the rotated order
+        int leastLoadedIndex = 0;
+        int leastInFlightCount = Integer.MAX_VALUE;
+        double leastLatency = Double.MAX_VALUE;
+        for (int i = 0; i < available.size(); i++) {
+            SmtpHost host = available.get(i);
+            int inFlightCount = host.getInFlightCount();
+            double latency = host.getLatencyInMs();
+            if (inFlightCount < leastInFlightCount || (inFlightCount == leastInFlightCount && latency < leastLatency)) {
+                leastLoadedIndex = i;
+                leastInFlightCount = inFlightCount;
+                leastLatency = latency;
+            }
+        }
+        return leastLoadedIndex;
+    }
+
+}
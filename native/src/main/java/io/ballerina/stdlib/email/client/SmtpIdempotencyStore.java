@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import javax.mail.MessagingException;
+
+/**
+ * A bounded store of the idempotency keys of the messages sent by an SMTP client. A message, whose key was sent within
+ * the retention time is not sent again. A message, whose key is being sent by another strand waits for that message
+ * and is sent only if that message fails. The oldest keys are evicted when the store is full. When a file is given,
+ * the keys are appended to it as they are sent and are loaded again when the client is initialized.
+ *
+ * @since 2.12.1
+ */
+class SmtpIdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpIdempotencyStore.class);
+    private static final String SEPARATOR = " ";
+
+    private final int maxKeys;
+    private final long retentionInMs;
+    private final Path file;
+    // Sent keys in the order they were sent, along with the time they were sent
+    private final LinkedHashMap<String, Long> sentKeys = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<Void>> pendingKeys = new HashMap<>();
+    private BufferedWriter writer;
+    private int writtenKeyCount = 0;
+
+    /**
+     * Creates an idempotency store, which keeps the keys in the memory only.
+     * @param maxKeys Maximum number of keys kept in the store
+     * @param retentionInMs Time for which a key is kept after its message is sent
+     */
+    SmtpIdempotencyStore(int maxKeys, long retentionInMs) {
+        this.maxKeys = maxKeys;
+        this.retentionInMs = retentionInMs;
+        this.file = null;
+    }
+
+    /**
+     * Creates an idempotency store.
+     * @param maxKeys Maximum number of keys kept in the store
+     * @param retentionInMs Time for which a key is kept after its message is sent
+     * @param file File to which the keys are persisted or `null` to keep them in the memory only
+     * @throws IOException If the keys could not be loaded from the file
+     */
+    SmtpIdempotencyStore(int maxKeys, long retentionInMs, Path file) throws IOException {
+        this.maxKeys = maxKeys;
+        this.retentionInMs = retentionInMs;
+        this.file = file;
+        if (file != null) {
+            try {
+                load();
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reserves a key for a message to be sent. The reserved key has to be released once the message is sent or failed.
+     * @param key Idempotency key of the message
+     * @return Whether the message has to be sent, or else a message with the same key was already sent
+     * @throws MessagingException If interrupted while waiting for a message with the same key to be sent
+     */
+    boolean reserve(String key) throws MessagingException {
+        while (true) {
+            CompletableFuture<Void> pendingKey;
+            synchronized (this) {
+                if (isSent(key)) {
+                    return false;
+                }
+                pendingKey = pendingKeys.get(key);
+                if (pendingKey == null) {
+                    pendingKeys.put(key, new CompletableFuture<>());
+                    return true;
+                }
+            }
+            try {
+                pendingKey.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessagingException("Interrupted while waiting for the message with the idempotency key "
+                        + key + " to be sent.");
+            } catch (ExecutionException e) {
+                // Never completed exceptionally
+            }
+        }
+    }
+
+    /**
+     * Releases a reserved key, remembering it if its message was sent.
+     * @param key Idempotency key of the message
+     * @param sent Whether the message was sent
+     */
+    void release(String key, boolean sent) {
+        CompletableFuture<Void> pendingKey;
+        synchronized (this) {
+            if (sent) {
+                long sentTime = System.currentTimeMillis();
+                add(key, sentTime);
+                persist(key, sentTime);
+            }
+            pendingKey = pendingKeys.remove(key);
+        }
+        if (pendingKey != null) {
+            pendingKey.complete(null);
+        }
+    }
+
+    /**
+     * Closes the file of the store.
+     */
+    synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.debug("Error while closing the idempotency key file " + file + " : ", e);
+        }
+        writer = null;
+    }
+
+    private boolean isSent(String key) {
+        Long sentTime = sentKeys.get(key);
+        if (sentTime == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - sentTime > retentionInMs) {
+            sentKeys.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private void add(String key, long sentTime) {
+        sentKeys.remove(key);
+        sentKeys.put(key, sentTime);
+        Iterator<Map.Entry<String, Long>> oldestKeys = sentKeys.entrySet().iterator();
+        while (oldestKeys.hasNext()) {
+            Map.Entry<String, Long> oldestKey = oldestKeys.next();
+            if (sentKeys.size() <= maxKeys && sentTime - oldestKey.getValue() <= retentionInMs) {
+                break;
+            }
+            oldestKeys.remove();
+        }
+    }
+
+    private void persist(String key, long sentTime) {
+        if (writer == null) {
+            // Kept in the memory only, or the client is closed
+            return;
+        }
+        if (writtenKeyCount >= 2 * maxKeys) {
+            // Most of the appended keys are evicted by now, so the file is rewritten with the remaining keys,
+            // including the given key
+            try {
+                rewrite();
+                return;
+            } catch (IOException e) {
+                // The key is appended to the file instead, which is rewritten again with the next key
+                log.error("Error while rewriting the idempotency key file " + file + " : ", e);
+            }
+            if (writer == null) {
+                return;
+            }
+        }
+        try {
+            writer.write(sentTime + SEPARATOR + encode(key));
+            writer.newLine();
+            writer.flush();
+            writtenKeyCount++;
+        } catch (IOException e) {
+            // The message is already sent, so it is only remembered in the memory
+            log.error("Error while writing the idempotency key " + key + " to " + file + " : ", e);
+        }
+    }
+
+    private void load() throws IOException {
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf(SEPARATOR);
+                    if (separator <= 0) {
+                        continue;
+                    }
+                    try {
+                        add(URLDecoder.decode(line.substring(separator + 1), StandardCharsets.UTF_8.name()),
+                                Long.parseLong(line.substring(0, separator)));
+                    } catch (IllegalArgumentException e) {
+                        // A line, which was partially written when the client stopped
+                        log.debug("Skipping the invalid line in the idempotency key file " + file + " : " + line);
+                    }
+                }
+            }
+            log.debug("Loaded " + sentKeys.size() + " idempotency keys from " + file);
+        } else if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        rewrite();
+    }
+
+    // Replaces the file with the keys in the store, so that it does not grow with the evicted keys
+    private void rewrite() throws IOException {
+        close();
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter tempWriter = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> sentKey : sentKeys.entrySet()) {
+                    tempWriter.write(sentKey.getValue() + SEPARATOR + encode(sentKey.getKey()));
+                    tempWriter.newLine();
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writtenKeyCount = sentKeys.size();
+        } finally {
+            // The keys are still appended to the file, if it could not be replaced
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String encode(String key) throws UnsupportedEncodingException {
+        return URLEncoder.encode(key, StandardCharsets.UTF_8.name());
+    }
+
+}
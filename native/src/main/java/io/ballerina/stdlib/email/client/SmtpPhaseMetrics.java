@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import io.ballerina.stdlib.email.util.EmailMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the time taken by the phases of opening an SMTP connection and of sending a message, so that a slow delivery
+ * can be attributed to a phase without enabling the debug log of JavaMail. The durations of the message phases are
+ * tagged with classes of the message size and of the recipient count, which keep the number of time series bounded.
+ *
+ * @since 2.12.1
+ */
+final class SmtpPhaseMetrics {
+
+    static final String PHASE_CONNECT = "connect";
+    static final String PHASE_TLS = "tls";
+    static final String PHASE_AUTH = "auth";
+    static final String PHASE_ENVELOPE = "envelope";
+    static final String PHASE_DATA = "data";
+
+    private static final String CONNECTION_PHASE_METRIC = "smtp_connection_phase_duration_seconds";
+    private static final String MESSAGE_PHASE_METRIC = "smtp_message_phase_duration_seconds";
+    private static final String COMPOSE_METRIC = "smtp_message_compose_duration_seconds";
+    private static final String TAG_HOST = "host";
+    private static final String TAG_PHASE = "phase";
+    private static final String TAG_MESSAGE_SIZE = "message_size";
+    private static final String TAG_RECIPIENTS = "recipients";
+    private static final long[] SIZE_CLASSES_IN_BYTES = {10 * 1024, 100 * 1024, 1024 * 1024, 10 * 1024 * 1024};
+    private static final String[] SIZE_CLASS_NAMES = {"<10KB", "<100KB", "<1MB", "<10MB", ">=10MB"};
+    private static final int[] RECIPIENT_CLASSES = {1, 10, 100};
+    private static final String[] RECIPIENT_CLASS_NAMES = {"1", "2-10", "11-100", ">100"};
+
+    private SmtpPhaseMetrics() {}
+
+    /**
+     * Records the duration of a phase of opening a connection.
+     * @param host Host of the SMTP server
+     * @param phase One of `connect`, `tls` or `auth`
+     * @param durationInNanos Duration of the phase
+     */
+    static void recordConnectionPhase(String host, String phase, long durationInNanos) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(TAG_HOST, host);
+        tags.put(TAG_PHASE, phase);
+        EmailMetrics.recordDuration(CONNECTION_PHASE_METRIC,
+                "Time taken by the phases of opening a connection to the SMTP server", tags, durationInNanos);
+    }
+
+    /**
+     * Records the duration of a phase of sending a message.
+     * @param host Host of the SMTP server
+     * @param phase One of `envelope` or `data`
+     * @param sizeInBytes Size of the message written to the server
+     * @param recipients Number of recipients of the message
+     * @param durationInNanos Duration of the phase
+     */
+    static void recordMessagePhase(String host, String phase, long sizeInBytes, int recipients,
+                                   long durationInNanos) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(TAG_HOST, host);
+        tags.put(TAG_PHASE, phase);
+        tags.put(TAG_MESSAGE_SIZE, getSizeClass(sizeInBytes));
+        tags.put(TAG_RECIPIENTS, getRecipientClass(recipients));
+        EmailMetrics.recordDuration(MESSAGE_PHASE_METRIC, "Time taken by the phases of sending a message to the "
+                + "SMTP server", tags, durationInNanos);
+    }
+
+    /**
+     * Records the time taken to build the MIME message of an email. The size of the message is not known until it is
+     * written to the server, so only the recipient count is tagged.
+     * @param host Host of the SMTP server
+     * @param recipients Number of recipients of the message
+     * @param durationInNanos Time taken to build the message
+     */
+    static void recordCompose(String host, int recipients, long durationInNanos) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(TAG_HOST, host);
+        tags.put(TAG_RECIPIENTS, getRecipientClass(recipients));
+        EmailMetrics.recordDuration(COMPOSE_METRIC, "Time taken to build the MIME message of an email", tags,
+                durationInNanos);
+    }
+
+    static String getSizeClass(long sizeInBytes) {
+        for (int i = 0; i < SIZE_CLASSES_IN_BYTES.length; i++) {
+            if (sizeInBytes < SIZE_CLASSES_IN_BYTES[i]) {
+                return SIZE_CLASS_NAMES[i];
+            }
+        }
+        return SIZE_CLASS_NAMES[SIZE_CLASS_NAMES.length - 1];
+    }
+
+    static String getRecipientClass(int recipients) {
+        for (int i = 0; i < RECIPIENT_CLASSES.length; i++) {
+            if (recipients <= RECIPIENT_CLASSES[i]) {
+                return RECIPIENT_CLASS_NAMES[i];
+            }
+        }
+        return RECIPIENT_CLASS_NAMES[RECIPIENT_CLASS_NAMES.length - 1];
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import io.ballerina.stdlib.email.util.EmailMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.mail.MessagingException;
+
+/**
+ * Limits the rate of the messages and the recipients sent by an SMTP client with token buckets. A sender, which
+ * exceeds the limits reserves its tokens and sleeps until they are available. The sleep happens outside the lock, so
+ * a waiting virtual thread releases its carrier thread.
+ *
+ * @since 2.12.1
+ */
+public class SmtpRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpRateLimiter.class);
+    private static final String WAITS_METRIC = "smtp_rate_limiter_waits_total";
+    private static final String WAIT_TIME_METRIC = "smtp_rate_limiter_wait_time_milliseconds_total";
+
+    private final String host;
+    private final TokenBucket messageBucket;
+    private final TokenBucket recipientBucket;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates a rate limiter for an SMTP server.
+     * @param host Host of the SMTP server, which is used to tag the metrics
+     * @param messagesPerSecond Maximum number of messages per second or `0` if the messages are not limited
+     * @param recipientsPerMinute Maximum number of recipients per minute or `0` if the recipients are not limited
+     */
+    public SmtpRateLimiter(String host, double messagesPerSecond, long recipientsPerMinute) {
+        this.host = host;
+        this.messageBucket = messagesPerSecond > 0
+                ? new TokenBucket(Math.max(1, messagesPerSecond), messagesPerSecond / TimeUnit.SECONDS.toNanos(1))
+                : null;
+        this.recipientBucket = recipientsPerMinute > 0
+                ? new TokenBucket(recipientsPerMinute, (double) recipientsPerMinute / TimeUnit.MINUTES.toNanos(1))
+                : null;
+    }
+
+    /**
+     * Waits until a message with the given number of recipients can be sent within the limits.
+     * @param recipientCount Number of recipients of the message
+     * @throws MessagingException If interrupted while waiting
+     */
+    public void acquire(int recipientCount) throws MessagingException {
+        long waitTimeInNanos = 0;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (messageBucket != null) {
+                waitTimeInNanos = messageBucket.reserve(1, now);
+            }
+            if (recipientBucket != null) {
+                waitTimeInNanos = Math.max(waitTimeInNanos, recipientBucket.reserve(recipientCount, now));
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (waitTimeInNanos <= 0) {
+            return;
+        }
+        long waitTimeInMs = TimeUnit.NANOSECONDS.toMillis(waitTimeInNanos);
+        if (log.isDebugEnabled()) {
+            log.debug("Waiting " + waitTimeInMs + " ms for the rate limit of the SMTP server " + host);
+        }
+        EmailMetrics.incrementCounter(WAITS_METRIC, "Number of messages delayed by the SMTP rate limiter", host, 1);
+        EmailMetrics.incrementCounter(WAIT_TIME_METRIC, "Time messages waited for the SMTP rate limiter", host,
+                waitTimeInMs);
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitTimeInNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for the rate limit of the SMTP server.", e);
+        }
+    }
+
+    /**
+     * A token bucket, which lets the callers reserve tokens in advance. The tokens can go below zero, in which case
+     * the callers wait for the time taken to refill the tokens they reserved.
+     */
+    private static class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefillTime;
+
+        TokenBucket(double capacity, double tokensPerNano) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerNano;
+            this.tokens = capacity;
+            this.lastRefillTime = System.nanoTime();
+        }
+
+        long reserve(double count, long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillTime) * tokensPerNano);
+            lastRefillTime = now;
+            tokens -= count;
+            return tokens >= 0 ? 0 : (long) (-tokens / tokensPerNano);
+        }
+
+    }
+
+}
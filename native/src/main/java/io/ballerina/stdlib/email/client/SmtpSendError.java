@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+import io.ballerina.stdlib.email.util.EmailUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.mail.Address;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+
+/**
+ * Converts a {@link SendFailedException} to an `email:SendError`, which lists the recipients that received the message,
+ * the recipients that did not and the reply of the server for each rejected recipient. This lets the callers retry
+ * only the recipients, which did not receive the message.
+ *
+ * @since 2.12.1
+ */
+final class SmtpSendError {
+
+    private SmtpSendError() {}
+
+    /**
+     * Creates an `email:SendError` from the given exception.
+     * @param e Exception thrown by JavaMail when the message was not sent to some or all of its recipients
+     * @return Ballerina error with the `email:SendErrorDetail`
+     */
+    static BError create(SendFailedException e) {
+        List<SMTPAddressFailedException> failures = getAddressFailures(e);
+        Map<String, Object> valueMap = new HashMap<>();
+        valueMap.put(EmailConstants.SEND_ERROR_SENT_RECIPIENTS, toBArray(e.getValidSentAddresses()));
+        valueMap.put(EmailConstants.SEND_ERROR_UNSENT_RECIPIENTS, toBArray(e.getValidUnsentAddresses()));
+        valueMap.put(EmailConstants.SEND_ERROR_INVALID_RECIPIENTS, toBArray(e.getInvalidAddresses()));
+        valueMap.put(EmailConstants.SEND_ERROR_RECIPIENT_FAILURES, getRecipientFailures(failures));
+        // With `sendPartial`, JavaMail reports the successful reply to the message content when some recipients failed
+        if (e instanceof SMTPSendFailedException && ((SMTPSendFailedException) e).getReturnCode() >= 400) {
+            valueMap.put(EmailConstants.SEND_ERROR_CODE, (long) ((SMTPSendFailedException) e).getReturnCode());
+        }
+        BMap<BString, Object> detail = ValueCreator.createRecordValue(EmailUtils.getEmailPackage(),
+                EmailConstants.SEND_ERROR_DETAIL, valueMap);
+        detail.freezeDirect();
+        return CommonUtil.getBallerinaError(EmailConstants.SEND_ERROR,
+                "Error while sending the message to SMTP server : " + e.getMessage() + " "
+                        + getFailedRecipients(e, failures), detail);
+    }
+
+    private static List<SMTPAddressFailedException> getAddressFailures(SendFailedException e) {
+        List<SMTPAddressFailedException> failures = new ArrayList<>();
+        Exception next = e.getNextException();
+        while (next instanceof MessagingException) {
+            if (next instanceof SMTPAddressFailedException) {
+                failures.add((SMTPAddressFailedException) next);
+            }
+            next = ((MessagingException) next).getNextException();
+        }
+        return failures;
+    }
+
+    // Lists the rejected recipients along with the server response for each of them, when available
+    private static String getFailedRecipients(SendFailedException e, List<SMTPAddressFailedException> failures) {
+        if (!failures.isEmpty()) {
+            return failures.stream()
+                    .map(failure -> failure.getAddress() + " (" + failure.getMessage().trim() + ")")
+                    .collect(Collectors.joining(","));
+        }
+        Address[] invalidAddresses = e.getInvalidAddresses();
+        if (invalidAddresses == null) {
+            return "";
+        }
+        return Arrays.stream(invalidAddresses)
+                .map((Address::toString))
+                .collect(Collectors.joining(","));
+    }
+
+    private static BArray getRecipientFailures(List<SMTPAddressFailedException> failures) {
+        Type recipientFailureType = ValueCreator.createRecordValue(EmailUtils.getEmailPackage(),
+                EmailConstants.RECIPIENT_FAILURE).getType();
+        Object[] recipientFailures = new Object[failures.size()];
+        for (int i = 0; i < recipientFailures.length; i++) {
+            SMTPAddressFailedException failure = failures.get(i);
+            Map<String, Object> valueMap = new HashMap<>();
+            valueMap.put(EmailConstants.RECIPIENT_FAILURE_ADDRESS, failure.getAddress().toString());
+            valueMap.put(EmailConstants.RECIPIENT_FAILURE_CODE, (long) failure.getReturnCode());
+            valueMap.put(EmailConstants.RECIPIENT_FAILURE_MESSAGE, getReplyText(failure));
+            recipientFailures[i] = ValueCreator.createRecordValue(EmailUtils.getEmailPackage(),
+                    EmailConstants.RECIPIENT_FAILURE, valueMap);
+        }
+        return ValueCreator.createArrayValue(recipientFailures, TypeCreator.createArrayType(recipientFailureType));
+    }
+
+    // Strips the reply code from the server response, which is already available as the code of the failure
+    private static String getReplyText(SMTPAddressFailedException failure) {
+        String reply = failure.getMessage().trim();
+        String code = Integer.toString(failure.getReturnCode());
+        return reply.startsWith(code) ? reply.substring(code.length()).trim() : reply;
+    }
+
+    private static BArray toBArray(Address[] addresses) {
+        if (addresses == null) {
+            return ValueCreator.createArrayValue(new BString[0]);
+        }
+        BString[] values = new BString[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            values[i] = StringUtils.fromString(addresses[i].toString());
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * An SMTP session used to send a batch of messages over a single connection. Each message is sent as a separate
+ * mail transaction and the transaction state is reset with `RSET` when a message is rejected by the server.
+ *
+ * @since 2.12.1
+ */
+public class SmtpSession {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpSession.class);
+
+    private final SmtpConnectionFactory connectionFactory;
+    private final SmtpConnectionPool connectionPool;
+    private SmtpConnection connection;
+
+    /**
+     * Creates a session, which borrows its connections from the given pool or opens them directly when the pool is
+     * not available.
+     * @param connectionFactory Factory used to open the SMTP connections
+     * @param connectionPool Connection pool of the SMTP client or `null`
+     */
+    SmtpSession(SmtpConnectionFactory connectionFactory, SmtpConnectionPool connectionPool) {
+        this.connectionFactory = connectionFactory;
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Sends a message over the connection of this session. A failure only affects the given message and the next
+     * message is sent over the same connection if it is still usable, or else over a new connection.
+     * @param message Message to be sent
+     * @throws MessagingException If the message could not be sent
+     */
+    public synchronized void send(MimeMessage message) throws MessagingException {
+        connectionFactory.acquirePermit(message);
+        SmtpConnection activeConnection = getConnection();
+        boolean reusable = false;
+        try {
+            activeConnection.send(message);
+            reusable = true;
+        } catch (SendFailedException e) {
+            reusable = activeConnection.reset();
+            throw e;
+        } finally {
+            if (!reusable) {
+                releaseConnection(false);
+            } else if (connectionPool != null && connectionPool.isExhausted(activeConnection)) {
+                // Hand the connection back so that the pool limits are honoured for long batches
+                releaseConnection(true);
+            }
+        }
+    }
+
+    /**
+     * Closes the session and releases its connection.
+     */
+    public synchronized void close() {
+        if (connection != null) {
+            releaseConnection(true);
+        }
+    }
+
+    private SmtpConnection getConnection() throws MessagingException {
+        if (connection != null && System.currentTimeMillis() - connection.getLastUsedTime()
+                > SmtpConnectionPool.IDLE_VALIDATION_INTERVAL_IN_MS && !connection.isAlive()) {
+            log.debug("SMTP connection of the session is no longer usable. Opening a new connection.");
+            releaseConnection(false);
+        }
+        if (connection != null) {
+            // With a load aware policy, the session moves to a less loaded server between the messages
+            List<SmtpHost> hosts = connectionFactory.selectByLoad();
+            if (hosts != null && connection.getHost().getInFlightCount() > hosts.get(0).getInFlightCount()) {
+                releaseConnection(true);
+            }
+        }
+        if (connection == null) {
+            connection = connectionPool != null ? connectionPool.borrowConnection() : connectionFactory.open();
+        }
+        return connection;
+    }
+
+    private void releaseConnection(boolean reusable) {
+        if (connectionPool != null) {
+            connectionPool.releaseConnection(connection, reusable);
+        } else {
+            connection.close();
+        }
+        connection = null;
+    }
+
+}
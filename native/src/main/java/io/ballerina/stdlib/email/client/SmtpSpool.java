@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import com.sun.mail.smtp.SMTPSendFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Address;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import javax.mail.util.SharedFileInputStream;
+
+/**
+ * A local spool of outgoing messages. Each accepted message is written to its own file in the spool directory and a
+ * background deliverer sends it, retrying transient failures with an exponential backoff. Messages which are not
+ * delivered yet are picked up again when the spool is started with the same directory after a restart.
+ *
+ * @since 2.12.1
+ */
+public class SmtpSpool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpSpool.class);
+    private static final String MESSAGE_FILE_EXTENSION = ".eml";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final String FAILED_DIRECTORY = "failed";
+    // The deliverer releases its connection after being idle for this long
+    private static final long IDLE_TIMEOUT_IN_MS = 1000;
+
+    private final SmtpConnectionFactory connectionFactory;
+    private final SmtpConnectionPool connectionPool;
+    private final Path directory;
+    private final Path failedDirectory;
+    private final int maxRetries;
+    private final long retryIntervalInMs;
+    private final double backOffFactor;
+    private final long maxRetryIntervalInMs;
+    private final DelayQueue<SpooledMessage> queue = new DelayQueue<>();
+    private Thread deliverer;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a spool in the given directory.
+     * @param connectionFactory Factory used to open the SMTP connections
+     * @param connectionPool Connection pool of the SMTP client or `null`
+     * @param directory Directory in which the messages waiting to be delivered are stored
+     * @param maxRetries Maximum number of times a message is retried after a transient failure
+     * @param retryIntervalInMs Time to wait before the first retry
+     * @param backOffFactor Multiplier of the retry interval after each retry
+     * @param maxRetryIntervalInMs Maximum time to wait between two retries
+     */
+    SmtpSpool(SmtpConnectionFactory connectionFactory, SmtpConnectionPool connectionPool, Path directory,
+              int maxRetries, long retryIntervalInMs, double backOffFactor, long maxRetryIntervalInMs) {
+        this.connectionFactory = connectionFactory;
+        this.connectionPool = connectionPool;
+        this.directory = directory;
+        this.failedDirectory = directory.resolve(FAILED_DIRECTORY);
+        this.maxRetries = maxRetries;
+        this.retryIntervalInMs = retryIntervalInMs;
+        this.backOffFactor = backOffFactor;
+        this.maxRetryIntervalInMs = maxRetryIntervalInMs;
+    }
+
+    /**
+     * Queues the messages left in the spool directory by a previous run and starts the deliverer.
+     * @throws IOException If the spool directory could not be read
+     */
+    public void start() throws IOException {
+        Files.createDirectories(failedDirectory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(TEMP_FILE_EXTENSION)) {
+                    // The process stopped before the message was accepted
+                    Files.deleteIfExists(file);
+                } else if (fileName.endsWith(MESSAGE_FILE_EXTENSION)) {
+                    queue.add(SpooledMessage.fromFile(file));
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Recovered " + queue.size() + " messages from the spool directory " + directory);
+        }
+        deliverer = Thread.startVirtualThread(this::deliverMessages);
+    }
+
+    /**
+     * Writes a message to the spool directory and queues it for delivery.
+     * @param message Message to be sent
+     * @throws MessagingException If the message could not be serialized
+     * @throws IOException If the message could not be written to the spool directory
+     */
+    public void spool(MimeMessage message) throws MessagingException, IOException {
+        if (closed) {
+            throw new MessagingException("SMTP client is already closed.");
+        }
+        message.saveChanges();
+        SpooledMessage spooledMessage = SpooledMessage.create(directory,
+                System.currentTimeMillis() + "-" + UUID.randomUUID(), 0);
+        Path tempFile = directory.resolve(spooledMessage.id + TEMP_FILE_EXTENSION);
+        try (FileOutputStream fileStream = new FileOutputStream(tempFile.toFile());
+             OutputStream outputStream = new BufferedOutputStream(fileStream)) {
+            // Bcc header is kept in the file, so that the recipients are known when the message is read back
+            message.writeTo(outputStream);
+            outputStream.flush();
+            fileStream.getFD().sync();
+        } catch (IOException | MessagingException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        Files.move(tempFile, spooledMessage.path, StandardCopyOption.ATOMIC_MOVE);
+        queue.add(spooledMessage);
+    }
+
+    /**
+     * Stops the deliverer after the message being delivered. Messages which are not delivered yet are left in the
+     * spool directory.
+     */
+    public void close() {
+        closed = true;
+        if (deliverer != null) {
+            try {
+                deliverer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deliverMessages() {
+        SmtpSession smtpSession = new SmtpSession(connectionFactory, connectionPool);
+        try {
+            while (!closed) {
+                SpooledMessage spooledMessage = queue.poll(IDLE_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+                if (spooledMessage == null) {
+                    smtpSession.close();
+                    continue;
+                }
+                deliver(smtpSession, spooledMessage);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            smtpSession.close();
+        }
+    }
+
+    private void deliver(SmtpSession smtpSession, SpooledMessage spooledMessage) {
+        // The content is read from the file when it is written to the server, rather than being loaded to the heap
+        try (SharedFileInputStream inputStream = new SharedFileInputStream(spooledMessage.path.toFile())) {
+            smtpSession.send(new SpooledMimeMessage(connectionFactory.getSession(), inputStream));
+        } catch (MessagingException e) {
+            if (isPartiallyDelivered(e)) {
+                handlePartialDelivery(spooledMessage, (SendFailedException) e);
+            } else {
+                handleFailure(spooledMessage, e, isPermanentFailure(e));
+            }
+            return;
+        } catch (IOException | RuntimeException e) {
+            handleFailure(spooledMessage, e, false);
+            return;
+        }
+        try {
+            Files.deleteIfExists(spooledMessage.path);
+        } catch (IOException e) {
+            log.error("Error while removing the delivered message " + spooledMessage.path + " from the spool : ", e);
+        }
+    }
+
+    private void handleFailure(SpooledMessage spooledMessage, Exception cause, boolean permanent) {
+        int attempts = spooledMessage.attempts + 1;
+        try {
+            if (permanent || attempts > maxRetries) {
+                log.error("Failed to deliver the spooled message " + spooledMessage.id + " after " + attempts
+                        + " attempts : " + cause.getMessage());
+                Files.move(spooledMessage.path, failedDirectory.resolve(spooledMessage.path.getFileName()),
+                        StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+            // The attempt count is kept in the file name, so that the backoff continues after a restart
+            SpooledMessage retry = SpooledMessage.create(directory, spooledMessage.id, attempts);
+            Files.move(spooledMessage.path, retry.path, StandardCopyOption.ATOMIC_MOVE);
+            long retryIntervalInMs = (long) Math.min(maxRetryIntervalInMs,
+                    this.retryIntervalInMs * Math.pow(backOffFactor, attempts - 1));
+            retry.nextAttemptTime = System.currentTimeMillis() + retryIntervalInMs;
+            if (log.isDebugEnabled()) {
+                log.debug("Retrying the spooled message " + spooledMessage.id + " in " + retryIntervalInMs
+                        + " ms : " + cause.getMessage());
+            }
+            queue.add(retry);
+        } catch (IOException e) {
+            log.error("Error while updating the spooled message " + spooledMessage.id + " : ", e);
+        }
+    }
+
+    // The message is not sent again once some recipients received it, as they would receive it more than once. It is
+    // moved to the `failed` directory if the other recipients did not receive it.
+    private void handlePartialDelivery(SpooledMessage spooledMessage, SendFailedException e) {
+        try {
+            if (isEmpty(e.getInvalidAddresses()) && isEmpty(e.getValidUnsentAddresses())) {
+                Files.deleteIfExists(spooledMessage.path);
+                return;
+            }
+            log.error("Spooled message " + spooledMessage.id + " was not delivered to some recipients : "
+                    + e.getMessage());
+            Files.move(spooledMessage.path, failedDirectory.resolve(spooledMessage.path.getFileName()),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ioException) {
+            log.error("Error while updating the spooled message " + spooledMessage.id + " : ", ioException);
+        }
+    }
+
+    private static boolean isPartiallyDelivered(MessagingException e) {
+        return e instanceof SendFailedException && !isEmpty(((SendFailedException) e).getValidSentAddresses());
+    }
+
+    private static boolean isPermanentFailure(MessagingException e) {
+        // A recipient rejected with a permanent error is rejected again by every other attempt
+        if (e instanceof SendFailedException && !isEmpty(((SendFailedException) e).getInvalidAddresses())) {
+            return true;
+        }
+        if (e instanceof SMTPSendFailedException) {
+            return ((SMTPSendFailedException) e).getReturnCode() >= 500;
+        }
+        if (e instanceof SendFailedException) {
+            // Recipients, which are rejected temporarily, are worth another attempt
+            return isEmpty(((SendFailedException) e).getValidUnsentAddresses());
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(Address[] addresses) {
+        return addresses == null || addresses.length == 0;
+    }
+
+    /**
+     * A message in the spool directory, whose file is named as `{id}.{attempts}.eml`.
+     */
+    private static class SpooledMessage implements Delayed {
+
+        private final String id;
+        private final int attempts;
+        private final Path path;
+        private long nextAttemptTime = 0;
+
+        SpooledMessage(Path path, String id, int attempts) {
+            this.id = id;
+            this.attempts = attempts;
+            this.path = path;
+        }
+
+        static SpooledMessage create(Path directory, String id, int attempts) {
+            return new SpooledMessage(directory.resolve(id + "." + attempts + MESSAGE_FILE_EXTENSION), id, attempts);
+        }
+
+        static SpooledMessage fromFile(Path file) {
+            String name = file.getFileName().toString();
+            name = name.substring(0, name.length() - MESSAGE_FILE_EXTENSION.length());
+            int separator = name.lastIndexOf('.');
+            if (separator > 0) {
+                try {
+                    return new SpooledMessage(file, name.substring(0, separator),
+                            Integer.parseInt(name.substring(separator + 1)));
+                } catch (NumberFormatException e) {
+                    // Not named by the spool, so it is treated as a new message
+                }
+            }
+            return new SpooledMessage(file, name, 0);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextAttemptTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(nextAttemptTime, ((SpooledMessage) other).nextAttemptTime);
+        }
+
+    }
+
+    /**
+     * A message read back from the spool, which keeps its original `Message-ID` when the changes are saved before
+     * sending it.
+     */
+    private static class SpooledMimeMessage extends MimeMessage {
+
+        SpooledMimeMessage(Session session, SharedFileInputStream inputStream) throws MessagingException {
+            super(session, inputStream);
+        }
+
+        @Override
+        protected void updateMessageID() throws MessagingException {
+            if (getHeader("Message-ID") == null) {
+                super.updateMessageID();
+            }
+        }
+
+    }
+
+}
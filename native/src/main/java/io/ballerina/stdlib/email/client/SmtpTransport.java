@@ -0,0 +1,813 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.client;
+
+import com.sun.mail.smtp.SMTPMessage;
+import com.sun.mail.smtp.SMTPTransport;
+import io.ballerina.stdlib.email.util.EmailConstants;
+import io.ballerina.stdlib.email.util.SmtpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.StringJoiner;
+
+import javax.activation.DataHandler;
+import javax.mail.Address;
+import javax.mail.BodyPart;
+import javax.mail.Header;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Part;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.URLName;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import javax.mail.internet.MimeUtility;
+
+/**
+ * SMTP transport, which pipelines the envelope commands of a message as specified in RFC 2920 when the server
+ * advertises the `PIPELINING` extension. The `MAIL FROM` and all the `RCPT TO` commands are written at once and the
+ * responses are read back in order, so a message with many recipients costs a single round trip for its envelope.
+ * <p>
+ * When a chunk size is configured and the server advertises the `CHUNKING` extension, the message is sent in `BDAT`
+ * chunks as specified in RFC 3030. If the server also advertises `BINARYMIME`, a copy of the message, whose base64
+ * encoded non-text body parts are sent as raw binary, is sent instead, which saves the encoding and a third of the
+ * bytes on the wire. Otherwise, the message is sent as is with the classic `DATA` command.
+ * <p>
+ * When 8-bit MIME or UTF-8 is allowed, but the server does not advertise `8BITMIME` or `SMTPUTF8`, the `8bit` text
+ * parts and the non-ASCII display names are encoded for the duration of the transaction. A message to or from a
+ * non-ASCII mailbox is rejected by such a server, as the mailbox cannot be encoded.
+ * <p>
+ * The time taken to connect, to upgrade the connection with `STARTTLS` and to authenticate, and the time taken by the
+ * envelope and the data of each message are recorded as metrics. With implicit TLS, the handshake is part of the
+ * time taken to connect.
+ *
+ * @since 2.12.1
+ */
+public class SmtpTransport extends SMTPTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransport.class);
+    private static final String MAIL_FROM_COMMAND = "MAIL FROM:";
+    private static final String RCPT_TO_COMMAND = "RCPT TO:";
+    private static final String CRLF = "\r\n";
+    private static final String BDAT_COMMAND = "BDAT ";
+    private static final String BDAT_LAST = " LAST";
+    private static final String BODY_BINARYMIME = " BODY=BINARYMIME";
+    private static final String BODY_8BITMIME = " BODY=8BITMIME";
+    private static final String[] ADDRESS_HEADERS = {"From", "Sender", "Reply-To", "To", "Cc"};
+    private static final String MULTIPART_TYPE = "multipart/*";
+    private static final String TEXT_TYPE = "text/*";
+    private static final String CONTENT_TRANSFER_ENCODING = "Content-Transfer-Encoding";
+    private static final String ENCODING_BASE64 = "base64";
+    private static final String ENCODING_BINARY = "binary";
+    private static final String ENCODING_8BIT = "8bit";
+    private static final int SMTP_OK = 250;
+    // Output stream of the super class, to which the `BDAT` chunks are written. The super class does not expose the
+    // stream and its own chunks are dot-stuffed, which corrupts the message.
+    private static final Field SERVER_OUTPUT = getServerOutputField();
+
+    private final int chunkSize;
+    private final boolean binaryMimeEnabled;
+    private final boolean eightBitMimeAllowed;
+    private final boolean utf8Allowed;
+    private final DkimSigner dkimSigner;
+
+    // `RCPT TO` commands to be pipelined with the `MAIL FROM` command of the message being sent
+    private List<String> recipientCommands;
+    // Pipelined commands, which are already written to the server but are yet to be issued by the super class
+    private final Deque<String> pendingCommands = new ArrayDeque<>();
+    // Whether a copy of the message being sent with raw binary body parts is sent
+    private boolean binaryMime = false;
+    // Headers encoded for a server, which does not support sending them as they are
+    private List<ReplacedHeader> replacedHeaders = Collections.emptyList();
+    private boolean eightBitMime = false;
+    private ChunkedDataStream dataStream;
+    private Message currentMessage;
+    private String serverHost;
+    private long connectStartTime;
+    private long greetingTime;
+    private long ehloEndTime;
+    private long tlsStartTime;
+    private long tlsEndTime;
+    private long envelopeStartTime;
+    private long dataStartTime;
+    private long messageSize;
+
+    /**
+     * Creates an SMTP transport for the given session.
+     * @param session Session used to configure the transport
+     * @param urlname URL name of the transport
+     */
+    public SmtpTransport(Session session, URLName urlname) {
+        this(session, urlname, null);
+    }
+
+    /**
+     * Creates an SMTP transport for the given session, which signs the messages with DKIM.
+     * @param session Session used to configure the transport
+     * @param urlname URL name of the transport
+     * @param dkimSigner Signer of the messages or `null`
+     */
+    SmtpTransport(Session session, URLName urlname, DkimSigner dkimSigner) {
+        super(session, urlname);
+        this.dkimSigner = dkimSigner;
+        String chunkSizeProperty = session.getProperty(EmailConstants.PROPS_SMTP_CHUNK_SIZE);
+        chunkSize = chunkSizeProperty == null ? -1 : Integer.parseInt(chunkSizeProperty);
+        utf8Allowed = Boolean.parseBoolean(session.getProperty(EmailConstants.PROPS_MIME_ALLOW_UTF8));
+        eightBitMimeAllowed = Boolean.parseBoolean(session.getProperty(EmailConstants.PROPS_SMTP_ALLOW_8BIT_MIME));
+        binaryMimeEnabled = chunkSize > 0 && SERVER_OUTPUT != null
+                && Boolean.parseBoolean(session.getProperty(EmailConstants.PROPS_SMTP_BINARY_MIME));
+    }
+
+    @Override
+    protected synchronized boolean protocolConnect(String host, int port, String user, String password)
+            throws MessagingException {
+        serverHost = host;
+        greetingTime = 0;
+        tlsStartTime = 0;
+        tlsEndTime = 0;
+        connectStartTime = System.nanoTime();
+        boolean connected = super.protocolConnect(host, port, user, password);
+        if (connected && greetingTime > 0) {
+            long endTime = System.nanoTime();
+            // The greeting of the server is read before the first `EHLO`
+            SmtpPhaseMetrics.recordConnectionPhase(host, SmtpPhaseMetrics.PHASE_CONNECT,
+                    greetingTime - connectStartTime);
+            if (tlsEndTime > 0) {
+                SmtpPhaseMetrics.recordConnectionPhase(host, SmtpPhaseMetrics.PHASE_TLS, tlsEndTime - tlsStartTime);
+            }
+            if (user != null) {
+                SmtpPhaseMetrics.recordConnectionPhase(host, SmtpPhaseMetrics.PHASE_AUTH, endTime - ehloEndTime);
+            }
+        }
+        return connected;
+    }
+
+    @Override
+    protected boolean ehlo(String domain) throws MessagingException {
+        if (greetingTime == 0) {
+            greetingTime = System.nanoTime();
+        }
+        try {
+            return super.ehlo(domain);
+        } finally {
+            ehloEndTime = System.nanoTime();
+        }
+    }
+
+    @Override
+    protected void startTLS() throws MessagingException {
+        tlsStartTime = System.nanoTime();
+        super.startTLS();
+        tlsEndTime = System.nanoTime();
+    }
+
+    @Override
+    protected void mailFrom() throws MessagingException {
+        // The super class has made its final changes to the message by now, so the signature covers the sent form
+        if (dkimSigner != null && currentMessage instanceof MimeMessage) {
+            MimeMessage message = (MimeMessage) currentMessage;
+            ReplacedHeader signature = new ReplacedHeader(message, DkimSigner.DKIM_SIGNATURE,
+                    dkimSigner.sign(message, utf8Allowed));
+            replacedHeaders.add(signature);
+            if (signature.originalValues != null) {
+                for (String originalValue : signature.originalValues) {
+                    message.addHeader(DkimSigner.DKIM_SIGNATURE, originalValue);
+                }
+            }
+        }
+        envelopeStartTime = System.nanoTime();
+        super.mailFrom();
+    }
+
+    @Override
+    protected OutputStream data() throws MessagingException {
+        dataStartTime = System.nanoTime();
+        return new CountingOutputStream(super.data());
+    }
+
+    @Override
+    public synchronized void sendMessage(Message message, Address[] addresses) throws MessagingException {
+        envelopeStartTime = 0;
+        dataStartTime = 0;
+        messageSize = 0;
+        if (!(message instanceof SMTPMessage) && supportsExtension(EmailConstants.SMTP_EXTENSION_PIPELINING)) {
+            recipientCommands = getRecipientCommands(addresses);
+        }
+        Throwable sendError = null;
+        try {
+            // Binary parts cannot be hashed in the form they are sent, so they are base64 encoded when signing
+            if (binaryMimeEnabled && dkimSigner == null && message instanceof MimeMessage
+                    && !(message instanceof SMTPMessage)
+                    && supportsExtension(EmailConstants.SMTP_EXTENSION_CHUNKING)
+                    && supportsExtension(EmailConstants.SMTP_EXTENSION_BINARY_MIME)) {
+                MimeMultipart binaryContent = copyBinaryParts(message);
+                if (binaryContent != null) {
+                    message = new BinaryMimeMessage((MimeMessage) message, binaryContent);
+                    binaryMime = true;
+                }
+            }
+            currentMessage = message;
+            if (eightBitMimeAllowed || utf8Allowed || dkimSigner != null) {
+                replacedHeaders = new ArrayList<>();
+            }
+            if (eightBitMimeAllowed) {
+                eightBitMime = supportsExtension(EmailConstants.SMTP_EXTENSION_8BIT_MIME);
+                if (!eightBitMime) {
+                    encodeEightBitParts(message, replacedHeaders);
+                }
+            }
+            if (utf8Allowed && !supportsExtension(EmailConstants.SMTP_EXTENSION_SMTP_UTF8)
+                    && message instanceof MimeMessage) {
+                encodeUtf8Headers((MimeMessage) message, addresses, replacedHeaders);
+            }
+            super.sendMessage(message, addresses);
+            recordMessagePhases(addresses.length);
+        } catch (Throwable e) {
+            sendError = e;
+            throw e;
+        } finally {
+            finishMessage(sendError);
+        }
+    }
+
+    // Resets the state of a message. The connection is cleaned up before the headers of the message are restored, and
+    // an error of either is added to the error of the send instead of replacing it.
+    private void finishMessage(Throwable sendError) throws MessagingException {
+        currentMessage = null;
+        eightBitMime = false;
+        binaryMime = false;
+        recipientCommands = null;
+        MessagingException cleanupError = null;
+        if (!pendingCommands.isEmpty()) {
+            // Responses of the pipelined commands can no longer be matched, so the connection is unusable
+            pendingCommands.clear();
+            try {
+                close();
+            } catch (MessagingException e) {
+                cleanupError = e;
+            }
+        }
+        try {
+            restoreReplacedHeaders();
+        } catch (MessagingException e) {
+            if (cleanupError == null) {
+                cleanupError = e;
+            } else {
+                cleanupError.addSuppressed(e);
+            }
+        }
+        if (cleanupError == null) {
+            return;
+        }
+        if (sendError != null) {
+            sendError.addSuppressed(cleanupError);
+        } else {
+            throw cleanupError;
+        }
+    }
+
+    @Override
+    protected OutputStream bdat() throws MessagingException {
+        OutputStream serverOutput = getServerOutput();
+        if (serverOutput == null) {
+            // The chunks cannot be written as they are, so the message is sent with `DATA` instead
+            return data();
+        }
+        dataStartTime = System.nanoTime();
+        dataStream = new ChunkedDataStream(serverOutput);
+        return dataStream;
+    }
+
+    @Override
+    protected void finishBdat() throws IOException, MessagingException {
+        if (dataStream == null) {
+            finishData();
+            return;
+        }
+        try {
+            dataStream.close();
+        } finally {
+            dataStream = null;
+        }
+    }
+
+    @Override
+    protected void sendCommand(String cmd) throws MessagingException {
+        if (cmd.startsWith(MAIL_FROM_COMMAND)) {
+            if (binaryMime) {
+                cmd = cmd + BODY_BINARYMIME;
+            } else if (eightBitMime) {
+                cmd = cmd + BODY_8BITMIME;
+            }
+        }
+        if (recipientCommands != null && cmd.startsWith(MAIL_FROM_COMMAND)) {
+            StringJoiner envelope = new StringJoiner(CRLF);
+            envelope.add(cmd);
+            recipientCommands.forEach(envelope::add);
+            super.sendCommand(envelope.toString());
+            pendingCommands.addAll(recipientCommands);
+            recipientCommands = null;
+            return;
+        }
+        if (!pendingCommands.isEmpty()) {
+            if (cmd.equals(pendingCommands.peekFirst())) {
+                // Already written to the server, the response is read by the caller in the usual order
+                pendingCommands.pollFirst();
+                return;
+            }
+            // The envelope was abandoned (e.g. `MAIL FROM` was rejected), so the pipelined responses are skipped
+            discardPendingResponses();
+            if (cmd.startsWith(RCPT_TO_COMMAND)) {
+                throw new MessagingException("Pipelined SMTP envelope is out of sync with the recipients.");
+            }
+        }
+        super.sendCommand(cmd);
+    }
+
+    private void recordMessagePhases(int recipients) {
+        if (envelopeStartTime == 0 || dataStartTime == 0) {
+            return;
+        }
+        long endTime = System.nanoTime();
+        SmtpPhaseMetrics.recordMessagePhase(serverHost, SmtpPhaseMetrics.PHASE_ENVELOPE, messageSize, recipients,
+                dataStartTime - envelopeStartTime);
+        SmtpPhaseMetrics.recordMessagePhase(serverHost, SmtpPhaseMetrics.PHASE_DATA, messageSize, recipients,
+                endTime - dataStartTime);
+    }
+
+    private void discardPendingResponses() throws MessagingException {
+        while (pendingCommands.pollFirst() != null) {
+            readServerResponse();
+        }
+    }
+
+    // Builds the `RCPT TO` commands the same way as the super class, expanding the group addresses
+    private List<String> getRecipientCommands(Address[] addresses) {
+        String notify = null;
+        if (supportsExtension(EmailConstants.SMTP_EXTENSION_DSN)) {
+            notify = session.getProperty(EmailConstants.PROPS_SMTP_DSN_NOTIFY);
+        }
+        List<String> commands = new ArrayList<>(addresses.length);
+        for (Address address : addresses) {
+            if (!(address instanceof InternetAddress)) {
+                // Let the super class reject the message without pipelining
+                return null;
+            }
+            InternetAddress internetAddress = (InternetAddress) address;
+            InternetAddress[] members = null;
+            if (internetAddress.isGroup()) {
+                try {
+                    members = internetAddress.getGroup(true);
+                } catch (AddressException e) {
+                    // The super class sends the whole group as a single address
+                }
+            }
+            for (InternetAddress recipient : members != null ? members : new InternetAddress[]{internetAddress}) {
+                String command = RCPT_TO_COMMAND + normalizeAddress(recipient.getAddress());
+                commands.add(notify != null ? command + " NOTIFY=" + notify : command);
+            }
+        }
+        return commands;
+    }
+
+    // Copies the multipart content of the given part, replacing the base64 encoded non-text leaves, which are not read
+    // from an encoded stream. The other leaves are shared with the original content, which is left unchanged.
+    private static MimeMultipart copyBinaryParts(Part part) throws MessagingException {
+        if (!part.isMimeType(MULTIPART_TYPE) || SmtpUtil.isEncodedStream(part)) {
+            return null;
+        }
+        Object content;
+        try {
+            content = part.getContent();
+        } catch (IOException e) {
+            throw new MessagingException("Error while reading the content of the message.", e);
+        }
+        if (!(content instanceof MimeMultipart)) {
+            return null;
+        }
+        MimeMultipart multipart = (MimeMultipart) content;
+        List<BodyPart> parts = new ArrayList<>(multipart.getCount());
+        boolean replaced = false;
+        for (int i = 0; i < multipart.getCount(); i++) {
+            BodyPart child = multipart.getBodyPart(i);
+            BodyPart copy = child;
+            if (child instanceof MimeBodyPart && child.isMimeType(MULTIPART_TYPE)) {
+                MimeMultipart childContent = copyBinaryParts(child);
+                if (childContent != null) {
+                    copy = new MultipartBodyPart((MimeBodyPart) child, childContent);
+                }
+            } else if (child instanceof MimeBodyPart && isBinary((MimeBodyPart) child)) {
+                copy = new BinaryBodyPart((MimeBodyPart) child);
+            }
+            replaced |= copy != child;
+            parts.add(copy);
+        }
+        return replaced ? new CopiedMultipart(multipart, parts) : null;
+    }
+
+    private static void copyHeaders(Part source, Part target) throws MessagingException {
+        Enumeration<Header> headers = source.getAllHeaders();
+        while (headers.hasMoreElements()) {
+            Header header = headers.nextElement();
+            target.addHeader(header.getName(), header.getValue());
+        }
+    }
+
+    private static Field getServerOutputField() {
+        try {
+            Field field = SMTPTransport.class.getDeclaredField("serverOutput");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            log.debug("Output stream of the SMTP transport is not accessible. BDAT is not used : ", e);
+            return null;
+        }
+    }
+
+    private OutputStream getServerOutput() {
+        if (SERVER_OUTPUT == null) {
+            return null;
+        }
+        try {
+            return (OutputStream) SERVER_OUTPUT.get(this);
+        } catch (IllegalAccessException e) {
+            log.debug("Error while accessing the output stream of the SMTP transport : ", e);
+            return null;
+        }
+    }
+
+    private static boolean isBinary(MimeBodyPart part) throws MessagingException {
+        return ENCODING_BASE64.equalsIgnoreCase(part.getEncoding()) && !part.isMimeType(TEXT_TYPE)
+                && !SmtpUtil.isEncodedStream(part);
+    }
+
+    // Encodes the `8bit` text parts of the given part with the encoding JavaMail would have chosen for them
+    private static void encodeEightBitParts(Part part, List<ReplacedHeader> replacedHeaders)
+            throws MessagingException {
+        if (SmtpUtil.isEncodedStream(part)) {
+            return;
+        }
+        if (part.isMimeType(MULTIPART_TYPE)) {
+            Object content;
+            try {
+                content = part.getContent();
+            } catch (IOException e) {
+                throw new MessagingException("Error while reading the content of the message.", e);
+            }
+            if (content instanceof MimeMultipart) {
+                MimeMultipart multipart = (MimeMultipart) content;
+                for (int i = 0; i < multipart.getCount(); i++) {
+                    encodeEightBitParts(multipart.getBodyPart(i), replacedHeaders);
+                }
+            }
+        } else if (part.isMimeType(TEXT_TYPE) && isEightBit(part)) {
+            replacedHeaders.add(new ReplacedHeader(part, CONTENT_TRANSFER_ENCODING,
+                    MimeUtility.getEncoding(part.getDataHandler())));
+        }
+    }
+
+    private static boolean isEightBit(Part part) throws MessagingException {
+        String[] encodings = part.getHeader(CONTENT_TRANSFER_ENCODING);
+        return encodings != null && ENCODING_8BIT.equalsIgnoreCase(encodings[0]);
+    }
+
+    // Encodes the non-ASCII display names of the address headers, as the server does not accept UTF-8 headers
+    private static void encodeUtf8Headers(MimeMessage message, Address[] addresses,
+                                          List<ReplacedHeader> replacedHeaders) throws MessagingException {
+        for (Address address : addresses) {
+            checkAsciiMailbox(address);
+        }
+        for (String headerName : ADDRESS_HEADERS) {
+            String value = message.getHeader(headerName, ",");
+            if (value == null || isAscii(value)) {
+                continue;
+            }
+            InternetAddress[] headerAddresses = InternetAddress.parseHeader(value, false);
+            for (int i = 0; i < headerAddresses.length; i++) {
+                checkAsciiMailbox(headerAddresses[i]);
+                try {
+                    headerAddresses[i] = new InternetAddress(headerAddresses[i].getAddress(),
+                            headerAddresses[i].getPersonal(), StandardCharsets.UTF_8.name());
+                } catch (UnsupportedEncodingException e) {
+                    throw new MessagingException("Error while encoding the address: " + headerAddresses[i], e);
+                }
+            }
+            replacedHeaders.add(new ReplacedHeader(message, headerName,
+                    InternetAddress.toString(headerAddresses, headerName.length() + 2)));
+        }
+    }
+
+    private static void checkAsciiMailbox(Address address) throws SendFailedException {
+        if (address instanceof InternetAddress && !isAscii(((InternetAddress) address).getAddress())) {
+            throw new SendFailedException("SMTP server does not support SMTPUTF8, which is required to send the "
+                    + "message to or from the address: " + address);
+        }
+    }
+
+    private static boolean isAscii(String value) {
+        return value.chars().allMatch(c -> c < 0x80);
+    }
+
+    private void restoreReplacedHeaders() throws MessagingException {
+        try {
+            for (ReplacedHeader replacedHeader : replacedHeaders) {
+                replacedHeader.restore();
+            }
+        } finally {
+            replacedHeaders = Collections.emptyList();
+        }
+    }
+
+    private static String normalizeAddress(String address) {
+        if (address.startsWith("<") || address.endsWith(">")) {
+            return address;
+        }
+        return "<" + address + ">";
+    }
+
+    /**
+     * Header of a part, which is replaced while a message is being sent.
+     */
+    private static class ReplacedHeader {
+
+        private final Part part;
+        private final String name;
+        private final String[] originalValues;
+
+        ReplacedHeader(Part part, String name, String value) throws MessagingException {
+            this.part = part;
+            this.name = name;
+            this.originalValues = part.getHeader(name);
+            part.setHeader(name, value);
+        }
+
+        void restore() throws MessagingException {
+            if (originalValues == null) {
+                part.removeHeader(name);
+                return;
+            }
+            part.setHeader(name, originalValues[0]);
+            for (int i = 1; i < originalValues.length; i++) {
+                part.addHeader(name, originalValues[i]);
+            }
+        }
+
+    }
+
+    /**
+     * Copy of a message, which shares its headers and sends the given multipart content in place of the content of
+     * the original message.
+     */
+    private static class BinaryMimeMessage extends MimeMessage {
+
+        BinaryMimeMessage(MimeMessage originalMessage, MimeMultipart content) throws MessagingException {
+            super(originalMessage.getSession());
+            copyHeaders(originalMessage, this);
+            // Assigned directly as setting the data handler removes the content headers
+            dh = new DataHandler(content, content.getContentType());
+            // The headers of the original message are already saved, and saving them again changes the Message-ID
+            saved = true;
+        }
+
+    }
+
+    /**
+     * Copy of a multipart body part, which sends the given multipart content in place of the original content.
+     */
+    private static class MultipartBodyPart extends MimeBodyPart {
+
+        MultipartBodyPart(MimeBodyPart originalPart, MimeMultipart content) throws MessagingException {
+            copyHeaders(originalPart, this);
+            // Assigned directly as setting the data handler removes the content headers
+            dh = new DataHandler(content, content.getContentType());
+        }
+
+    }
+
+    /**
+     * Copy of a multipart content, which keeps the boundary of the original as it is given in the headers of the
+     * enclosing part.
+     */
+    private static class CopiedMultipart extends MimeMultipart {
+
+        CopiedMultipart(MimeMultipart originalMultipart, List<BodyPart> bodyParts) throws MessagingException {
+            contentType = originalMultipart.getContentType();
+            setPreamble(originalMultipart.getPreamble());
+            // Added directly as adding a body part changes the parent of the shared body parts
+            parts.addAll(bodyParts);
+        }
+
+    }
+
+    /**
+     * Body part, which sends the content of a base64 encoded body part as raw binary.
+     */
+    private static class BinaryBodyPart extends MimeBodyPart {
+
+        BinaryBodyPart(MimeBodyPart originalPart) throws MessagingException {
+            copyHeaders(originalPart, this);
+            setHeader(CONTENT_TRANSFER_ENCODING, ENCODING_BINARY);
+            // Assigned directly as setting the data handler removes the content headers
+            dh = originalPart.getDataHandler();
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException, MessagingException {
+            if (!(outputStream instanceof ChunkedDataStream)) {
+                super.writeTo(outputStream);
+                return;
+            }
+            ChunkedDataStream dataStream = (ChunkedDataStream) outputStream;
+            dataStream.setBinary(true);
+            try {
+                super.writeTo(outputStream);
+            } finally {
+                dataStream.setBinary(false);
+            }
+        }
+
+    }
+
+    /**
+     * Stream, which sends the message data in `BDAT` chunks of the configured size. Line breaks are converted to CRLF
+     * except in the content of the binary body parts, and the lines are not dot-stuffed as the size of each chunk is
+     * sent ahead of it. Each chunk is written to the server right after its `BDAT` command.
+     */
+    private class ChunkedDataStream extends OutputStream {
+
+        private static final int CRLF_BYTES = ('\r' << 8) | '\n';
+
+        private final OutputStream serverOutput;
+        private final byte[] buffer = new byte[chunkSize];
+        private int count = 0;
+        private int lastByte = -1;
+        // Last two bytes written to the server, which tell whether the data ends with a line break
+        private int lastBytes = CRLF_BYTES;
+        private boolean binary = false;
+
+        ChunkedDataStream(OutputStream serverOutput) {
+            this.serverOutput = serverOutput;
+        }
+
+        void setBinary(boolean binary) {
+            this.binary = binary;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (binary) {
+                append(b);
+            } else if (b == '\r') {
+                append('\r');
+                append('\n');
+            } else if (b == '\n') {
+                if (lastByte != '\r') {
+                    append('\r');
+                    append('\n');
+                }
+            } else {
+                append(b);
+            }
+            lastByte = b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!binary) {
+                for (int i = offset; i < offset + length; i++) {
+                    write(bytes[i] & 0xff);
+                }
+                return;
+            }
+            if (length == 0) {
+                return;
+            }
+            trackLastBytes(bytes, offset, length);
+            lastByte = bytes[offset + length - 1] & 0xff;
+            while (length > 0) {
+                if (count == 0 && length >= buffer.length) {
+                    // Whole chunks are written from the given bytes without being buffered
+                    sendChunk(bytes, offset, buffer.length, false);
+                    offset += buffer.length;
+                    length -= buffer.length;
+                    continue;
+                }
+                int size = Math.min(buffer.length - count, length);
+                System.arraycopy(bytes, offset, buffer, count, size);
+                count += size;
+                offset += size;
+                length -= size;
+                if (count == buffer.length) {
+                    flushBuffer(false);
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+            // Chunks are sent only when the buffer is full, as each part of the message is flushed once it is written
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (lastBytes != CRLF_BYTES) {
+                append('\r');
+                append('\n');
+            }
+            flushBuffer(true);
+        }
+
+        private void append(int b) throws IOException {
+            buffer[count++] = (byte) b;
+            lastBytes = ((lastBytes << 8) | (b & 0xff)) & 0xffff;
+            if (count == buffer.length) {
+                flushBuffer(false);
+            }
+        }
+
+        private void trackLastBytes(byte[] bytes, int offset, int length) {
+            int end = offset + length;
+            lastBytes = length == 1 ? ((lastBytes << 8) | (bytes[end - 1] & 0xff)) & 0xffff
+                    : ((bytes[end - 2] & 0xff) << 8) | (bytes[end - 1] & 0xff);
+        }
+
+        private void flushBuffer(boolean last) throws IOException {
+            sendChunk(buffer, 0, count, last);
+            count = 0;
+        }
+
+        private void sendChunk(byte[] bytes, int offset, int length, boolean last) throws IOException {
+            String command = BDAT_COMMAND + length + (last ? BDAT_LAST : "") + CRLF;
+            serverOutput.write(command.getBytes(StandardCharsets.US_ASCII));
+            serverOutput.write(bytes, offset, length);
+            serverOutput.flush();
+            try {
+                if (readServerResponse() != SMTP_OK) {
+                    throw new IOException(getLastServerResponse());
+                }
+            } catch (MessagingException e) {
+                throw new IOException("Error while sending a BDAT chunk.", e);
+            }
+            messageSize += length;
+        }
+
+    }
+
+    /**
+     * Stream, which counts the bytes of the message data written with the `DATA` command.
+     */
+    private class CountingOutputStream extends FilterOutputStream {
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            messageSize++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            messageSize += length;
+        }
+
+    }
+
+}
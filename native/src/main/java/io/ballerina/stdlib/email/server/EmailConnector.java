@@ -37,6 +37,7 @@ public class EmailConnector {
 
     private EmailConsumer consumer;
     private AtomicBoolean isPollOperationOccupied = new AtomicBoolean(false);
+    private ImapIdleWatcher idleWatcher;
 
     /**
      * Creates the email consumer.
@@ -54,9 +55,18 @@ public class EmailConnector {
      * Polls to retrieve emails from the server.
      */
     public void poll() {
+        pollMessage();
+    }
+
+    /**
+     * Polls to retrieve an email from the server.
+     *
+     * @return True if an email was retrieved and passed to the listener
+     */
+    boolean pollMessage() {
         if (isPollOperationOccupied.compareAndSet(false, true)) {
             try {
-                consumer.consume();
+                return consumer.consume();
             } catch (Exception e) {
                 log.error("Error executing the polling cycle of RemoteFileSystemServer", e);
             } finally {
@@ -65,6 +75,30 @@ public class EmailConnector {
         } else {
             log.warn("A scheduled email polling job was skipped as the previous job was still processing.");
         }
+        return false;
+    }
+
+    /**
+     * Starts retrieving the emails as soon as the IMAP server announces them with the `IDLE` command.
+     *
+     * @param renewIntervalInMs Interval at which the `IDLE` command is issued again
+     * @param pollingIntervalInMs Interval at which the emails are polled if the server does not support `IDLE`
+     */
+    public synchronized void startIdle(long renewIntervalInMs, long pollingIntervalInMs) {
+        if (idleWatcher == null) {
+            idleWatcher = new ImapIdleWatcher(this, consumer, renewIntervalInMs, pollingIntervalInMs);
+            idleWatcher.start();
+        }
+    }
+
+    /**
+     * Stops retrieving the emails with the `IDLE` command.
+     */
+    public synchronized void stopIdle() {
+        if (idleWatcher != null) {
+            idleWatcher.stop();
+            idleWatcher = null;
+        }
     }
 
     /**
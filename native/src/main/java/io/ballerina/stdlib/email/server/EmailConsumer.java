@@ -18,6 +18,7 @@
 
 package io.ballerina.stdlib.email.server;
 
+import com.sun.mail.imap.IMAPFolder;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.utils.StringUtils;
@@ -84,14 +85,17 @@ public class EmailConsumer {
 
     /**
      * Read emails from the Email client and pass to the listener.
+     *
+     * @return True if an email was read and passed to the listener
      */
-    public void consume() {
+    public boolean consume() {
         printConsumeDebugLogs();
         Object message = EmailAccessClient.readMessage(client,
                 StringUtils.fromString(EmailConstants.DEFAULT_STORE_LOCATION), BDecimal.valueOf(0));
         if (message != null) {
             if (message instanceof BMap) {
                 emailListener.onMessage(new EmailEvent(message));
+                return true;
             } else if (message instanceof BError) {
                 emailListener.onError(message);
             } else {
@@ -101,7 +105,20 @@ public class EmailConsumer {
         } else {
             log.debug("No emails found in the inbox.");
         }
+        return false;
+    }
 
+    /**
+     * Returns the IMAP folder kept open by the Email client between the reads.
+     *
+     * @return The open IMAP folder or else null if the folder is not open or the client is not an IMAP client
+     */
+    IMAPFolder getImapFolder() {
+        Object folder = client.getNativeData(EmailConstants.PROPS_FOLDER);
+        if (folder instanceof IMAPFolder && ((IMAPFolder) folder).isOpen()) {
+            return (IMAPFolder) folder;
+        }
+        return null;
     }
 
     /**
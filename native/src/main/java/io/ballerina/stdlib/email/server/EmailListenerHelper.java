@@ -19,6 +19,7 @@
 package io.ballerina.stdlib.email.server;
 
 import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
@@ -106,6 +107,33 @@ public class EmailListenerHelper {
         return null;
     }
 
+    /**
+     * Starts retrieving the emails as soon as the IMAP server announces them.
+     * @param emailListener Ballerina listener for connecting to the IMAP server endpoint
+     * @param renewInterval Interval (in seconds) at which the `IDLE` command is issued again
+     * @param pollingInterval Interval (in seconds) at which the emails are polled if the server does not support
+     *                        `IDLE`
+     */
+    public static Object startIdle(BObject emailListener, BDecimal renewInterval, BDecimal pollingInterval) {
+        EmailConnector connector = (EmailConnector) emailListener.getNativeData(EmailConstants.EMAIL_SERVER_CONNECTOR);
+        try {
+            connector.startIdle(getTimeInMs(renewInterval), getTimeInMs(pollingInterval));
+        } catch (Exception e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while starting IDLE in the email listener: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Stops retrieving the emails with the `IDLE` command.
+     * @param emailListener Ballerina listener for connecting to the IMAP server endpoint
+     */
+    public static void stopIdle(BObject emailListener) {
+        EmailConnector connector = (EmailConnector) emailListener.getNativeData(EmailConstants.EMAIL_SERVER_CONNECTOR);
+        connector.stopIdle();
+    }
+
     /**
      * Closes the POP3/IMAP server endpoint.
      * @param emailListener Ballerina listener for closing the POP3/IMAP server endpoint
@@ -121,4 +149,8 @@ public class EmailListenerHelper {
         }
         return null;
     }
+
+    private static long getTimeInMs(BDecimal time) {
+        return (long) (time.floatValue() * 1000);
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.server;
+
+import com.sun.mail.imap.IMAPFolder;
+import com.sun.mail.imap.IMAPStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.MessagingException;
+
+/**
+ * Waits for new emails with the IMAP `IDLE` command and reads them as soon as the server announces them, instead of
+ * polling the server at a fixed interval. The `IDLE` command is issued again at the renew interval, so that the
+ * server does not drop the idle connection. When the server does not support `IDLE`, the emails are polled at the
+ * polling interval.
+ *
+ * @since 2.12.1
+ */
+class ImapIdleWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ImapIdleWatcher.class);
+    private static final String IDLE_CAPABILITY = "IDLE";
+    private static final long STOP_CHECK_INTERVAL_IN_MS = 100;
+
+    private final EmailConnector connector;
+    private final EmailConsumer consumer;
+    private final long renewIntervalInMs;
+    private final long pollingIntervalInMs;
+    private final CountDownLatch stopSignal = new CountDownLatch(1);
+    private final ScheduledExecutorService renewTimer = Executors.newSingleThreadScheduledExecutor(runnable ->
+            Thread.ofPlatform().daemon().name("email-idle-renew").unstarted(runnable));
+    private volatile IMAPFolder idleFolder;
+    private Thread watcher;
+
+    ImapIdleWatcher(EmailConnector connector, EmailConsumer consumer, long renewIntervalInMs,
+                    long pollingIntervalInMs) {
+        this.connector = connector;
+        this.consumer = consumer;
+        this.renewIntervalInMs = renewIntervalInMs;
+        this.pollingIntervalInMs = pollingIntervalInMs;
+    }
+
+    /**
+     * Starts waiting for the emails in the background.
+     */
+    synchronized void start() {
+        if (watcher == null) {
+            // The thread is blocked in `IDLE` while holding a monitor of JavaMail, so it runs on a platform thread
+            watcher = Thread.ofPlatform().daemon().name("email-idle-watcher").start(this::watch);
+        }
+    }
+
+    /**
+     * Stops waiting for the emails and waits until the email being read is passed to the listener.
+     */
+    synchronized void stop() {
+        stopSignal.countDown();
+        renewTimer.shutdownNow();
+        if (watcher == null) {
+            return;
+        }
+        try {
+            // The `IDLE` command may start right after it is ended, so it is ended until the watcher stops
+            while (watcher.isAlive()) {
+                abortIdle();
+                watcher.join(STOP_CHECK_INTERVAL_IN_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (!isStopped()) {
+                // Reads all the emails delivered since the previous notification
+                while (!isStopped() && connector.pollMessage()) {
+                    log.debug("Read an email announced by the IMAP server.");
+                }
+                IMAPFolder folder = consumer.getImapFolder();
+                if (isStopped()) {
+                    return;
+                }
+                if (folder == null || !supportsIdle(folder)) {
+                    stopSignal.await(pollingIntervalInMs, TimeUnit.MILLISECONDS);
+                } else if (!idle(folder)) {
+                    // The folder is opened again by the next read, after waiting for the server to recover
+                    stopSignal.await(pollingIntervalInMs, TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean idle(IMAPFolder folder) {
+        ScheduledFuture<?> renewal;
+        try {
+            renewal = renewTimer.schedule(this::abortIdle, renewIntervalInMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The timer is shut down only when the listener is stopped
+            return true;
+        }
+        idleFolder = folder;
+        try {
+            // The listener may have been stopped before the folder started to idle
+            if (isStopped()) {
+                return true;
+            }
+            folder.idle(true);
+            return true;
+        } catch (MessagingException e) {
+            log.debug("Error while waiting for the emails with IDLE : ", e);
+            return false;
+        } finally {
+            idleFolder = null;
+            renewal.cancel(false);
+        }
+    }
+
+    // Any command sent to the folder ends the `IDLE` command in progress
+    private void abortIdle() {
+        IMAPFolder folder = idleFolder;
+        if (folder == null) {
+            return;
+        }
+        try {
+            folder.doCommand(protocol -> {
+                protocol.noop();
+                return null;
+            });
+        } catch (MessagingException e) {
+            log.debug("Error while ending the IDLE command : ", e);
+        }
+    }
+
+    private boolean supportsIdle(IMAPFolder folder) {
+        try {
+            return ((IMAPStore) folder.getStore()).hasCapability(IDLE_CAPABILITY);
+        } catch (MessagingException e) {
+            log.debug("Error while checking the IDLE capability of the IMAP server : ", e);
+            return false;
+        }
+    }
+
+    private boolean isStopped() {
+        return stopSignal.getCount() == 0;
+    }
+
+}
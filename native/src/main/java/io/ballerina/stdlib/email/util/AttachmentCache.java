@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import javax.mail.util.SharedByteArrayInputStream;
+
+/**
+ * A size bounded cache of the encoded file attachments of an SMTP client, which evicts the least recently used
+ * attachments. An attachment is identified by the path, the last modified time and the size of its file, so a
+ * modified file is encoded again.
+ *
+ * @since 2.12.1
+ */
+public class AttachmentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentCache.class);
+
+    private final long maxSizeInBytes;
+    private final Map<Key, byte[]> encodedAttachments = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes = 0;
+
+    /**
+     * Creates an attachment cache.
+     * @param maxSizeInBytes Maximum total size of the encoded attachments kept in the cache
+     */
+    public AttachmentCache(long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * Returns a body part of a file attachment, which is encoded once and then shared by the later messages.
+     * @param file File to be attached
+     * @return A body part, which writes the encoded bytes of the file without encoding them again
+     * @throws MessagingException If an error occurs while encoding the attachment
+     * @throws IOException If an error occurs while reading the file
+     */
+    public MimeBodyPart getBodyPart(File file) throws MessagingException, IOException {
+        Key key = new Key(file.getAbsolutePath(), file.lastModified(), file.length());
+        byte[] encodedAttachment;
+        synchronized (this) {
+            encodedAttachment = encodedAttachments.get(key);
+        }
+        if (encodedAttachment == null) {
+            // Concurrent misses of the same file may encode it more than once, which is cheaper than holding the lock
+            encodedAttachment = encode(file);
+            put(key, encodedAttachment);
+        }
+        return new MimeBodyPart(new SharedByteArrayInputStream(encodedAttachment));
+    }
+
+    private static byte[] encode(File file) throws MessagingException, IOException {
+        MimeBodyPart bodyPart = new MimeBodyPart();
+        bodyPart.attachFile(file);
+        // Saving the changes of an enclosing message chooses the transfer encoding of the attachment
+        MimeMessage message = new MimeMessage((Session) null);
+        MimeMultipart multipart = new MimeMultipart();
+        multipart.addBodyPart(bodyPart);
+        message.setContent(multipart);
+        message.saveChanges();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bodyPart.writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private synchronized void put(Key key, byte[] encodedAttachment) {
+        if (encodedAttachment.length > maxSizeInBytes) {
+            return;
+        }
+        byte[] previous = encodedAttachments.put(key, encodedAttachment);
+        if (previous != null) {
+            sizeInBytes -= previous.length;
+        }
+        sizeInBytes += encodedAttachment.length;
+        Iterator<byte[]> iterator = encodedAttachments.values().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            sizeInBytes -= iterator.next().length;
+            iterator.remove();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Cached the encoded attachment " + key.path + ". Cache size: " + sizeInBytes + " bytes");
+        }
+    }
+
+    /**
+     * Identifies a version of a file.
+     */
+    private static class Key {
+
+        private final String path;
+        private final long lastModifiedTime;
+        private final long size;
+
+        Key(String path, long lastModifiedTime, long size) {
+            this.path = path;
+            this.lastModifiedTime = lastModifiedTime;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) object;
+            return lastModifiedTime == key.lastModifiedTime && size == key.size && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, lastModifiedTime, size);
+        }
+
+    }
+
+}
@@ -22,6 +22,8 @@ import com.sun.mail.util.MailSSLSocketFactory;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.stdlib.mime.util.MimeConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +41,6 @@ import java.security.cert.X509Certificate;
 import java.util.regex.Pattern;
 
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 
@@ -106,7 +107,7 @@ public class CommonUtil {
         return buffer.toByteArray();
     }
 
-    protected static SSLSocketFactory createSSLSocketFactory(File crtFile, String protocol)
+    protected static SSLContext createSSLContext(File crtFile, String protocol)
             throws GeneralSecurityException, IOException {
         SSLContext sslContext = SSLContext.getInstance(protocol);
         KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
@@ -120,16 +121,15 @@ public class CommonUtil {
         tmf.init(trustStore);
         TrustManager[] trustManagers = tmf.getTrustManagers();
         sslContext.init(null, trustManagers, new SecureRandom());
-        return sslContext.getSocketFactory();
+        return sslContext;
     }
 
-    protected static SSLSocketFactory createDefaultSSLSocketFactory()
-            throws GeneralSecurityException {
+    protected static SSLContext createDefaultSSLContext() throws GeneralSecurityException {
         MailSSLSocketFactory mailSSLSocketFactory = new MailSSLSocketFactory();
         TrustManager[] mailTrustManagers = mailSSLSocketFactory.getTrustManagers();
         SSLContext sslContext = SSLContext.getInstance(EmailConstants.DEFAULT_TRANSPORT_PROTOCOL);
         sslContext.init(null, mailTrustManagers, new SecureRandom());
-        return sslContext.getSocketFactory();
+        return sslContext;
     }
 
     public static BError getBallerinaError(String typeId, String message) {
@@ -137,4 +137,9 @@ public class CommonUtil {
                 StringUtils.fromString(message), null, null);
     }
 
+    public static BError getBallerinaError(String typeId, String message, BMap<BString, Object> details) {
+        return ErrorCreator.createError(ModuleUtils.getModule(), typeId,
+                StringUtils.fromString(message), null, details);
+    }
+
 }
@@ -62,6 +62,7 @@ import javax.mail.BodyPart;
 import javax.mail.Header;
 import javax.mail.Message;
 import javax.mail.MessagingException;
+import javax.mail.Session;
 import javax.mail.internet.MimeMultipart;
 import javax.net.ssl.SSLSocketFactory;
 
@@ -100,6 +101,29 @@ public final class EmailAccessUtil {
      */
     public static Properties getPopProperties(BMap<BString, Object> emailAccessConfig, String host)
             throws GeneralSecurityException, IOException {
+        return EmailConfigCache.getProperties(
+                EmailConfigCache.getConfigKey(EmailConstants.POP_PROTOCOL, host, emailAccessConfig),
+                () -> createPopProperties(emailAccessConfig, host));
+    }
+
+    /**
+     * Returns the session of a POP client, which is shared by the clients with the same configuration.
+     *
+     * @param emailAccessConfig BMap with the configuration values
+     * @param host Host address of email server
+     * @return Session Email server access session
+     */
+    public static Session getPopSession(BMap<BString, Object> emailAccessConfig, String host)
+            throws GeneralSecurityException, IOException {
+        return EmailConfigCache.getSession(
+                EmailConfigCache.getConfigKey(EmailConstants.POP_PROTOCOL, host, emailAccessConfig),
+                () -> createPopProperties(emailAccessConfig, host));
+    }
+
+    private static Properties createPopProperties(BMap<BString, Object> emailAccessConfig, String host)
+            throws GeneralSecurityException, IOException {
+        BMap<BString, Object> sessionCacheConfig = (BMap<BString, Object>) emailAccessConfig.getMapValue(
+                EmailConstants.PROPS_TLS_SESSION_CACHE_CONFIG);
         Properties properties = new Properties();
         properties.put(EmailConstants.PROPS_POP_HOST, host);
         properties.put(EmailConstants.PROPS_POP_PORT,
@@ -115,17 +139,19 @@ public final class EmailAccessUtil {
                 properties.put(EmailConstants.PROPS_POP_STARTTLS, "true");
                 properties.put(EmailConstants.PROPS_POP_STARTTLS_REQUIRED, "true");
                 properties.put(EmailConstants.PROPS_POP_SSL_ENABLE, "false");
-                addBasicPopTransportSecurityProperties(CommonUtil.createDefaultSSLSocketFactory(), properties);
+                addBasicPopTransportSecurityProperties(
+                        EmailConfigCache.getDefaultSSLSocketFactory(sessionCacheConfig), properties);
                 break;
             case PROPS_START_TLS_NEVER:
                 properties.put(EmailConstants.PROPS_POP_STARTTLS, "false");
                 properties.put(EmailConstants.PROPS_POP_SSL_ENABLE, "false");
                 break;
             default:
-                addBasicPopTransportSecurityProperties(CommonUtil.createDefaultSSLSocketFactory(), properties);
+                addBasicPopTransportSecurityProperties(
+                        EmailConfigCache.getDefaultSSLSocketFactory(sessionCacheConfig), properties);
         }
         addPopCertificate((BMap<BString, Object>) emailAccessConfig.getMapValue
-                (EmailConstants.PROPS_SECURE_SOCKET), properties);
+                (EmailConstants.PROPS_SECURE_SOCKET), sessionCacheConfig, properties);
         properties.put(EmailConstants.PROPS_POP_AUTH, "true");
         properties.put(EmailConstants.MAIL_STORE_PROTOCOL, EmailConstants.POP_PROTOCOL);
         printPopDebugLogs(properties);
@@ -141,6 +167,29 @@ public final class EmailAccessUtil {
      */
     public static Properties getImapProperties(BMap<BString, Object> emailAccessConfig, String host)
             throws GeneralSecurityException, IOException {
+        return EmailConfigCache.getProperties(
+                EmailConfigCache.getConfigKey(EmailConstants.IMAP_PROTOCOL, host, emailAccessConfig),
+                () -> createImapProperties(emailAccessConfig, host));
+    }
+
+    /**
+     * Returns the session of a IMAP client, which is shared by the clients with the same configuration.
+     *
+     * @param emailAccessConfig BMap with the configuration values
+     * @param host Host address of email server
+     * @return Session Email server access session
+     */
+    public static Session getImapSession(BMap<BString, Object> emailAccessConfig, String host)
+            throws GeneralSecurityException, IOException {
+        return EmailConfigCache.getSession(
+                EmailConfigCache.getConfigKey(EmailConstants.IMAP_PROTOCOL, host, emailAccessConfig),
+                () -> createImapProperties(emailAccessConfig, host));
+    }
+
+    private static Properties createImapProperties(BMap<BString, Object> emailAccessConfig, String host)
+            throws GeneralSecurityException, IOException {
+        BMap<BString, Object> sessionCacheConfig = (BMap<BString, Object>) emailAccessConfig.getMapValue(
+                EmailConstants.PROPS_TLS_SESSION_CACHE_CONFIG);
         Properties properties = new Properties();
         properties.put(EmailConstants.PROPS_IMAP_HOST, host);
         properties.put(EmailConstants.PROPS_IMAP_PORT,
@@ -156,19 +205,21 @@ public final class EmailAccessUtil {
                 properties.put(EmailConstants.PROPS_IMAP_STARTTLS, "true");
                 properties.put(EmailConstants.PROPS_IMAP_STARTTLS_REQUIRED, "true");
                 properties.put(EmailConstants.PROPS_IMAP_SSL_ENABLE, "false");
-                addBasicImapTransportSecurityProperties(CommonUtil.createDefaultSSLSocketFactory(), properties);
+                addBasicImapTransportSecurityProperties(
+                        EmailConfigCache.getDefaultSSLSocketFactory(sessionCacheConfig), properties);
                 break;
             case PROPS_START_TLS_NEVER:
                 properties.put(EmailConstants.PROPS_IMAP_STARTTLS, "false");
                 properties.put(EmailConstants.PROPS_IMAP_SSL_ENABLE, "false");
                 break;
             default:
-                addBasicImapTransportSecurityProperties(CommonUtil.createDefaultSSLSocketFactory(), properties);
+                addBasicImapTransportSecurityProperties(
+                        EmailConfigCache.getDefaultSSLSocketFactory(sessionCacheConfig), properties);
         }
         properties.put(EmailConstants.PROPS_IMAP_AUTH, "true");
         properties.put(EmailConstants.MAIL_STORE_PROTOCOL, EmailConstants.IMAP_PROTOCOL);
         addImapCertificate((BMap<BString, Object>) emailAccessConfig.getMapValue
-                (EmailConstants.PROPS_SECURE_SOCKET), properties);
+                (EmailConstants.PROPS_SECURE_SOCKET), sessionCacheConfig, properties);
         printImapDebugLogs(properties);
         return properties;
     }
@@ -220,7 +271,8 @@ public final class EmailAccessUtil {
         return ValueCreator.createRecordValue(EmailUtils.getEmailPackage(), EmailConstants.EMAIL_MESSAGE, valueMap);
     }
 
-    protected static void addPopCertificate(BMap<BString, Object> secureSocket, Properties properties)
+    protected static void addPopCertificate(BMap<BString, Object> secureSocket,
+                                            BMap<BString, Object> sessionCacheConfig, Properties properties)
             throws IOException, GeneralSecurityException {
         if (secureSocket != null) {
             String protocolName = null;
@@ -240,8 +292,8 @@ public final class EmailAccessUtil {
                 supportedCiphers = ciphers.getStringArray();
             }
             certificatePath = secureSocket.getStringValue(PROPS_CERTIFICATE).getValue();
-            SSLSocketFactory sslSocketFactory = CommonUtil.createSSLSocketFactory(new File(certificatePath),
-                    protocolName);
+            SSLSocketFactory sslSocketFactory = EmailConfigCache.getSSLSocketFactory(new File(certificatePath),
+                    protocolName, sessionCacheConfig);
             properties.put(EmailConstants.PROPS_POP_SOCKET_FACTORY, sslSocketFactory);
             properties.put(EmailConstants.PROPS_POP_SOCKET_FACTORY_CLASS, EmailConstants.SSL_SOCKET_FACTORY_CLASS);
             properties.put(EmailConstants.PROPS_POP_SOCKET_FACTORY_FALLBACK, "false");
@@ -265,7 +317,8 @@ public final class EmailAccessUtil {
         }
     }
 
-    protected static void addImapCertificate(BMap<BString, Object> secureSocket, Properties properties)
+    protected static void addImapCertificate(BMap<BString, Object> secureSocket,
+                                             BMap<BString, Object> sessionCacheConfig, Properties properties)
             throws IOException, GeneralSecurityException {
         if (secureSocket != null) {
             String protocolName = null;
@@ -285,8 +338,8 @@ public final class EmailAccessUtil {
                 supportedCiphers = ciphers.getStringArray();
             }
             certificatePath = secureSocket.getStringValue(PROPS_CERTIFICATE).getValue();
-            SSLSocketFactory sslSocketFactory = CommonUtil.createSSLSocketFactory(new File(certificatePath),
-                    protocolName);
+            SSLSocketFactory sslSocketFactory = EmailConfigCache.getSSLSocketFactory(new File(certificatePath),
+                    protocolName, sessionCacheConfig);
             properties.put(EmailConstants.PROPS_IMAP_SOCKET_FACTORY, sslSocketFactory);
             properties.put(EmailConstants.PROPS_IMAP_SOCKET_FACTORY_CLASS, EmailConstants.SSL_SOCKET_FACTORY_CLASS);
             properties.put(EmailConstants.PROPS_IMAP_SOCKET_FACTORY_FALLBACK, "false");
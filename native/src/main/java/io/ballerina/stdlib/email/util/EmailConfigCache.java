@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.util;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.mail.Session;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+
+import static io.ballerina.stdlib.email.util.EmailConstants.PROPS_CERTIFICATE;
+import static io.ballerina.stdlib.email.util.EmailConstants.PROPS_CERT_CIPHERS;
+import static io.ballerina.stdlib.email.util.EmailConstants.PROPS_CERT_PROTOCOL;
+import static io.ballerina.stdlib.email.util.EmailConstants.PROPS_CERT_PROTOCOL_NAME;
+import static io.ballerina.stdlib.email.util.EmailConstants.PROPS_CERT_PROTOCOL_VERSIONS;
+import static io.ballerina.stdlib.email.util.EmailConstants.PROPS_VERIFY_HOSTNAME;
+
+/**
+ * A JVM-wide cache of the connection properties, the sessions and the SSL socket factories of the email clients, so
+ * that clients created with identical configurations share them instead of creating a new SSL context and parsing
+ * the certificate again. A configuration is identified by the protocol, the host, the port, the security type and
+ * the secure socket settings, including the last modified time and the size of the certificate file, so a modified
+ * certificate is loaded again. The connections of the clients sharing a socket factory also share the TLS session
+ * cache of its SSL context. Since the size and the timeout of that cache are set on the SSL context, the socket
+ * factories are also keyed on the TLS session cache configuration and each SSL context is created for one of them.
+ *
+ * @since 2.12.1
+ */
+public final class EmailConfigCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailConfigCache.class);
+
+    private static final int MAX_ENTRIES = 256;
+    private static final Map<List<Object>, CachedConfig> configs = createLruMap();
+    private static final Map<List<Object>, SSLSocketFactory> socketFactories = createLruMap();
+
+    private EmailConfigCache() {}
+
+    /**
+     * Loads the properties of a configuration.
+     */
+    @FunctionalInterface
+    public interface PropertiesLoader {
+
+        Properties load() throws IOException, GeneralSecurityException;
+
+    }
+
+    /**
+     * Creates the key, which identifies the connection configuration of a client.
+     * @param protocol Protocol of the client
+     * @param host Host address of the email server
+     * @param config BMap with the configuration values
+     * @param options Other configuration values, which change the properties of the client
+     * @return Key of the configuration
+     */
+    public static List<Object> getConfigKey(String protocol, String host, BMap<BString, Object> config,
+                                            Object... options) {
+        List<Object> key = new ArrayList<>();
+        key.add(protocol);
+        key.add(host);
+        key.add(getValue(config.get(EmailConstants.PROPS_PORT)));
+        key.add(getValue(config.get(EmailConstants.PROPS_SECURITY)));
+        BMap<BString, Object> secureSocket = (BMap<BString, Object>) config.getMapValue(
+                EmailConstants.PROPS_SECURE_SOCKET);
+        if (secureSocket != null) {
+            File certificate = new File(secureSocket.getStringValue(PROPS_CERTIFICATE).getValue());
+            key.add(certificate.getAbsolutePath());
+            key.add(certificate.lastModified());
+            key.add(certificate.length());
+            BMap<BString, Object> protocolConfig = (BMap<BString, Object>) secureSocket.getMapValue(
+                    PROPS_CERT_PROTOCOL);
+            if (protocolConfig != null) {
+                key.add(getValue(protocolConfig.get(PROPS_CERT_PROTOCOL_NAME)));
+                key.add(toList(protocolConfig.getArrayValue(PROPS_CERT_PROTOCOL_VERSIONS)));
+            }
+            key.add(toList(secureSocket.getArrayValue(PROPS_CERT_CIPHERS)));
+            key.add(secureSocket.get(PROPS_VERIFY_HOSTNAME));
+        }
+        key.addAll(getSessionCacheKey((BMap<BString, Object>) config.getMapValue(
+                EmailConstants.PROPS_TLS_SESSION_CACHE_CONFIG)));
+        key.addAll(Arrays.asList(options));
+        return key;
+    }
+
+    /**
+     * Returns the properties of a configuration, which are loaded once and then shared by the clients with the same
+     * configuration. The returned properties must not be modified.
+     * @param key Key of the configuration
+     * @param loader Loader of the properties, which is used if the properties are not cached
+     * @return Properties of the configuration
+     * @throws IOException If an error occurs while reading the certificate
+     * @throws GeneralSecurityException If an error occurs while creating the SSL socket factory
+     */
+    public static Properties getProperties(List<Object> key, PropertiesLoader loader)
+            throws IOException, GeneralSecurityException {
+        return getConfig(key, loader).properties;
+    }
+
+    /**
+     * Returns a session without an authenticator for a configuration, which is shared by the clients with the same
+     * configuration.
+     * @param key Key of the configuration
+     * @param loader Loader of the properties, which is used if the properties are not cached
+     * @return Session of the configuration
+     * @throws IOException If an error occurs while reading the certificate
+     * @throws GeneralSecurityException If an error occurs while creating the SSL socket factory
+     */
+    public static Session getSession(List<Object> key, PropertiesLoader loader)
+            throws IOException, GeneralSecurityException {
+        CachedConfig config = getConfig(key, loader);
+        synchronized (config) {
+            if (config.session == null) {
+                config.session = Session.getInstance(config.properties, null);
+            }
+            return config.session;
+        }
+    }
+
+    /**
+     * Returns an SSL socket factory, which trusts the default trust store and is shared by the clients with the same
+     * TLS session cache configuration.
+     * @param sessionCacheConfig TLS session cache configuration or `null` to use the defaults of the JVM
+     * @return The default SSL socket factory
+     * @throws GeneralSecurityException If an error occurs while creating the SSL context
+     */
+    public static SSLSocketFactory getDefaultSSLSocketFactory(BMap<BString, Object> sessionCacheConfig)
+            throws GeneralSecurityException {
+        List<Object> key = getSessionCacheKey(sessionCacheConfig);
+        SSLSocketFactory socketFactory = socketFactories.get(key);
+        if (socketFactory == null) {
+            socketFactory = putSocketFactory(key, createSocketFactory(CommonUtil.createDefaultSSLContext(),
+                    sessionCacheConfig));
+        }
+        return socketFactory;
+    }
+
+    /**
+     * Returns an SSL socket factory, which trusts the given certificate and is shared by the clients, which use the
+     * same version of the certificate file, the same protocol and the same TLS session cache configuration.
+     * @param crtFile Certificate file to be trusted
+     * @param protocol Protocol of the SSL context
+     * @param sessionCacheConfig TLS session cache configuration or `null` to use the defaults of the JVM
+     * @return SSL socket factory of the certificate
+     * @throws IOException If an error occurs while reading the certificate
+     * @throws GeneralSecurityException If an error occurs while creating the SSL context
+     */
+    public static SSLSocketFactory getSSLSocketFactory(File crtFile, String protocol,
+                                                       BMap<BString, Object> sessionCacheConfig)
+            throws IOException, GeneralSecurityException {
+        List<Object> key = new ArrayList<>(Arrays.asList(crtFile.getAbsolutePath(), crtFile.lastModified(),
+                crtFile.length(), protocol));
+        key.addAll(getSessionCacheKey(sessionCacheConfig));
+        SSLSocketFactory socketFactory = socketFactories.get(key);
+        if (socketFactory == null) {
+            socketFactory = putSocketFactory(key, createSocketFactory(CommonUtil.createSSLContext(crtFile, protocol),
+                    sessionCacheConfig));
+        }
+        return socketFactory;
+    }
+
+    private static SSLSocketFactory createSocketFactory(SSLContext sslContext,
+                                                        BMap<BString, Object> sessionCacheConfig) {
+        if (sessionCacheConfig != null) {
+            SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+            sessionContext.setSessionCacheSize(sessionCacheConfig.getIntValue(
+                    EmailConstants.TLS_SESSION_CACHE_SIZE).intValue());
+            sessionContext.setSessionTimeout(getTimeoutInSeconds(sessionCacheConfig));
+        }
+        return new ResumableSSLSocketFactory(sslContext);
+    }
+
+    private static SSLSocketFactory putSocketFactory(List<Object> key, SSLSocketFactory socketFactory) {
+        // Concurrent misses may create more than one factory, which is cheaper than holding the lock. Only the cached
+        // factory is returned, so that all the clients share the sessions cached by its SSL context.
+        SSLSocketFactory previous = socketFactories.putIfAbsent(key, socketFactory);
+        return previous == null ? socketFactory : previous;
+    }
+
+    private static List<Object> getSessionCacheKey(BMap<BString, Object> sessionCacheConfig) {
+        if (sessionCacheConfig == null) {
+            return Arrays.asList(null, null);
+        }
+        return Arrays.asList(sessionCacheConfig.getIntValue(EmailConstants.TLS_SESSION_CACHE_SIZE),
+                getTimeoutInSeconds(sessionCacheConfig));
+    }
+
+    private static int getTimeoutInSeconds(BMap<BString, Object> sessionCacheConfig) {
+        return (int) ((BDecimal) sessionCacheConfig.get(EmailConstants.TLS_SESSION_CACHE_TIMEOUT)).floatValue();
+    }
+
+    private static CachedConfig getConfig(List<Object> key, PropertiesLoader loader)
+            throws IOException, GeneralSecurityException {
+        CachedConfig config = configs.get(key);
+        if (config == null) {
+            config = new CachedConfig(loader.load());
+            CachedConfig previous = configs.putIfAbsent(key, config);
+            if (previous != null) {
+                config = previous;
+            } else if (log.isDebugEnabled()) {
+                log.debug("Cached the email client configuration of " + key.get(0) + "://" + key.get(1));
+            }
+        }
+        return config;
+    }
+
+    private static Object getValue(Object value) {
+        return value instanceof BString ? ((BString) value).getValue() : value;
+    }
+
+    private static List<String> toList(BArray array) {
+        return array == null ? null : Arrays.asList(array.getStringArray());
+    }
+
+    private static <V> Map<List<Object>, V> createLruMap() {
+        return Collections.synchronizedMap(new LinkedHashMap<List<Object>, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, V> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+
+    /**
+     * Holds the shared properties and the session of a configuration.
+     */
+    private static class CachedConfig {
+
+        private final Properties properties;
+        private Session session;
+
+        CachedConfig(Properties properties) {
+            this.properties = properties;
+        }
+
+    }
+
+}
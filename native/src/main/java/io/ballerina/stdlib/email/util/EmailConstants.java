@@ -71,6 +71,7 @@ public class EmailConstants {
     public static final BString MESSAGE_REPLY_TO = StringUtils.fromString("replyTo");
     public static final BString MESSAGE_ATTACHMENTS = StringUtils.fromString("attachments");
     public static final BString MESSAGE_HEADERS = StringUtils.fromString("headers");
+    public static final BString MESSAGE_IDEMPOTENCY_KEY = StringUtils.fromString("idempotencyKey");
     public static final BString PROPS_SECURE_SOCKET = StringUtils.fromString("secureSocket");
     public static final BString PROPS_CERTIFICATE = StringUtils.fromString("cert");
     public static final BString PROPS_CERT_PROTOCOL = StringUtils.fromString("protocol");
@@ -90,6 +91,7 @@ public class EmailConstants {
 
     public static final String PROPS_STORE = "store";
     public static final String PROPS_FOLDER = "folder";
+    public static final String PROPS_UID_WATERMARKS = "uidWatermarks";
     public static final String MAIL_STORE_PROTOCOL = "mail.store.protocol";
     public static final String MIME_CONTENT_TYPE_PATTERN = "multipart/*";
     public static final String EMAIL_SERVER_CONNECTOR = "serverConnector";
@@ -147,8 +149,98 @@ public class EmailConstants {
     public static final String PROPS_SMTP_AUTH = "mail.smtp.auth";
     public static final String PROPS_SMTP_STARTTLS = "mail.smtp.starttls.enable";
     public static final String PROPS_SMTP_STARTTLS_REQUIRED = "mail.smtp.starttls.required";
+    public static final String PROPS_SMTP_DSN_NOTIFY = "mail.smtp.dsn.notify";
+    public static final String PROPS_SMTP_CONNECTION_TIMEOUT = "mail.smtp.connectiontimeout";
+    public static final String PROPS_SMTP_CHUNK_SIZE = "mail.smtp.chunksize";
+    public static final String PROPS_SMTP_BINARY_MIME = "mail.smtp.binarymime";
+    public static final String PROPS_SMTP_ALLOW_8BIT_MIME = "mail.smtp.allow8bitmime";
+    public static final String PROPS_MIME_ALLOW_UTF8 = "mail.mime.allowutf8";
+    public static final String PROPS_SMTP_SEND_PARTIAL = "mail.smtp.sendpartial";
+    public static final String SMTP_PROTOCOL = "smtp";
+    public static final String SMTP_EXTENSION_PIPELINING = "PIPELINING";
+    public static final String SMTP_EXTENSION_DSN = "DSN";
+    public static final String SMTP_EXTENSION_CHUNKING = "CHUNKING";
+    public static final String SMTP_EXTENSION_BINARY_MIME = "BINARYMIME";
+    public static final String SMTP_EXTENSION_8BIT_MIME = "8BITMIME";
+    public static final String SMTP_EXTENSION_SMTP_UTF8 = "SMTPUTF8";
+    public static final String PROPS_CONNECTION_FACTORY = "connectionFactory";
+    public static final String PROPS_CONNECTION_POOL = "connectionPool";
+    public static final BString PROPS_POOL_CONFIG = StringUtils.fromString("poolConfig");
+    public static final BString POOL_MAX_ACTIVE_CONNECTIONS = StringUtils.fromString("maxActiveConnections");
+    public static final BString POOL_MAX_IDLE_CONNECTIONS = StringUtils.fromString("maxIdleConnections");
+    public static final BString POOL_WAIT_TIME = StringUtils.fromString("waitTime");
+    public static final BString POOL_MAX_MESSAGES_PER_CONNECTION = StringUtils.fromString("maxMessagesPerConnection");
+    public static final BString POOL_MAX_CONNECTION_LIFETIME = StringUtils.fromString("maxConnectionLifetime");
+    public static final BString POOL_MIN_IDLE_CONNECTIONS = StringUtils.fromString("minIdleConnections");
+    public static final BString POOL_KEEP_ALIVE_INTERVAL = StringUtils.fromString("keepAliveInterval");
+    public static final String PROPS_ASYNC_SENDER = "asyncSender";
+    public static final String PROPS_CLIENT_CLOSED = "clientClosed";
+    public static final BString PROPS_ASYNC_CONFIG = StringUtils.fromString("asyncConfig");
+    public static final BString ASYNC_QUEUE_CAPACITY = StringUtils.fromString("queueCapacity");
+    public static final BString ASYNC_WORKERS = StringUtils.fromString("workers");
+    public static final BString ASYNC_OVERFLOW_POLICY = StringUtils.fromString("overflowPolicy");
+    public static final BString PROPS_MAX_CONNECTIONS = StringUtils.fromString("maxConnections");
+    public static final String PROPS_PARALLEL_SENDER = "parallelSender";
+    public static final BString PROPS_SEND_QUEUE_CONFIG = StringUtils.fromString("sendQueueConfig");
+    public static final BString SEND_QUEUE_BATCH_WINDOW = StringUtils.fromString("batchWindow");
+    public static final BString SEND_QUEUE_MAX_BATCH_SIZE = StringUtils.fromString("maxBatchSize");
+    public static final String OVERFLOW_POLICY_BLOCK = "BLOCK";
+    public static final String OVERFLOW_POLICY_FAIL = "FAIL";
+    public static final String OVERFLOW_POLICY_DROP = "DROP";
+    public static final String PROPS_SPOOL = "spool";
+    public static final BString PROPS_SPOOL_CONFIG = StringUtils.fromString("spoolConfig");
+    public static final BString SPOOL_DIRECTORY = StringUtils.fromString("directory");
+    public static final BString SPOOL_MAX_RETRIES = StringUtils.fromString("maxRetries");
+    public static final BString SPOOL_RETRY_INTERVAL = StringUtils.fromString("retryInterval");
+    public static final BString SPOOL_BACK_OFF_FACTOR = StringUtils.fromString("backOffFactor");
+    public static final BString SPOOL_MAX_RETRY_INTERVAL = StringUtils.fromString("maxRetryInterval");
+    public static final BString PROPS_RATE_LIMIT_CONFIG = StringUtils.fromString("rateLimitConfig");
+    public static final BString RATE_LIMIT_MESSAGES_PER_SECOND = StringUtils.fromString("messagesPerSecond");
+    public static final BString RATE_LIMIT_RECIPIENTS_PER_MINUTE = StringUtils.fromString("recipientsPerMinute");
+    public static final BString PROPS_LOAD_BALANCE_CONFIG = StringUtils.fromString("loadBalanceConfig");
+    public static final BString LOAD_BALANCE_HOSTS = StringUtils.fromString("hosts");
+    public static final BString LOAD_BALANCE_POLICY = StringUtils.fromString("policy");
+    public static final BString LOAD_BALANCE_MAX_FAILURES = StringUtils.fromString("maxFailures");
+    public static final BString LOAD_BALANCE_FAILURE_TIMEOUT = StringUtils.fromString("failureTimeout");
+    public static final BString LOAD_BALANCE_CONNECTION_TIMEOUT = StringUtils.fromString("connectionTimeout");
+    public static final String PROPS_ATTACHMENT_CACHE = "attachmentCache";
+    public static final BString PROPS_ATTACHMENT_CACHE_CONFIG = StringUtils.fromString("attachmentCacheConfig");
+    public static final BString ATTACHMENT_CACHE_MAX_SIZE = StringUtils.fromString("maxSize");
+    public static final BString PROPS_CHUNKING_CONFIG = StringUtils.fromString("chunkingConfig");
+    public static final BString CHUNKING_CHUNK_SIZE = StringUtils.fromString("chunkSize");
+    public static final BString CHUNKING_BINARY_MIME = StringUtils.fromString("binaryMime");
+    public static final BString PROPS_ALLOW_8BIT_MIME = StringUtils.fromString("allow8BitMime");
+    public static final BString PROPS_ALLOW_UTF8 = StringUtils.fromString("allowUtf8");
+    public static final BString PROPS_SEND_PARTIAL = StringUtils.fromString("sendPartial");
+    public static final BString PROPS_DKIM_CONFIG = StringUtils.fromString("dkimConfig");
+    public static final BString DKIM_DOMAIN = StringUtils.fromString("domain");
+    public static final BString DKIM_SELECTOR = StringUtils.fromString("selector");
+    public static final BString DKIM_PRIVATE_KEY = StringUtils.fromString("privateKey");
+    public static final BString DKIM_HEADERS = StringUtils.fromString("headers");
+    public static final BString DKIM_HEADER_CANONICALIZATION = StringUtils.fromString("headerCanonicalization");
+    public static final BString DKIM_BODY_CANONICALIZATION = StringUtils.fromString("bodyCanonicalization");
+    public static final String DKIM_CANONICALIZATION_RELAXED = "RELAXED";
+    public static final String PROPS_IDEMPOTENCY_STORE = "idempotencyStore";
+    public static final BString PROPS_IDEMPOTENCY_CONFIG = StringUtils.fromString("idempotencyConfig");
+    public static final BString IDEMPOTENCY_MAX_KEYS = StringUtils.fromString("maxKeys");
+    public static final BString IDEMPOTENCY_RETENTION = StringUtils.fromString("retention");
+    public static final BString IDEMPOTENCY_FILE = StringUtils.fromString("file");
+    public static final BString PROPS_TLS_SESSION_CACHE_CONFIG = StringUtils.fromString("tlsSessionCacheConfig");
+    public static final BString TLS_SESSION_CACHE_SIZE = StringUtils.fromString("size");
+    public static final BString TLS_SESSION_CACHE_TIMEOUT = StringUtils.fromString("timeout");
 
     public static final String EMAIL_MESSAGE = "Message";
     public static final String ERROR = "Error";
+    public static final String SEND_ERROR = "SendError";
+    public static final String SEND_ERROR_DETAIL = "SendErrorDetail";
+    public static final String SEND_ERROR_SENT_RECIPIENTS = "sentRecipients";
+    public static final String SEND_ERROR_UNSENT_RECIPIENTS = "unsentRecipients";
+    public static final String SEND_ERROR_INVALID_RECIPIENTS = "invalidRecipients";
+    public static final String SEND_ERROR_RECIPIENT_FAILURES = "recipientFailures";
+    public static final String SEND_ERROR_CODE = "code";
+    public static final String RECIPIENT_FAILURE = "RecipientFailure";
+    public static final String RECIPIENT_FAILURE_ADDRESS = "address";
+    public static final String RECIPIENT_FAILURE_CODE = "code";
+    public static final String RECIPIENT_FAILURE_MESSAGE = "message";
 
 }
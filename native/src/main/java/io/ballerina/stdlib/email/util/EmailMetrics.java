@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.util;
+
+import io.ballerina.runtime.observability.ObserveUtils;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import io.ballerina.runtime.observability.metrics.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publishes the metrics of the email module to the Ballerina observability metrics registry. The metrics are
+ * recorded only when the metrics are enabled for the program.
+ *
+ * @since 2.12.1
+ */
+public final class EmailMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailMetrics.class);
+    private static final String TAG_HOST = "host";
+
+    private EmailMetrics() {}
+
+    /**
+     * Returns whether the metrics are enabled for the program.
+     * @return `true` if the metrics are recorded
+     */
+    public static boolean isEnabled() {
+        return ObserveUtils.isMetricsEnabled();
+    }
+
+    /**
+     * Increments a counter of an email server.
+     * @param name Name of the counter
+     * @param description Description of the counter
+     * @param host Host of the email server
+     * @param amount Amount to be added to the counter
+     */
+    public static void incrementCounter(String name, String description, String host, long amount) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            DefaultMetricRegistry.getInstance().counter(new MetricId(name, description, getTags(host)))
+                    .increment(amount);
+        } catch (RuntimeException e) {
+            // Failing to record a metric must not fail sending the message
+            log.debug("Error while recording the metric " + name + " : ", e);
+        }
+    }
+
+    /**
+     * Records a duration in a gauge, which summarizes the recorded durations with percentiles, like a histogram.
+     * @param name Name of the gauge
+     * @param description Description of the gauge
+     * @param tags Tags of the gauge, which must have a bounded number of values
+     * @param durationInNanos Duration to be recorded
+     */
+    public static void recordDuration(String name, String description, Map<String, String> tags,
+                                      long durationInNanos) {
+        if (!isEnabled()) {
+            return;
+        }
+        Set<Tag> metricTags = new HashSet<>();
+        tags.forEach((key, value) -> metricTags.add(new Tag(key, value)));
+        try {
+            DefaultMetricRegistry.getInstance().gauge(new MetricId(name, description, metricTags),
+                    StatisticConfig.DEFAULT).setValue(durationInNanos / 1e9);
+        } catch (RuntimeException e) {
+            // Failing to record a metric must not fail sending the message
+            log.debug("Error while recording the metric " + name + " : ", e);
+        }
+    }
+
+    private static Set<Tag> getTags(String host) {
+        return Collections.singleton(new Tag(TAG_HOST, host));
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.activation.DataSource;
+import javax.mail.EncodingAware;
+import javax.mail.internet.ContentType;
+import javax.mail.internet.ParseException;
+
+/**
+ * A data source, which streams the content of an attachment from a file channel. Each stream reads the channel with
+ * positional reads from the position the channel had when the data source was created, so the content can be read
+ * more than once without being held in memory and without moving the channel of the caller. The channel has to be
+ * kept open until the message is sent, unless the content is copied to a temporary file with {@link #copy()}, such as
+ * for a message sent in the background. The copy is removed when the data source is closed.
+ *
+ * @since 2.12.1
+ */
+public class FileChannelDataSource implements DataSource, EncodingAware, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileChannelDataSource.class);
+    private static final String BASE64 = "base64";
+    private static final String TEMP_FILE_PREFIX = "email-attachment";
+
+    private final String contentType;
+    private FileChannel fileChannel;
+    private long startPosition;
+    private Path tempFile;
+
+    /**
+     * Creates a data source for the content of a file channel from its current position.
+     * @param fileChannel Channel from which the content is read
+     * @param contentType Content type of the attachment
+     * @throws IOException If the position of the channel could not be read
+     */
+    public FileChannelDataSource(FileChannel fileChannel, String contentType) throws IOException {
+        this.fileChannel = fileChannel;
+        this.startPosition = fileChannel.position();
+        this.contentType = contentType;
+    }
+
+    /**
+     * Copies the content to a temporary file, so that the channel of the caller is not used afterwards and can be
+     * closed or reused before the message is sent. The copy is made by the file system without being read to the heap.
+     * @throws IOException If the content of the channel could not be copied
+     */
+    public synchronized void copy() throws IOException {
+        if (tempFile != null) {
+            return;
+        }
+        Path copyFile = Files.createTempFile(TEMP_FILE_PREFIX, null);
+        FileChannel copy = null;
+        try {
+            copy = FileChannel.open(copyFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long position = startPosition;
+            long size = fileChannel.size();
+            while (position < size) {
+                long count = fileChannel.transferTo(position, size - position, copy);
+                if (count <= 0) {
+                    // The file was truncated while it was being copied
+                    break;
+                }
+                position += count;
+            }
+        } catch (IOException | RuntimeException e) {
+            remove(copyFile, copy);
+            throw e;
+        }
+        fileChannel = copy;
+        startPosition = 0;
+        tempFile = copyFile;
+    }
+
+    /**
+     * Removes the temporary copy of the content, if any. The channel of the caller is not closed.
+     */
+    @Override
+    public synchronized void close() {
+        if (tempFile != null) {
+            remove(tempFile, fileChannel);
+            tempFile = null;
+        }
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() {
+        return new FileChannelInputStream(fileChannel, startPosition);
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new IOException("Writing to an attachment channel is not supported.");
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getName() {
+        return null;
+    }
+
+    /**
+     * Returns the transfer encoding of a binary attachment, so that JavaMail does not read the whole channel to
+     * choose the encoding. Text attachments are still checked by JavaMail.
+     * @return `base64` for a binary attachment or else `null`
+     */
+    @Override
+    public String getEncoding() {
+        try {
+            return new ContentType(contentType).match("text/*") ? null : BASE64;
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static void remove(Path file, FileChannel channel) {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Error while removing the temporary attachment file " + file + " : ", e);
+        }
+    }
+
+    /**
+     * An input stream, which reads a file channel from a position without changing the position of the channel.
+     */
+    private static class FileChannelInputStream extends InputStream {
+
+        private final FileChannel fileChannel;
+        private long position;
+
+        FileChannelInputStream(FileChannel fileChannel, long position) {
+            this.fileChannel = fileChannel;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] buffer = new byte[1];
+            return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int count = fileChannel.read(ByteBuffer.wrap(buffer, offset, length), position);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = Math.max(0, Math.min(count, fileChannel.size() - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, fileChannel.size() - position));
+        }
+
+    }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.util;
+
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.mail.Address;
+import javax.mail.BodyPart;
+import javax.mail.Header;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import javax.mail.util.SharedByteArrayInputStream;
+
+/**
+ * A message prepared once from a template `email:Message`, which is merged with the values of each recipient before
+ * it is sent. The `{{name}}` placeholders in the `to` addresses, the subject and the bodies are replaced with the
+ * values. The attachments, and the bodies when they do not have placeholders, are encoded when the template is
+ * prepared and the encoded bytes are shared by all the merged messages.
+ *
+ * @since 2.12.1
+ */
+public class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([^{}\\s]+)\\s*}}");
+    private static final String[] MERGED_HEADERS = {"To", "Subject"};
+
+    private final Session session;
+    private final List<Header> headers;
+    private final List<TemplateText> to;
+    private final TemplateText subject;
+    private final TemplateText body;
+    private final TemplateText htmlBody;
+    private final String bodyContentType;
+    // Encoded body parts of a message with attachments, where the first part is `null` if the bodies are merged
+    private final List<byte[]> encodedParts;
+
+    private MessageTemplate(Session session, List<Header> headers, List<TemplateText> to, TemplateText subject,
+                            TemplateText body, TemplateText htmlBody, String bodyContentType,
+                            List<byte[]> encodedParts) {
+        this.session = session;
+        this.headers = headers;
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+        this.htmlBody = htmlBody;
+        this.bodyContentType = bodyContentType;
+        this.encodedParts = encodedParts;
+    }
+
+    /**
+     * Prepares a template from the fields of an email.
+     * @param session Session to which the merged messages are attached
+     * @param username User who sends the email
+     * @param message Ballerina-typed template message
+     * @param attachmentCache Cache of the encoded file attachments or `null`
+     * @return The prepared template
+     * @throws MessagingException If an error occurs related to messaging operations
+     * @throws IOException If an error occurs while reading the attachments
+     */
+    public static MessageTemplate prepare(Session session, String username, BMap<BString, Object> message,
+                                          AttachmentCache attachmentCache)
+            throws MessagingException, IOException {
+        List<TemplateText> to = new ArrayList<>();
+        for (String address : SmtpUtil.getNullCheckedStringArray(message, EmailConstants.MESSAGE_TO)) {
+            to.add(TemplateText.parse(address));
+        }
+        TemplateText subject = TemplateText.parse(message.getStringValue(EmailConstants.MESSAGE_SUBJECT).getValue());
+        TemplateText body = TemplateText.parse(
+                SmtpUtil.getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_MESSAGE_BODY)));
+        TemplateText htmlBody = TemplateText.parse(
+                SmtpUtil.getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_HTML_MESSAGE_BODY)));
+        String bodyContentType =
+                SmtpUtil.getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_BODY_CONTENT_TYPE));
+        // The static headers are copied as they are to each merged message
+        MimeMessage headerMessage = new MimeMessage(session);
+        SmtpUtil.addAddressAndSubjectHeaders(headerMessage, username, message);
+        SmtpUtil.addMessageHeaders(headerMessage, message);
+        List<Header> headers = Collections.list(headerMessage.getNonMatchingHeaders(MERGED_HEADERS));
+        List<byte[]> encodedParts = null;
+        Object attachments = message.get(EmailConstants.MESSAGE_ATTACHMENTS);
+        if (Objects.nonNull(attachments)) {
+            encodedParts = encodeParts(session, body, htmlBody, attachments, attachmentCache);
+        }
+        return new MessageTemplate(session, headers, to, subject, body, htmlBody, bodyContentType, encodedParts);
+    }
+
+    /**
+     * Generates a message by replacing the placeholders of the template with the given values.
+     * @param values Values of the placeholders
+     * @return The merged message
+     * @throws MessagingException If a placeholder does not have a value or a merged address is invalid
+     */
+    public MimeMessage merge(BMap<BString, BString> values) throws MessagingException {
+        Map<String, String> valueMap = new HashMap<>();
+        for (BString key : values.getKeys()) {
+            valueMap.put(key.getValue(), values.get(key).getValue());
+        }
+        MimeMessage emailMessage = new MimeMessage(session);
+        for (Header header : headers) {
+            emailMessage.addHeader(header.getName(), header.getValue());
+        }
+        Address[] toAddressArray = new Address[to.size()];
+        for (int i = 0; i < toAddressArray.length; i++) {
+            toAddressArray[i] = new InternetAddress(to.get(i).merge(valueMap));
+        }
+        emailMessage.setRecipients(Message.RecipientType.TO, toAddressArray);
+        emailMessage.setSubject(subject.merge(valueMap));
+        if (encodedParts == null) {
+            SmtpUtil.setBody(emailMessage, body.merge(valueMap), htmlBody.merge(valueMap), bodyContentType);
+            setEightBitEncoding(emailMessage);
+            return emailMessage;
+        }
+        MimeMultipart multipart = new MimeMultipart("mixed");
+        for (byte[] encodedPart : encodedParts) {
+            if (encodedPart == null) {
+                SmtpUtil.addMultipartChild(multipart, SmtpUtil.getAlternativeContentFromTextAndHtml(
+                        body.merge(valueMap), htmlBody.merge(valueMap)));
+            } else {
+                // The part is parsed lazily from the shared bytes, so its content is written without re-encoding
+                multipart.addBodyPart(new MimeBodyPart(new SharedByteArrayInputStream(encodedPart)));
+            }
+        }
+        emailMessage.setContent(multipart);
+        setEightBitEncoding(emailMessage);
+        return emailMessage;
+    }
+
+    // Only the merged parts are sent as 8-bit data, as the encoded parts are shared by the servers without `8BITMIME`
+    private void setEightBitEncoding(MimeMessage emailMessage) throws MessagingException {
+        if (!SmtpUtil.isEightBitMimeAllowed(session)) {
+            return;
+        }
+        try {
+            SmtpUtil.setEightBitEncoding(emailMessage);
+        } catch (IOException e) {
+            throw new MessagingException("Error while reading the content of the message.", e);
+        }
+    }
+
+    private static List<byte[]> encodeParts(Session session, TemplateText body, TemplateText htmlBody,
+                                            Object attachments, AttachmentCache attachmentCache)
+            throws MessagingException, IOException {
+        MimeMessage encodedMessage = new MimeMessage(session);
+        SmtpUtil.addBodyAndAttachments(encodedMessage, body.getText(), htmlBody.getText(), attachments,
+                attachmentCache);
+        // Saving the changes chooses the transfer encoding and the boundaries of each part
+        encodedMessage.saveChanges();
+        MimeMultipart multipart = (MimeMultipart) encodedMessage.getContent();
+        List<byte[]> encodedParts = new ArrayList<>(multipart.getCount());
+        for (int i = 0; i < multipart.getCount(); i++) {
+            if (i == 0 && (body.hasPlaceholders() || htmlBody.hasPlaceholders())) {
+                encodedParts.add(null);
+                continue;
+            }
+            BodyPart part = multipart.getBodyPart(i);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            part.writeTo(outputStream);
+            encodedParts.add(outputStream.toByteArray());
+        }
+        return encodedParts;
+    }
+
+    /**
+     * A text split into the literal segments and the names of the placeholders in between.
+     */
+    private static class TemplateText {
+
+        private final String text;
+        private final List<String> segments;
+
+        private TemplateText(String text, List<String> segments) {
+            this.text = text;
+            this.segments = segments;
+        }
+
+        static TemplateText parse(String text) {
+            // Segments at even indexes are literals and segments at odd indexes are placeholder names
+            List<String> segments = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            int start = 0;
+            while (matcher.find()) {
+                segments.add(text.substring(start, matcher.start()));
+                segments.add(matcher.group(1));
+                start = matcher.end();
+            }
+            segments.add(text.substring(start));
+            return new TemplateText(text, segments);
+        }
+
+        boolean hasPlaceholders() {
+            return segments.size() > 1;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        String merge(Map<String, String> values) throws MessagingException {
+            if (!hasPlaceholders()) {
+                return text;
+            }
+            StringBuilder builder = new StringBuilder(text.length());
+            for (int i = 0; i < segments.size(); i++) {
+                String segment = segments.get(i);
+                if (i % 2 == 0) {
+                    builder.append(segment);
+                    continue;
+                }
+                String value = values.get(segment);
+                if (value == null) {
+                    throw new MessagingException("No value is given for the placeholder: " + segment);
+                }
+                builder.append(value);
+            }
+            return builder.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.util;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * An SSL socket factory of an SSL context, which is shared by the clients with the same security configuration, so
+ * that a reconnection resumes a TLS session cached by an earlier connection instead of doing a full handshake. The
+ * number of the handshakes and of the resumed handshakes are published as metrics when the metrics are enabled.
+ *
+ * @since 2.12.1
+ */
+public class ResumableSSLSocketFactory extends SSLSocketFactory {
+
+    private static final String HANDSHAKES_METRIC = "email_tls_handshakes_total";
+    private static final String RESUMED_HANDSHAKES_METRIC = "email_tls_resumed_handshakes_total";
+    private static final String UNKNOWN_HOST = "unknown";
+
+    private final SSLSocketFactory socketFactory;
+
+    /**
+     * Creates a socket factory of an SSL context.
+     * @param sslContext SSL context, whose client session cache is shared by the created sockets
+     */
+    public ResumableSSLSocketFactory(SSLContext sslContext) {
+        this.socketFactory = sslContext.getSocketFactory();
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+        return socketFactory.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+        return socketFactory.getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return track(socketFactory.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException {
+        return track(socketFactory.createSocket(socket, host, port, autoClose));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return track(socketFactory.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return track(socketFactory.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return track(socketFactory.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+            throws IOException {
+        return track(socketFactory.createSocket(address, port, localAddress, localPort));
+    }
+
+    private static Socket track(Socket socket) {
+        if (socket instanceof SSLSocket && EmailMetrics.isEnabled()) {
+            long creationTime = System.currentTimeMillis();
+            ((SSLSocket) socket).addHandshakeCompletedListener(
+                    event -> recordHandshake(event.getSession(), creationTime));
+        }
+        return socket;
+    }
+
+    private static void recordHandshake(SSLSession session, long socketCreationTime) {
+        String host = session.getPeerHost() == null ? UNKNOWN_HOST : session.getPeerHost();
+        EmailMetrics.incrementCounter(HANDSHAKES_METRIC, "Number of TLS handshakes with the email servers", host, 1);
+        // A resumed session keeps the creation time of the session, which was established by an earlier connection
+        if (session.getCreationTime() < socketCreationTime) {
+            EmailMetrics.incrementCounter(RESUMED_HANDSHAKES_METRIC,
+                    "Number of TLS handshakes with the email servers, which resumed a cached session", host, 1);
+        }
+    }
+
+}
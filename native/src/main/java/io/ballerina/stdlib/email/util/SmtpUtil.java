@@ -34,22 +34,32 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 
 import javax.activation.DataHandler;
+import javax.activation.DataSource;
 import javax.mail.Address;
 import javax.mail.Message;
 import javax.mail.MessagingException;
 import javax.mail.Multipart;
+import javax.mail.Part;
 import javax.mail.Session;
 import javax.mail.internet.AddressException;
+import javax.mail.internet.ContentType;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
+import javax.mail.internet.MimePart;
+import javax.mail.internet.MimePartDataSource;
 import javax.mail.util.ByteArrayDataSource;
 import javax.net.ssl.SSLSocketFactory;
 
@@ -79,16 +89,38 @@ public final class SmtpUtil {
     private SmtpUtil() {}
 
     private static final Logger log = LoggerFactory.getLogger(SmtpUtil.class);
+    // File attachments larger than this are streamed from the file instead of being read into the memory
+    private static final long STREAMING_THRESHOLD_IN_BYTES = 1024 * 1024;
+    private static final String MULTIPART_TYPE = "multipart/*";
+    private static final String TEXT_TYPE = "text/*";
+    private static final String CONTENT_TRANSFER_ENCODING = "Content-Transfer-Encoding";
+    private static final String ENCODING_8BIT = "8bit";
 
     /**
      * Generates the Properties object using the passed BMap.
      *
      * @param smtpConfig BMap with the configuration values
      * @param host Host address of the SMTP server
-     * @return Properties Set of properties required to connect to an SMTP server
+     * @return Properties Set of properties required to connect to an SMTP server, which are shared by the clients
+     * with the same configuration and must not be modified
      */
     public static Properties getProperties(BMap<BString, Object> smtpConfig, String host)
             throws IOException, GeneralSecurityException {
+        BMap<BString, Object> chunkingConfig =
+                (BMap<BString, Object>) smtpConfig.getMapValue(EmailConstants.PROPS_CHUNKING_CONFIG);
+        List<Object> key = EmailConfigCache.getConfigKey(EmailConstants.SMTP_PROTOCOL, host, smtpConfig,
+                chunkingConfig == null ? null : chunkingConfig.getIntValue(EmailConstants.CHUNKING_CHUNK_SIZE),
+                chunkingConfig == null ? null : chunkingConfig.getBooleanValue(EmailConstants.CHUNKING_BINARY_MIME),
+                smtpConfig.getBooleanValue(EmailConstants.PROPS_ALLOW_8BIT_MIME),
+                smtpConfig.getBooleanValue(EmailConstants.PROPS_ALLOW_UTF8),
+                smtpConfig.getBooleanValue(EmailConstants.PROPS_SEND_PARTIAL));
+        return EmailConfigCache.getProperties(key, () -> createProperties(smtpConfig, host));
+    }
+
+    private static Properties createProperties(BMap<BString, Object> smtpConfig, String host)
+            throws IOException, GeneralSecurityException {
+        BMap<BString, Object> sessionCacheConfig = (BMap<BString, Object>) smtpConfig.getMapValue(
+                EmailConstants.PROPS_TLS_SESSION_CACHE_CONFIG);
         Properties properties = new Properties();
         properties.put(EmailConstants.PROPS_SMTP_HOST, host);
         properties.put(EmailConstants.PROPS_SMTP_PORT, Long.toString(
@@ -106,20 +138,40 @@ public final class SmtpUtil {
                     properties.put(EmailConstants.PROPS_SMTP_STARTTLS, "true");
                     properties.put(EmailConstants.PROPS_SMTP_STARTTLS_REQUIRED, "true");
                     properties.put(EmailConstants.PROPS_SMTP_ENABLE_SSL, "false");
-                    addBasicTransportSecurityProperties(CommonUtil.createDefaultSSLSocketFactory(), properties);
+                    addBasicTransportSecurityProperties(
+                            EmailConfigCache.getDefaultSSLSocketFactory(sessionCacheConfig), properties);
                     break;
                 case PROPS_START_TLS_NEVER:
                     properties.put(EmailConstants.PROPS_SMTP_STARTTLS, "false");
                     properties.put(EmailConstants.PROPS_SMTP_ENABLE_SSL, "false");
                     break;
                 default:
-                    addBasicTransportSecurityProperties(CommonUtil.createDefaultSSLSocketFactory(), properties);
+                    addBasicTransportSecurityProperties(
+                            EmailConfigCache.getDefaultSSLSocketFactory(sessionCacheConfig), properties);
             }
         } else {
-            addBasicTransportSecurityProperties(CommonUtil.createDefaultSSLSocketFactory(), properties);
+            addBasicTransportSecurityProperties(
+                    EmailConfigCache.getDefaultSSLSocketFactory(sessionCacheConfig), properties);
         }
         addCertificate((BMap<BString, Object>) smtpConfig.getMapValue(EmailConstants.PROPS_SECURE_SOCKET),
-                properties);
+                sessionCacheConfig, properties);
+        BMap<BString, Object> chunkingConfig =
+                (BMap<BString, Object>) smtpConfig.getMapValue(EmailConstants.PROPS_CHUNKING_CONFIG);
+        if (chunkingConfig != null) {
+            properties.put(EmailConstants.PROPS_SMTP_CHUNK_SIZE, Long.toString(
+                    chunkingConfig.getIntValue(EmailConstants.CHUNKING_CHUNK_SIZE)));
+            properties.put(EmailConstants.PROPS_SMTP_BINARY_MIME, Boolean.toString(
+                    chunkingConfig.getBooleanValue(EmailConstants.CHUNKING_BINARY_MIME)));
+        }
+        if (Boolean.TRUE.equals(smtpConfig.getBooleanValue(EmailConstants.PROPS_ALLOW_8BIT_MIME))) {
+            properties.put(EmailConstants.PROPS_SMTP_ALLOW_8BIT_MIME, "true");
+        }
+        if (Boolean.TRUE.equals(smtpConfig.getBooleanValue(EmailConstants.PROPS_ALLOW_UTF8))) {
+            properties.put(EmailConstants.PROPS_MIME_ALLOW_UTF8, "true");
+        }
+        if (Boolean.TRUE.equals(smtpConfig.getBooleanValue(EmailConstants.PROPS_SEND_PARTIAL))) {
+            properties.put(EmailConstants.PROPS_SMTP_SEND_PARTIAL, "true");
+        }
         printDebugLogs(properties);
         return properties;
     }
@@ -136,21 +188,102 @@ public final class SmtpUtil {
      */
     public static MimeMessage generateMessage(Session session, String username, BMap<BString, Object> message)
             throws MessagingException, IOException {
+        return generateMessage(session, username, message, null);
+    }
+
+    /**
+     * Generates a MIME message to be sent as an email, reusing the encoded file attachments in the given cache.
+     *
+     * @param session Session to which the message is attached
+     * @param username User who sends the email
+     * @param message Ballerina-typed data object
+     * @param attachmentCache Cache of the encoded file attachments or `null`
+     * @return MimeMessage Email message as a MIME message
+     * @throws MessagingException If an error occurs related to messaging operations
+     * @throws IOException If an error occurs related to I/O operations
+     */
+    public static MimeMessage generateMessage(Session session, String username, BMap<BString, Object> message,
+                                              AttachmentCache attachmentCache)
+            throws MessagingException, IOException {
         Address[] toAddressArray = extractAddressLists(message, EmailConstants.MESSAGE_TO);
+        String messageBody = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_MESSAGE_BODY));
+        String htmlMessageBody = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_HTML_MESSAGE_BODY));
+        String bodyContentType = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_BODY_CONTENT_TYPE));
+        MimeMessage emailMessage = new MimeMessage(session);
+        emailMessage.setRecipients(Message.RecipientType.TO, toAddressArray);
+        addAddressAndSubjectHeaders(emailMessage, username, message);
+        Object attachments = message.get(EmailConstants.MESSAGE_ATTACHMENTS);
+        if (Objects.isNull(attachments)) {
+            setBody(emailMessage, messageBody, htmlMessageBody, bodyContentType);
+        } else {
+            addBodyAndAttachments(emailMessage, messageBody, htmlMessageBody, attachments, attachmentCache);
+        }
+        addMessageHeaders(emailMessage, message);
+        if (isEightBitMimeAllowed(session)) {
+            setEightBitEncoding(emailMessage);
+        }
+        return emailMessage;
+    }
+
+    static boolean isEightBitMimeAllowed(Session session) {
+        return Boolean.parseBoolean(session.getProperty(EmailConstants.PROPS_SMTP_ALLOW_8BIT_MIME));
+    }
+
+    /**
+     * Sets the `8bit` transfer encoding to the text parts, which can be sent without encoding to a server supporting
+     * the `8BITMIME` extension. That is, the parts with non-ASCII characters, but without NUL characters or lines
+     * longer than 998 bytes. Other parts keep the encoding chosen by JavaMail.
+     *
+     * @param part Message or body part
+     * @throws MessagingException If an error occurs related to messaging operations
+     * @throws IOException If an error occurs while reading the content of a part
+     */
+    static void setEightBitEncoding(Part part) throws MessagingException, IOException {
+        if (isEncodedStream(part)) {
+            return;
+        }
+        // The content type headers are not set until the changes of the message are saved
+        ContentType contentType = new ContentType(part.getDataHandler().getContentType());
+        if (contentType.match(MULTIPART_TYPE)) {
+            Object content = part.getContent();
+            if (content instanceof Multipart) {
+                Multipart multipart = (Multipart) content;
+                for (int i = 0; i < multipart.getCount(); i++) {
+                    setEightBitEncoding(multipart.getBodyPart(i));
+                }
+            }
+        } else if (contentType.match(TEXT_TYPE) && part instanceof MimePart) {
+            EightBitContentChecker checker = new EightBitContentChecker();
+            part.getDataHandler().writeTo(checker);
+            if (checker.isEightBit()) {
+                part.setHeader(CONTENT_TRANSFER_ENCODING, ENCODING_8BIT);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a part is parsed from an already encoded stream, in which case its content is copied as it is
+     * and its transfer encoding cannot be changed.
+     *
+     * @param part Message or body part
+     * @return Whether the part is read from an encoded stream
+     * @throws MessagingException If an error occurs related to messaging operations
+     */
+    public static boolean isEncodedStream(Part part) throws MessagingException {
+        return part.getDataHandler().getDataSource() instanceof MimePartDataSource;
+    }
+
+    static void addAddressAndSubjectHeaders(MimeMessage emailMessage, String username, BMap<BString, Object> message)
+            throws MessagingException {
         Address[] ccAddressArray = extractAddressLists(message, EmailConstants.MESSAGE_CC);
         Address[] bccAddressArray = extractAddressLists(message, EmailConstants.MESSAGE_BCC);
         Address[] replyToAddressArray = extractAddressLists(message, EmailConstants.MESSAGE_REPLY_TO);
         String subject = message.getStringValue(EmailConstants.MESSAGE_SUBJECT).getValue();
-        String messageBody = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_MESSAGE_BODY));
-        String htmlMessageBody = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_HTML_MESSAGE_BODY));
-        String bodyContentType = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_BODY_CONTENT_TYPE));
         String fromAddress = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_FROM));
         if (fromAddress == null || fromAddress.isEmpty()) {
             fromAddress = username;
         }
         String senderAddress = getNullCheckedString(message.getStringValue(EmailConstants.MESSAGE_SENDER));
-        MimeMessage emailMessage = new MimeMessage(session);
-        emailMessage.setRecipients(Message.RecipientType.TO, toAddressArray);
         if (ccAddressArray.length > 0) {
             emailMessage.setRecipients(Message.RecipientType.CC, ccAddressArray);
         }
@@ -165,26 +298,23 @@ public final class SmtpUtil {
         if (!senderAddress.isEmpty()) {
             emailMessage.setSender(new InternetAddress(senderAddress));
         }
-        Object attachments = message.get(EmailConstants.MESSAGE_ATTACHMENTS);
-        if (Objects.isNull(attachments)) {
-            boolean hasTextBody = !messageBody.isEmpty();
-            boolean hasHtmlBody = !htmlMessageBody.isEmpty();
-            String contentType = retrieveContentType(bodyContentType, hasTextBody, hasHtmlBody);
-            if (hasTextBody && !hasHtmlBody) {
-                emailMessage.setContent(messageBody, contentType);
-            } else if (hasHtmlBody && !hasTextBody) {
-                emailMessage.setContent(htmlMessageBody, contentType);
-            } else if (hasTextBody) { // hasHtmlBody is also implicitly true
-                emailMessage.setContent(getAlternativeContentFromTextAndHtml(messageBody, htmlMessageBody));
-            } else {
-                // set `CRLF` for empty body
-                emailMessage.setContent("\r\n", TEXT_PLAIN);
-            }
+    }
+
+    static void setBody(MimeMessage emailMessage, String messageBody, String htmlMessageBody, String bodyContentType)
+            throws MessagingException {
+        boolean hasTextBody = !messageBody.isEmpty();
+        boolean hasHtmlBody = !htmlMessageBody.isEmpty();
+        String contentType = retrieveContentType(bodyContentType, hasTextBody, hasHtmlBody);
+        if (hasTextBody && !hasHtmlBody) {
+            emailMessage.setContent(messageBody, contentType);
+        } else if (hasHtmlBody && !hasTextBody) {
+            emailMessage.setContent(htmlMessageBody, contentType);
+        } else if (hasTextBody) { // hasHtmlBody is also implicitly true
+            emailMessage.setContent(getAlternativeContentFromTextAndHtml(messageBody, htmlMessageBody));
         } else {
-            addBodyAndAttachments(emailMessage, messageBody, htmlMessageBody, attachments);
+            // set `CRLF` for empty body
+            emailMessage.setContent("\r\n", TEXT_PLAIN);
         }
-        addMessageHeaders(emailMessage, message);
-        return emailMessage;
     }
 
     private static String retrieveContentType(String providedContentType, boolean hasTextBody, boolean hasHtmlBody) {
@@ -194,7 +324,8 @@ public final class SmtpUtil {
         return hasTextBody && !hasHtmlBody ? TEXT_PLAIN : hasHtmlBody && !hasTextBody ? HTML_CONTENT_TYPE : TEXT_PLAIN;
     }
 
-    protected static void addCertificate(BMap<BString, Object> secureSocket, Properties properties)
+    protected static void addCertificate(BMap<BString, Object> secureSocket,
+                                         BMap<BString, Object> sessionCacheConfig, Properties properties)
             throws IOException, GeneralSecurityException {
         if (secureSocket != null) {
             String protocolName = null;
@@ -214,8 +345,8 @@ public final class SmtpUtil {
                 supportedCiphers = ciphers.getStringArray();
             }
             certificatePath = secureSocket.getStringValue(PROPS_CERTIFICATE).getValue();
-            SSLSocketFactory sslSocketFactory = CommonUtil.createSSLSocketFactory(new File(certificatePath),
-                    protocolName);
+            SSLSocketFactory sslSocketFactory = EmailConfigCache.getSSLSocketFactory(new File(certificatePath),
+                    protocolName, sessionCacheConfig);
             addBasicTransportSecurityProperties(sslSocketFactory, properties);
             if (protocolVersions != null) {
                 properties.put(EmailConstants.PROPS_SMTP_PROTOCOLS, String.join(" ", protocolVersions));
@@ -243,7 +374,7 @@ public final class SmtpUtil {
         properties.put(EmailConstants.PROPS_SMTP_STARTTLS, "true");
     }
 
-    private static void addMessageHeaders(MimeMessage emailMessage, BMap<BString, Object> message)
+    static void addMessageHeaders(MimeMessage emailMessage, BMap<BString, Object> message)
             throws MessagingException {
         BMap<BString, BString> headers =
                 (BMap<BString, BString>) message.getMapValue(EmailConstants.MESSAGE_HEADERS);
@@ -255,8 +386,8 @@ public final class SmtpUtil {
         }
     }
 
-    private static void addBodyAndAttachments(MimeMessage emailMessage, String messageBody, String htmlMessageBody,
-                                              Object attachments)
+    static void addBodyAndAttachments(MimeMessage emailMessage, String messageBody, String htmlMessageBody,
+                                      Object attachments, AttachmentCache attachmentCache)
             throws MessagingException, IOException {
         Multipart multipart = new MimeMultipart("mixed");
         addMultipartChild(multipart, getAlternativeContentFromTextAndHtml(messageBody, htmlMessageBody));
@@ -265,21 +396,22 @@ public final class SmtpUtil {
             BArray attachmentArray = (BArray) attachments;
             for (int i = 0; i < attachmentArray.size(); i++) {
                 Object attachedEntityOrRecord = attachmentArray.get(i);
-                addAttachment(attachedEntityOrRecord, multipart);
+                addAttachment(attachedEntityOrRecord, multipart, attachmentCache);
             }
         } else {
-            addAttachment(attachments, multipart);
+            addAttachment(attachments, multipart, attachmentCache);
         }
         emailMessage.setContent(multipart);
     }
 
-    private static void addMultipartChild(Multipart parent, MimeMultipart child) throws MessagingException {
+    static void addMultipartChild(Multipart parent, MimeMultipart child) throws MessagingException {
         final MimeBodyPart mbp = new MimeBodyPart();
         parent.addBodyPart(mbp);
         mbp.setContent(child);
     }
 
-    private static void addAttachment(Object attachedEntityOrRecord, Multipart multipart)
+    private static void addAttachment(Object attachedEntityOrRecord, Multipart multipart,
+                                      AttachmentCache attachmentCache)
             throws IOException, MessagingException {
         if (attachedEntityOrRecord instanceof BObject) {
             BObject mimeEntity = (BObject) attachedEntityOrRecord;
@@ -302,7 +434,7 @@ public final class SmtpUtil {
             if (attachmentContentType.startsWith(MimeConstants.MULTIPART_AS_PRIMARY_TYPE)) {
                 multipart.addBodyPart(populateMultipart(mimeEntity));
             } else {
-                multipart.addBodyPart(buildJavaMailBodyPart(file));
+                multipart.addBodyPart(buildJavaMailBodyPart(file, attachmentCache));
             }
         }
     }
@@ -330,8 +462,16 @@ public final class SmtpUtil {
         MimeBodyPart attachmentBodyPart = new MimeBodyPart();
         Channel channel = EntityBodyHandler.getByteChannel(mimeEntity);
         if (channel != null) {
-            InputStream inputStream = channel.getInputStream();
-            ByteArrayDataSource ds = new ByteArrayDataSource(inputStream, contentType);
+            ByteChannel byteChannel = channel.getByteChannel();
+            DataSource ds;
+            if (byteChannel instanceof FileChannel
+                    && ((FileChannel) byteChannel).size() > STREAMING_THRESHOLD_IN_BYTES) {
+                // Large files are streamed from the channel while the message is written, instead of being buffered
+                ds = new FileChannelDataSource((FileChannel) byteChannel, contentType);
+            } else {
+                InputStream inputStream = channel.getInputStream();
+                ds = new ByteArrayDataSource(inputStream, contentType);
+            }
             attachmentBodyPart.setDataHandler(new DataHandler(ds));
         } else {
             if (CommonUtil.isTextBased(contentType)) {
@@ -345,8 +485,63 @@ public final class SmtpUtil {
         return attachmentBodyPart;
     }
 
-    private static MimeBodyPart buildJavaMailBodyPart(File file)
+    /**
+     * Copies the attachments streamed from the file channels of a message to temporary files, so that the caller can
+     * close or reuse its channels before the message is sent in the background. The copies are removed with
+     * {@link #removeAttachmentCopies(List)} once the message is sent or failed.
+     *
+     * @param part Message or body part
+     * @return The data sources, whose content is copied
+     * @throws MessagingException If an error occurs related to messaging operations
+     * @throws IOException If an attachment could not be copied
+     */
+    public static List<FileChannelDataSource> copyStreamedAttachments(Part part)
             throws MessagingException, IOException {
+        List<FileChannelDataSource> copies = new ArrayList<>();
+        try {
+            copyStreamedAttachments(part, copies);
+        } catch (MessagingException | IOException | RuntimeException e) {
+            removeAttachmentCopies(copies);
+            throw e;
+        }
+        return copies;
+    }
+
+    /**
+     * Removes the temporary copies of the attachments of a message.
+     *
+     * @param copies Data sources returned by {@link #copyStreamedAttachments(Part)}
+     */
+    public static void removeAttachmentCopies(List<FileChannelDataSource> copies) {
+        for (FileChannelDataSource copy : copies) {
+            copy.close();
+        }
+    }
+
+    private static void copyStreamedAttachments(Part part, List<FileChannelDataSource> copies)
+            throws MessagingException, IOException {
+        DataHandler dataHandler = part.getDataHandler();
+        DataSource dataSource = dataHandler.getDataSource();
+        if (dataSource instanceof FileChannelDataSource) {
+            ((FileChannelDataSource) dataSource).copy();
+            copies.add((FileChannelDataSource) dataSource);
+        } else if (new ContentType(dataHandler.getContentType()).match(EmailConstants.MIME_CONTENT_TYPE_PATTERN)) {
+            // The content type of the handler is checked, as the headers of the part are not updated yet
+            Object content = dataHandler.getContent();
+            if (content instanceof Multipart) {
+                Multipart multipart = (Multipart) content;
+                for (int i = 0; i < multipart.getCount(); i++) {
+                    copyStreamedAttachments(multipart.getBodyPart(i), copies);
+                }
+            }
+        }
+    }
+
+    private static MimeBodyPart buildJavaMailBodyPart(File file, AttachmentCache attachmentCache)
+            throws MessagingException, IOException {
+        if (file != null && attachmentCache != null) {
+            return attachmentCache.getBodyPart(file);
+        }
         MimeBodyPart attachmentBodyPart = new MimeBodyPart();
         if (file != null) {
             attachmentBodyPart.attachFile(file);
@@ -383,7 +578,7 @@ public final class SmtpUtil {
         return addressArray;
     }
 
-    private static String[] getNullCheckedStringArray(BMap<BString, Object> mapValue, BString parameter) {
+    static String[] getNullCheckedStringArray(BMap<BString, Object> mapValue, BString parameter) {
         if (mapValue != null) {
             Object parameterValue = mapValue.get(parameter);
             if (parameterValue != null) {
@@ -402,7 +597,7 @@ public final class SmtpUtil {
         }
     }
 
-    private static MimeMultipart getAlternativeContentFromTextAndHtml(String textContent, String htmlContent)
+    static MimeMultipart getAlternativeContentFromTextAndHtml(String textContent, String htmlContent)
             throws MessagingException {
         MimeMultipart multipart = new MimeMultipart("alternative");
         MimeBodyPart messageBodyPart = new MimeBodyPart();
@@ -414,7 +609,7 @@ public final class SmtpUtil {
         return multipart;
     }
 
-    private static String getNullCheckedString(BString string) {
+    static String getNullCheckedString(BString string) {
         return string == null ? "" : string.getValue();
     }
 
@@ -434,4 +629,42 @@ public final class SmtpUtil {
         }
     }
 
+    /**
+     * Output stream, which checks whether the written text is non-ASCII, but can be sent as 8-bit data.
+     */
+    private static class EightBitContentChecker extends OutputStream {
+
+        private static final int MAX_LINE_LENGTH = 998;
+
+        private boolean nonAscii = false;
+        private boolean valid = true;
+        private int lineLength = 0;
+
+        @Override
+        public void write(int b) {
+            if (b == '\r' || b == '\n') {
+                lineLength = 0;
+                return;
+            }
+            if (b == 0 || ++lineLength > MAX_LINE_LENGTH) {
+                valid = false;
+            }
+            if ((b & 0x80) != 0) {
+                nonAscii = true;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length && valid; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        boolean isEightBit() {
+            return nonAscii && valid;
+        }
+
+    }
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.util.Properties;
+
+import javax.mail.Flags;
+import javax.mail.Folder;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Store;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import javax.mail.search.SubjectTerm;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for reading the emails of an IMAP folder incrementally, while another client changes the folder.
+ *
+ * @since 2.12.1
+ */
+public final class ImapIncrementalEmailReceiveTest {
+
+    private ImapIncrementalEmailReceiveTest() {}
+
+    private static final int PORT_NUMBER = 3146;
+    private static final String HOST_NAME = "127.0.0.1";
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode@localhost";
+    private static final String EMAIL_FROM = "someone@localhost.com";
+    private static final String EMAIL_SUBJECT = "Incremental E-Mail ";
+    private static final String EMAIL_TEXT = "This is a test e-mail.";
+    private static final String INBOX = "INBOX";
+    private static GreenMailUser user;
+    private static GreenMail mailServer;
+
+    public static Object startIncrementalImapServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_IMAP));
+        mailServer.start();
+        user = mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopIncrementalImapServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object sendIncrementalEmails(long firstIndex, long messageCount) {
+        try {
+            for (long i = firstIndex; i < firstIndex + messageCount; i++) {
+                MimeMessage message = new MimeMessage((Session) null);
+                message.setFrom(new InternetAddress(EMAIL_FROM));
+                message.addRecipient(Message.RecipientType.TO, new InternetAddress(EMAIL_USER_ADDRESS));
+                message.setSubject(EMAIL_SUBJECT + i);
+                message.setText(EMAIL_TEXT);
+                user.deliver(message);
+            }
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while sending email: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // Deletes and expunges an email with another IMAP client, while the folder is open in the client under test
+    public static Object expungeIncrementalEmail(long index) {
+        Store store = null;
+        try {
+            store = connect();
+            Folder folder = store.getFolder(INBOX);
+            folder.open(Folder.READ_WRITE);
+            Message[] messages = folder.search(new SubjectTerm(EMAIL_SUBJECT + index));
+            folder.setFlags(messages, new Flags(Flags.Flag.DELETED), true);
+            folder.close(true);
+            return null;
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while expunging email: " + e.getMessage());
+        } finally {
+            close(store);
+        }
+    }
+
+    public static Object createIncrementalFolder(BString folderName) {
+        Store store = null;
+        try {
+            store = connect();
+            assertTrue(store.getFolder(folderName.getValue()).create(Folder.HOLDS_MESSAGES));
+            return null;
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while creating folder: " + e.getMessage());
+        } finally {
+            close(store);
+        }
+    }
+
+    private static Store connect() throws MessagingException {
+        Store store = Session.getInstance(new Properties()).getStore(EmailConstants.IMAP_PROTOCOL);
+        store.connect(HOST_NAME, PORT_NUMBER, USER_NAME, USER_PASSWORD);
+        return store;
+    }
+
+    private static void close(Store store) {
+        if (store != null) {
+            try {
+                store.close();
+            } catch (MessagingException e) {
+                // The test does not depend on closing the store
+            }
+        }
+    }
+
+}
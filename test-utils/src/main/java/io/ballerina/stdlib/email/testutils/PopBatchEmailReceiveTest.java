@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Test class for reading a batch of emails with the POP client.
+ *
+ * @since 2.12.1
+ */
+public final class PopBatchEmailReceiveTest {
+
+    private PopBatchEmailReceiveTest() {}
+
+    private static final int PORT_NUMBER = 3111;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode@localhost";
+    private static final String EMAIL_FROM = "someone@localhost.com";
+    private static final String EMAIL_SUBJECT = "Batch E-Mail ";
+    private static final String EMAIL_TEXT = "This is a test e-mail.";
+    private static GreenMailUser user;
+    private static GreenMail mailServer;
+
+    public static Object startBatchPopServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_POP3));
+        mailServer.start();
+        user = mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopBatchPopServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object sendBatchEmailsPopServer(long messageCount) {
+        try {
+            for (int i = 0; i < messageCount; i++) {
+                MimeMessage message = new MimeMessage((Session) null);
+                message.setFrom(new InternetAddress(EMAIL_FROM));
+                message.addRecipient(Message.RecipientType.TO, new InternetAddress(EMAIL_USER_ADDRESS));
+                message.setSubject(EMAIL_SUBJECT + i);
+                message.setText(EMAIL_TEXT);
+                user.deliver(message);
+            }
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while sending email: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
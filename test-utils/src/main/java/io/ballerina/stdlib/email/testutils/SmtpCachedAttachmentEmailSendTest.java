@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending emails with an attachment from the attachment cache.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpCachedAttachmentEmailSendTest {
+
+    private SmtpCachedAttachmentEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3036;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_SUBJECT_PREFIX = "Cached Attachment E-Mail ";
+    private static final String ATTACHMENT_FILE_NAME = "corona_virus.jpg";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startCachedAttachmentSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopCachedAttachmentSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateCachedAttachmentEmails(long messageCount) {
+        // The server may still be storing the last message after acknowledging it
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, (int) messageCount);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals((int) messageCount, messages.length);
+        byte[] attachment = null;
+        Set<String> messageIds = new HashSet<>();
+        try {
+            for (MimeMessage message : messages) {
+                assertTrue(message.getSubject().startsWith(EMAIL_SUBJECT_PREFIX));
+                messageIds.add(message.getMessageID());
+                Multipart multipart = (Multipart) message.getContent();
+                assertEquals(2, multipart.getCount());
+                MimeBodyPart attachmentPart = (MimeBodyPart) multipart.getBodyPart(1);
+                assertEquals(ATTACHMENT_FILE_NAME, attachmentPart.getFileName());
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                attachmentPart.getDataHandler().writeTo(outputStream);
+                // Every message carries the same attachment
+                if (attachment == null) {
+                    attachment = outputStream.toByteArray();
+                    assertTrue(attachment.length > 0);
+                } else {
+                    assertTrue(Arrays.equals(attachment, outputStream.toByteArray()));
+                }
+            }
+            // The messages share the attachment, but not the headers of the message
+            assertEquals((int) messageCount, messageIds.size());
+        } catch (MessagingException | IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the emails with a cached attachment: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
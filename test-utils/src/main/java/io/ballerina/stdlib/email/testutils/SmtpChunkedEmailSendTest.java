@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending emails with chunking enabled to a server, which does not support chunking.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpChunkedEmailSendTest {
+
+    private SmtpChunkedEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3037;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_SUBJECT = "Chunked E-Mail";
+    private static final String EMAIL_TEXT = "This is a test e-mail sent with chunking enabled.";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startChunkedSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopChunkedSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateChunkedEmail(BString attachmentPath) {
+        // The server may still be storing the message after acknowledging it
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, 1);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals(1, messages.length);
+        try {
+            MimeMessage message = messages[0];
+            assertEquals(EMAIL_SUBJECT, message.getSubject());
+            Multipart multipart = (Multipart) message.getContent();
+            assertEquals(2, multipart.getCount());
+            assertTrue(String.valueOf(multipart.getBodyPart(0).getContent()).contains(EMAIL_TEXT));
+            MimeBodyPart attachmentPart = (MimeBodyPart) multipart.getBodyPart(1);
+            // The attachment is base64 encoded as the message is sent with `DATA`
+            assertEquals("base64", attachmentPart.getEncoding());
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            attachmentPart.getDataHandler().writeTo(outputStream);
+            byte[] attachment = Files.readAllBytes(Paths.get(attachmentPath.getValue()));
+            assertTrue(Arrays.equals(attachment, outputStream.toByteArray()));
+        } catch (MessagingException | IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the email sent with chunking enabled: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
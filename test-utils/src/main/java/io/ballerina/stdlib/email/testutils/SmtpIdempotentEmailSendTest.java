@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+
+/**
+ * Test class for sending emails with idempotency keys, which are sent once even when they are sent repeatedly.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpIdempotentEmailSendTest {
+
+    private SmtpIdempotentEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3043;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startIdempotentSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopIdempotentSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object createIdempotencyKeyFile() {
+        try {
+            return StringUtils.fromString(
+                    Files.createTempDirectory("email-idempotency").resolve("keys.txt").toString());
+        } catch (IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while creating the idempotency key directory: " + e.getMessage());
+        }
+    }
+
+    public static Object validateIdempotentEmails(long messageCount) {
+        // The server may still be storing the messages after acknowledging them
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, (int) messageCount);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals((int) messageCount, messages.length);
+        Set<String> subjects = new HashSet<>();
+        try {
+            for (MimeMessage message : messages) {
+                subjects.add(message.getSubject());
+            }
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the idempotent emails: " + e.getMessage());
+        }
+        // Each idempotency key is sent with its own subject
+        assertEquals((int) messageCount, subjects.size());
+        return null;
+    }
+
+}
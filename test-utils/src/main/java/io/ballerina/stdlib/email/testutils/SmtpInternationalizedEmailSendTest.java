@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.IOException;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending internationalized emails to a server, which supports neither 8BITMIME nor SMTPUTF8.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpInternationalizedEmailSendTest {
+
+    private SmtpInternationalizedEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3038;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_FROM = "someone1@localhost.com";
+    private static final String EMAIL_SUBJECT = "Internationalized E-Mail";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startInternationalizedSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopInternationalizedSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateInternationalizedEmail(BString body, BString displayName) {
+        // The server may still be storing the message after acknowledging it
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, 1);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        // The message to the internationalized address must not be delivered
+        assertEquals(1, messages.length);
+        try {
+            MimeMessage message = messages[0];
+            assertEquals(EMAIL_SUBJECT, message.getSubject());
+            // The body is encoded as the server does not support 8BITMIME
+            assertTrue(!"8bit".equalsIgnoreCase(message.getEncoding()));
+            assertEquals(body.getValue(), String.valueOf(message.getContent()).trim());
+            InternetAddress from = (InternetAddress) message.getFrom()[0];
+            assertEquals(EMAIL_FROM, from.getAddress());
+            assertEquals(displayName.getValue(), from.getPersonal());
+            // The display name is encoded as the server does not support SMTPUTF8
+            assertTrue(message.getHeader("From", null).startsWith("=?"));
+        } catch (MessagingException | IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the internationalized email: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+
+/**
+ * Test class for sending an email over a pooled connection, which is kept alive after the server dropped the
+ * pre-warmed connections.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpKeepAliveEmailSendTest {
+
+    private SmtpKeepAliveEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3040;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_SUBJECT = "Keep-Alive E-Mail";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startKeepAliveSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object restartKeepAliveSmtpServer() {
+        mailServer.stop();
+        return startKeepAliveSmtpServer();
+    }
+
+    public static Object stopKeepAliveSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateKeepAliveEmail() {
+        // The server may still be storing the message after acknowledging it
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, 1);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals(1, messages.length);
+        try {
+            assertEquals(EMAIL_SUBJECT, messages[0].getSubject());
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the kept alive email: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
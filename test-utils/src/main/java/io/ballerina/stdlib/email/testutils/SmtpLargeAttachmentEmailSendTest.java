@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending an email with an attachment streamed from a file.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpLargeAttachmentEmailSendTest {
+
+    private SmtpLargeAttachmentEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3035;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_SUBJECT = "Large Attachment E-Mail";
+    private static final String ATTACHMENT_FILE_NAME = "large.bin";
+    private static final int ATTACHMENT_SIZE = 3 * 1024 * 1024;
+    private static final String ATTACHMENT_COPY_PATTERN = "email-attachment*.tmp";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+    private static byte[] attachmentContent;
+
+    public static Object startLargeAttachmentSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopLargeAttachmentSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object createLargeAttachment() {
+        try {
+            attachmentContent = new byte[ATTACHMENT_SIZE];
+            new Random().nextBytes(attachmentContent);
+            Path attachment = Files.createTempFile("email-attachment", ".bin");
+            attachment.toFile().deleteOnExit();
+            Files.write(attachment, attachmentContent);
+            return StringUtils.fromString(attachment.toString());
+        } catch (IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while creating the attachment: " + e.getMessage());
+        }
+    }
+
+    public static Object overwriteLargeAttachment(BString attachmentPath) {
+        byte[] content = new byte[ATTACHMENT_SIZE];
+        new Random().nextBytes(content);
+        try {
+            Files.write(Paths.get(attachmentPath.getValue()), content);
+        } catch (IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while overwriting the attachment: " + e.getMessage());
+        }
+        return null;
+    }
+
+    // Temporary copies made by the client for the messages sent in the background
+    public static Object countAttachmentCopies() {
+        try (DirectoryStream<Path> copies = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")),
+                ATTACHMENT_COPY_PATTERN)) {
+            long count = 0;
+            for (Path ignored : copies) {
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while counting the attachment copies: " + e.getMessage());
+        }
+    }
+
+    public static Object validateLargeAttachmentEmails(long messageCount) {
+        // The server may still be storing the messages after acknowledging them
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, (int) messageCount);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals((int) messageCount, messages.length);
+        try {
+            for (MimeMessage message : messages) {
+                assertEquals(EMAIL_SUBJECT, message.getSubject());
+                Multipart multipart = (Multipart) message.getContent();
+                MimeBodyPart attachmentPart = (MimeBodyPart) multipart.getBodyPart(1);
+                assertEquals(ATTACHMENT_FILE_NAME, attachmentPart.getFileName());
+                assertEquals("base64", attachmentPart.getEncoding());
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                attachmentPart.getDataHandler().writeTo(outputStream);
+                // The attachment is sent as it was when the message was accepted
+                assertTrue(Arrays.equals(attachmentContent, outputStream.toByteArray()));
+            }
+        } catch (MessagingException | IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the email with a large attachment: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
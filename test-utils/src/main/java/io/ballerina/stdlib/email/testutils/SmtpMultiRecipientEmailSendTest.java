@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertNotNull;
+
+/**
+ * Test class for sending an email to many recipients.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpMultiRecipientEmailSendTest {
+
+    private SmtpMultiRecipientEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3028;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "to1@localhost";
+    private static final String EMAIL_SUBJECT = "Multi Recipient E-Mail";
+    private static final Set<String> EMAIL_RECIPIENTS = new HashSet<>(Arrays.asList(
+            "to1@localhost", "to2@localhost", "to3@localhost",
+            "cc1@localhost", "cc2@localhost", "cc3@localhost",
+            "bcc1@localhost", "bcc2@localhost", "bcc3@localhost"));
+    private static GreenMail mailServer;
+
+    public static Object startMultiRecipientSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopMultiRecipientSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateMultiRecipientEmails() {
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertNotNull(messages);
+        assertEquals(EMAIL_RECIPIENTS.size(), messages.length);
+        try {
+            for (MimeMessage message : messages) {
+                assertEquals(EMAIL_SUBJECT, message.getSubject());
+            }
+            // Each recipient gets a copy of the message in its own inbox
+            for (String recipient : EMAIL_RECIPIENTS) {
+                GreenMailUser user = mailServer.getManagers().getUserManager().getUserByEmail(recipient);
+                assertNotNull(user);
+                assertEquals(1, mailServer.getManagers().getImapHostManager().getInbox(user).getMessageCount());
+            }
+        } catch (MessagingException | FolderException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the email sent to many recipients: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+
+/**
+ * Test class for sending emails over more than one SMTP connection in parallel.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpParallelEmailSendTest {
+
+    private SmtpParallelEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3044;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startParallelSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopParallelSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateParallelEmails(long messageCount) {
+        // The server may still be storing the messages after acknowledging them
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, (int) messageCount);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals((int) messageCount, messages.length);
+        return null;
+    }
+
+}
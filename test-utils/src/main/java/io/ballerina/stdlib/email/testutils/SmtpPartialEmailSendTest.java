@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.Managers;
+import com.icegreen.greenmail.imap.ImapHostManager;
+import com.icegreen.greenmail.mail.MailAddress;
+import com.icegreen.greenmail.server.AbstractServer;
+import com.icegreen.greenmail.smtp.SmtpManager;
+import com.icegreen.greenmail.smtp.SmtpState;
+import com.icegreen.greenmail.user.UserManager;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.util.Map;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+
+/**
+ * Test class for sending an email to recipients, some of which are rejected by the server.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpPartialEmailSendTest {
+
+    private SmtpPartialEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3041;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String REJECTED_ADDRESS = "rejected@localhost";
+    private static final String REJECTION_REPLY = "550 Mailbox unavailable";
+    private static final String EMAIL_SUBJECT = "Partial E-Mail";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startPartialSmtpServer() {
+        mailServer = new RecipientRejectingGreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopPartialSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validatePartialEmail() {
+        // The server may still be storing the message after acknowledging it
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, 1);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        // Only the message sent with `sendPartial` is delivered
+        assertEquals(1, messages.length);
+        try {
+            assertEquals(EMAIL_SUBJECT, messages[0].getSubject());
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the partially sent email: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * GreenMail server, which rejects the `RCPT TO` command for a fixed address.
+     */
+    private static class RecipientRejectingGreenMail extends GreenMail {
+
+        RecipientRejectingGreenMail(ServerSetup config) {
+            super(config);
+        }
+
+        @Override
+        protected Map<String, AbstractServer> createServices(ServerSetup[] config, Managers managers) {
+            return super.createServices(config, new RecipientRejectingManagers(managers));
+        }
+
+    }
+
+    private static class RecipientRejectingManagers extends Managers {
+
+        private final Managers managers;
+        private final SmtpManager smtpManager;
+
+        RecipientRejectingManagers(Managers managers) {
+            this.managers = managers;
+            this.smtpManager = new SmtpManager(managers.getImapHostManager(), managers.getUserManager()) {
+                @Override
+                public String checkRecipient(SmtpState state, MailAddress address) {
+                    return REJECTED_ADDRESS.equals(address.getEmail()) ? REJECTION_REPLY : null;
+                }
+            };
+        }
+
+        @Override
+        public SmtpManager getSmtpManager() {
+            return smtpManager;
+        }
+
+        @Override
+        public UserManager getUserManager() {
+            return managers.getUserManager();
+        }
+
+        @Override
+        public ImapHostManager getImapHostManager() {
+            return managers.getImapHostManager();
+        }
+
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.Metric;
+import io.ballerina.runtime.observability.metrics.Tag;
+import io.ballerina.stdlib.email.util.EmailMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for recording the time taken by the phases of sending an email, when the metrics are enabled.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpPhaseMetricsEmailSendTest {
+
+    private SmtpPhaseMetricsEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3046;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String HOST_NAME = "127.0.0.1";
+    private static final String CONNECTION_PHASE_METRIC = "smtp_connection_phase_duration_seconds";
+    private static final String MESSAGE_PHASE_METRIC = "smtp_message_phase_duration_seconds";
+    private static final String COMPOSE_METRIC = "smtp_message_compose_duration_seconds";
+    private static final String[] CONNECTION_PHASES = {"connect", "auth"};
+    private static final String[] MESSAGE_PHASES = {"envelope", "data"};
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startPhaseMetricsSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopPhaseMetricsSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validatePhaseMetrics() {
+        assertTrue("The metrics are not enabled for the tests.", EmailMetrics.isEnabled());
+        assertTrue(mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, 1));
+        Map<String, Double> connectionPhases = new HashMap<>();
+        Map<String, Double> messagePhases = new HashMap<>();
+        Double composeDuration = null;
+        for (Metric metric : DefaultMetricRegistry.getInstance().getAllMetrics()) {
+            Map<String, String> tags = getTags(metric.getId().getTags());
+            if (!(metric instanceof Gauge) || !HOST_NAME.equals(tags.get("host"))) {
+                continue;
+            }
+            double duration = ((Gauge) metric).getValue();
+            String name = metric.getId().getName();
+            if (CONNECTION_PHASE_METRIC.equals(name)) {
+                connectionPhases.put(tags.get("phase"), duration);
+            } else if (MESSAGE_PHASE_METRIC.equals(name)) {
+                // A single recipient and a small text message
+                assertEquals("1", tags.get("recipients"));
+                assertEquals("<10KB", tags.get("message_size"));
+                messagePhases.put(tags.get("phase"), duration);
+            } else if (COMPOSE_METRIC.equals(name)) {
+                composeDuration = duration;
+            }
+        }
+        for (String phase : CONNECTION_PHASES) {
+            assertTrue("The " + phase + " phase is not recorded.", connectionPhases.containsKey(phase));
+            assertTrue(connectionPhases.get(phase) > 0);
+        }
+        // The connection does not use TLS
+        assertTrue(!connectionPhases.containsKey("tls"));
+        for (String phase : MESSAGE_PHASES) {
+            assertTrue("The " + phase + " phase is not recorded.", messagePhases.containsKey(phase));
+            assertTrue(messagePhases.get(phase) > 0);
+        }
+        assertTrue("Building the message is not recorded.", composeDuration != null && composeDuration > 0);
+        return null;
+    }
+
+    private static Map<String, String> getTags(Set<Tag> tags) {
+        Map<String, String> values = new HashMap<>();
+        for (Tag tag : tags) {
+            values.put(tag.getKey(), tag.getValue());
+        }
+        return values;
+    }
+
+}
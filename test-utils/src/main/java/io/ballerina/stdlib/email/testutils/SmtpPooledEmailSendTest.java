@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.Managers;
+import com.icegreen.greenmail.imap.ImapHostManager;
+import com.icegreen.greenmail.mail.MailAddress;
+import com.icegreen.greenmail.server.AbstractServer;
+import com.icegreen.greenmail.smtp.SmtpManager;
+import com.icegreen.greenmail.smtp.SmtpState;
+import com.icegreen.greenmail.user.UserManager;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertNotNull;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending emails over pooled SMTP connections.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpPooledEmailSendTest {
+
+    private SmtpPooledEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3026;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_FROM = "someone1@localhost.com";
+    private static final String EMAIL_SUBJECT_PREFIX = "Pooled E-Mail ";
+    private static final String EMAIL_TEXT = "This is a test e-mail sent over a pooled connection.";
+    private static final Map<SmtpState, Integer> MESSAGES_PER_CONNECTION =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+    private static GreenMail mailServer;
+
+    public static Object startPooledSmtpServer() {
+        MESSAGES_PER_CONNECTION.clear();
+        mailServer = new ConnectionCountingGreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopPooledSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validatePooledEmails(long messageCount, long maxActiveConnections,
+                                              long maxMessagesPerConnection) {
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertNotNull(messages);
+        assertEquals((int) messageCount, messages.length);
+        // The messages are sent over the pooled connections instead of a connection for each message. A connection is
+        // replaced after sending the maximum number of messages, and each active connection may be replaced early
+        // when the messages run out.
+        long minConnections = (messageCount + maxMessagesPerConnection - 1) / maxMessagesPerConnection;
+        int connections = MESSAGES_PER_CONNECTION.size();
+        assertTrue(connections >= minConnections && connections < minConnections + maxActiveConnections);
+        synchronized (MESSAGES_PER_CONNECTION) {
+            for (int connectionMessages : MESSAGES_PER_CONNECTION.values()) {
+                assertTrue(connectionMessages <= maxMessagesPerConnection);
+            }
+        }
+        for (MimeMessage message : messages) {
+            try {
+                assertTrue(message.getSubject().startsWith(EMAIL_SUBJECT_PREFIX));
+                assertTrue(String.valueOf(message.getContent()).contains(EMAIL_TEXT));
+                assertEquals(EMAIL_FROM, message.getFrom()[0].toString());
+            } catch (MessagingException | IOException e) {
+                return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                        "Error while validating the pooled emails: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * GreenMail server, which counts the messages sent over each SMTP connection.
+     */
+    private static class ConnectionCountingGreenMail extends GreenMail {
+
+        ConnectionCountingGreenMail(ServerSetup config) {
+            super(config);
+        }
+
+        @Override
+        protected Map<String, AbstractServer> createServices(ServerSetup[] config, Managers managers) {
+            return super.createServices(config, new ConnectionCountingManagers(managers));
+        }
+
+    }
+
+    private static class ConnectionCountingManagers extends Managers {
+
+        private final Managers managers;
+        private final SmtpManager smtpManager;
+
+        ConnectionCountingManagers(Managers managers) {
+            this.managers = managers;
+            this.smtpManager = new SmtpManager(managers.getImapHostManager(), managers.getUserManager()) {
+                @Override
+                public String checkSender(SmtpState state, MailAddress address) {
+                    // GreenMail keeps a state for each connection
+                    MESSAGES_PER_CONNECTION.merge(state, 1, Integer::sum);
+                    return super.checkSender(state, address);
+                }
+            };
+        }
+
+        @Override
+        public SmtpManager getSmtpManager() {
+            return smtpManager;
+        }
+
+        @Override
+        public UserManager getUserManager() {
+            return managers.getUserManager();
+        }
+
+        @Override
+        public ImapHostManager getImapHostManager() {
+            return managers.getImapHostManager();
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.IOException;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending emails with a rate limited SMTP client.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpRateLimitedEmailSendTest {
+
+    private SmtpRateLimitedEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3031;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_FROM = "someone1@localhost.com";
+    private static final String EMAIL_SUBJECT_PREFIX = "Rate Limited E-Mail ";
+    private static final String EMAIL_TEXT = "This is a test e-mail sent within a rate limit.";
+    // At 2 messages per second, the first two messages are sent immediately and the third waits for 0.5 seconds
+    private static final long MIN_SEND_TIME_IN_MS = 400;
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+    private static long startTime;
+
+    public static Object startRateLimitedSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopRateLimitedSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object startRateLimitTimer() {
+        startTime = System.currentTimeMillis();
+        return null;
+    }
+
+    public static Object validateRateLimitedEmails(long messageCount) {
+        assertTrue(System.currentTimeMillis() - startTime >= MIN_SEND_TIME_IN_MS);
+        // The server may still be storing the last message after acknowledging it
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, (int) messageCount);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals((int) messageCount, messages.length);
+        for (MimeMessage message : messages) {
+            try {
+                assertTrue(message.getSubject().startsWith(EMAIL_SUBJECT_PREFIX));
+                assertTrue(String.valueOf(message.getContent()).contains(EMAIL_TEXT));
+                assertEquals(EMAIL_FROM, message.getFrom()[0].toString());
+            } catch (MessagingException | IOException e) {
+                return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                        "Error while validating the rate limited emails: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import javax.mail.Session;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sharing the configurations of the clients, which are created with the same configuration.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpSharedConfigurationTest {
+
+    private SmtpSharedConfigurationTest() {}
+
+    private static final String CERTIFICATE_PATH = "tests/resources/certsandkeys/greenmail.crt";
+    // Larger than the resolution of the modification times of the file systems
+    private static final long MODIFICATION_INTERVAL_IN_MS = 10000;
+
+    public static Object createSharedCertificate() {
+        try {
+            Path certificate = Files.createTempFile("email-certificate", ".crt");
+            certificate.toFile().deleteOnExit();
+            Files.copy(Paths.get(CERTIFICATE_PATH), certificate, StandardCopyOption.REPLACE_EXISTING);
+            return StringUtils.fromString(certificate.toString());
+        } catch (IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while creating the certificate: " + e.getMessage());
+        }
+    }
+
+    public static Object modifySharedCertificate(BString certificatePath) {
+        File certificate = new File(certificatePath.getValue());
+        assertTrue(certificate.setLastModified(certificate.lastModified() + MODIFICATION_INTERVAL_IN_MS));
+        return null;
+    }
+
+    public static Object validateSharedSocketFactory(BObject firstClient, BObject secondClient, boolean shared) {
+        Properties firstProperties = getProperties(firstClient);
+        Properties secondProperties = getProperties(secondClient);
+        Object firstSocketFactory = firstProperties.get(EmailConstants.PROPS_SMTP_SOCKET_FACTORY);
+        Object secondSocketFactory = secondProperties.get(EmailConstants.PROPS_SMTP_SOCKET_FACTORY);
+        assertTrue(firstSocketFactory != null && secondSocketFactory != null);
+        assertEquals(shared, firstSocketFactory == secondSocketFactory);
+        assertEquals(shared, firstProperties == secondProperties);
+        return null;
+    }
+
+    private static Properties getProperties(BObject client) {
+        return ((Session) client.getNativeData(EmailConstants.PROPS_SESSION)).getProperties();
+    }
+
+}
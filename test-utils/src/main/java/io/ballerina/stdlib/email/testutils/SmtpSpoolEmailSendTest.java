@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending emails through the local spool.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpSpoolEmailSendTest {
+
+    private SmtpSpoolEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3030;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_FROM = "someone1@localhost.com";
+    private static final String EMAIL_SUBJECT_PREFIX = "Spooled E-Mail ";
+    private static final String EMAIL_TEXT = "This is a test e-mail sent through the spool.";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startSpoolSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopSpoolSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object createSpoolDirectory() {
+        try {
+            Path directory = Files.createTempDirectory("email-spool");
+            MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+            message.setFrom(EMAIL_FROM);
+            message.setRecipients(Message.RecipientType.TO, EMAIL_USER_ADDRESS);
+            message.setRecipients(Message.RecipientType.BCC, "hascode2@localhost");
+            message.setSubject(EMAIL_SUBJECT_PREFIX + "recovered");
+            message.setText(EMAIL_TEXT);
+            try (OutputStream outputStream = Files.newOutputStream(directory.resolve("recovered.0.eml"))) {
+                message.writeTo(outputStream);
+            }
+            return StringUtils.fromString(directory.toString());
+        } catch (IOException | MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while creating the spool directory: " + e.getMessage());
+        }
+    }
+
+    public static Object validateSpooledEmails(long messageCount) {
+        // Messages are delivered in the background, so wait until all of them are received
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, (int) messageCount);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals((int) messageCount, messages.length);
+        for (MimeMessage message : messages) {
+            try {
+                assertTrue(message.getSubject().startsWith(EMAIL_SUBJECT_PREFIX));
+                assertTrue(String.valueOf(message.getContent()).contains(EMAIL_TEXT));
+                assertEquals(EMAIL_FROM, message.getFrom()[0].toString());
+                // Bcc recipients must not be visible in the delivered message
+                assertEquals(null, message.getHeader("Bcc"));
+            } catch (MessagingException | IOException e) {
+                return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                        "Error while validating the spooled emails: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    public static Object validateSpoolDirectory(BString spoolDirectory) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(spoolDirectory.getValue()), "*.eml")) {
+            assertTrue(!files.iterator().hasNext());
+        } catch (IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the spool directory: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
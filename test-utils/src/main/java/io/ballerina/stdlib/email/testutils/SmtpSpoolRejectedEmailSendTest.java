@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.Managers;
+import com.icegreen.greenmail.imap.ImapHostManager;
+import com.icegreen.greenmail.mail.MailAddress;
+import com.icegreen.greenmail.server.AbstractServer;
+import com.icegreen.greenmail.smtp.SmtpManager;
+import com.icegreen.greenmail.smtp.SmtpState;
+import com.icegreen.greenmail.user.UserManager;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending emails through the local spool to recipients, some of which are rejected by the server.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpSpoolRejectedEmailSendTest {
+
+    private SmtpSpoolRejectedEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3045;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String REJECTED_ADDRESS = "rejected@localhost";
+    private static final String REJECTION_REPLY = "550 Mailbox unavailable";
+    private static final String EMAIL_SUBJECT = "Rejected Spooled E-Mail";
+    private static final String FAILED_DIRECTORY = "failed";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    // Longer than all the retries of the spool, so that a retried message would be received within it
+    private static final long RETRY_WINDOW_IN_MS = 2000;
+    private static GreenMail mailServer;
+
+    public static Object startSpoolRejectingSmtpServer() {
+        mailServer = new RecipientRejectingGreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopSpoolRejectingSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object createRejectedSpoolDirectory() {
+        try {
+            return StringUtils.fromString(Files.createTempDirectory("email-spool").toString());
+        } catch (IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while creating the spool directory: " + e.getMessage());
+        }
+    }
+
+    public static Object validateRejectedSpooledEmails(BString partialSpoolDirectory, BString spoolDirectory) {
+        try {
+            Path partialFailedDirectory = Paths.get(partialSpoolDirectory.getValue()).resolve(FAILED_DIRECTORY);
+            Path failedDirectory = Paths.get(spoolDirectory.getValue()).resolve(FAILED_DIRECTORY);
+            // Messages are delivered in the background, so wait until both of them are failed
+            long deadline = System.currentTimeMillis() + DELIVERY_TIMEOUT_IN_MS;
+            while ((listMessages(partialFailedDirectory).isEmpty() || listMessages(failedDirectory).isEmpty())
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Thread.sleep(RETRY_WINDOW_IN_MS);
+
+            // Neither message is sent again, as it was rejected permanently by the first attempt
+            assertEquals(List.of("0"), listAttempts(partialFailedDirectory));
+            assertEquals(List.of("0"), listAttempts(failedDirectory));
+            assertTrue(listMessages(Paths.get(partialSpoolDirectory.getValue())).isEmpty());
+            assertTrue(listMessages(Paths.get(spoolDirectory.getValue())).isEmpty());
+
+            // Only the message sent with `sendPartial` is delivered, to the accepted recipient
+            MimeMessage[] messages = mailServer.getReceivedMessages();
+            assertEquals(1, messages.length);
+            assertEquals(EMAIL_SUBJECT, messages[0].getSubject());
+        } catch (IOException | MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the rejected spooled emails: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Interrupted while validating the rejected spooled emails.");
+        }
+        return null;
+    }
+
+    private static List<Path> listMessages(Path directory) throws IOException {
+        List<Path> messages = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.eml")) {
+            files.forEach(messages::add);
+        }
+        return messages;
+    }
+
+    // Spooled messages are named as `{id}.{attempts}.eml`
+    private static List<String> listAttempts(Path directory) throws IOException {
+        List<String> attempts = new ArrayList<>();
+        for (Path message : listMessages(directory)) {
+            String[] parts = message.getFileName().toString().split("\\.");
+            attempts.add(parts[parts.length - 2]);
+        }
+        return attempts;
+    }
+
+    /**
+     * GreenMail server, which rejects the `RCPT TO` command for a fixed address.
+     */
+    private static class RecipientRejectingGreenMail extends GreenMail {
+
+        RecipientRejectingGreenMail(ServerSetup config) {
+            super(config);
+        }
+
+        @Override
+        protected Map<String, AbstractServer> createServices(ServerSetup[] config, Managers managers) {
+            return super.createServices(config, new RecipientRejectingManagers(managers));
+        }
+
+    }
+
+    private static class RecipientRejectingManagers extends Managers {
+
+        private final Managers managers;
+        private final SmtpManager smtpManager;
+
+        RecipientRejectingManagers(Managers managers) {
+            this.managers = managers;
+            this.smtpManager = new SmtpManager(managers.getImapHostManager(), managers.getUserManager()) {
+                @Override
+                public String checkRecipient(SmtpState state, MailAddress address) {
+                    return REJECTED_ADDRESS.equals(address.getEmail()) ? REJECTION_REPLY : null;
+                }
+            };
+        }
+
+        @Override
+        public SmtpManager getSmtpManager() {
+            return smtpManager;
+        }
+
+        @Override
+        public UserManager getUserManager() {
+            return managers.getUserManager();
+        }
+
+        @Override
+        public ImapHostManager getImapHostManager() {
+            return managers.getImapHostManager();
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+import static io.ballerina.stdlib.email.testutils.Assert.assertTrue;
+
+/**
+ * Test class for sending emails merged from a prepared template.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpTemplateEmailSendTest {
+
+    private SmtpTemplateEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3034;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_FROM = "someone1@localhost.com";
+    private static final String EMAIL_SUBJECT_PREFIX = "Template E-Mail for ";
+    private static final String EMAIL_TEXT = ", this is a test e-mail sent from a template.";
+    private static final String ATTACHMENT_FILE_NAME = "corona_virus.jpg";
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static final Map<String, String> EMAIL_RECIPIENTS = new HashMap<>();
+    private static GreenMail mailServer;
+
+    static {
+        EMAIL_RECIPIENTS.put("hascode1@localhost", "Alice");
+        EMAIL_RECIPIENTS.put("hascode2@localhost", "Bob");
+    }
+
+    public static Object startTemplateSmtpServer() {
+        mailServer = new GreenMail(new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTP));
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopTemplateSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateTemplateEmails() {
+        // The server may still be storing the last message after acknowledging it
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, EMAIL_RECIPIENTS.size());
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals(EMAIL_RECIPIENTS.size(), messages.length);
+        byte[] attachment = null;
+        try {
+            for (MimeMessage message : messages) {
+                String name = EMAIL_RECIPIENTS.get(message.getRecipients(Message.RecipientType.TO)[0].toString());
+                assertEquals(EMAIL_SUBJECT_PREFIX + name, message.getSubject());
+                assertEquals(EMAIL_FROM, message.getFrom()[0].toString());
+                Multipart multipart = (Multipart) message.getContent();
+                assertEquals(2, multipart.getCount());
+                Multipart alternative = (Multipart) multipart.getBodyPart(0).getContent();
+                assertEquals("Dear " + name + EMAIL_TEXT, alternative.getBodyPart(0).getContent());
+                MimeBodyPart attachmentPart = (MimeBodyPart) multipart.getBodyPart(1);
+                assertEquals(ATTACHMENT_FILE_NAME, attachmentPart.getFileName());
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                attachmentPart.getDataHandler().writeTo(outputStream);
+                // Every merged message carries the same attachment
+                if (attachment == null) {
+                    attachment = outputStream.toByteArray();
+                    assertTrue(attachment.length > 0);
+                } else {
+                    assertTrue(Arrays.equals(attachment, outputStream.toByteArray()));
+                }
+            }
+        } catch (MessagingException | IOException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the template emails: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.stdlib.email.testutils;
+
+import com.icegreen.greenmail.util.DummySSLSocketFactory;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.ballerina.stdlib.email.util.CommonUtil;
+import io.ballerina.stdlib.email.util.EmailConstants;
+
+import java.security.Security;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static io.ballerina.stdlib.email.testutils.Assert.assertEquals;
+
+/**
+ * Test class for sending emails over TLS connections, which share the TLS session cache of the clients.
+ *
+ * @since 2.12.1
+ */
+public final class SmtpTlsSessionCacheEmailSendTest {
+
+    private SmtpTlsSessionCacheEmailSendTest() {}
+
+    private static final int PORT_NUMBER = 3039;
+    private static final String USER_PASSWORD = "abcdef123";
+    private static final String USER_NAME = "hascode";
+    private static final String EMAIL_USER_ADDRESS = "hascode1@localhost";
+    private static final String EMAIL_SUBJECT_PREFIX = "TLS Session E-Mail ";
+    private static final String SSL_SOCKET_FACTORY_PROVIDER = "ssl.SocketFactory.provider";
+    private static final int SERVER_TIMEOUT = 50000;
+    private static final long DELIVERY_TIMEOUT_IN_MS = 10000;
+    private static GreenMail mailServer;
+
+    public static Object startTlsSessionCacheSmtpServer() {
+        Security.setProperty(SSL_SOCKET_FACTORY_PROVIDER, DummySSLSocketFactory.class.getName());
+        ServerSetup setup = new ServerSetup(PORT_NUMBER, null, ServerSetup.PROTOCOL_SMTPS);
+        setup.setServerStartupTimeout(SERVER_TIMEOUT);
+        mailServer = new GreenMail(setup);
+        mailServer.start();
+        mailServer.setUser(EMAIL_USER_ADDRESS, USER_NAME, USER_PASSWORD);
+        return null;
+    }
+
+    public static Object stopTlsSessionCacheSmtpServer() {
+        mailServer.stop();
+        return null;
+    }
+
+    public static Object validateTlsSessionCacheEmails(long count) {
+        // The server may still be storing the messages after acknowledging them
+        mailServer.waitForIncomingEmail(DELIVERY_TIMEOUT_IN_MS, (int) count);
+        MimeMessage[] messages = mailServer.getReceivedMessages();
+        assertEquals((int) count, messages.length);
+        try {
+            for (int i = 0; i < count; i++) {
+                assertEquals(EMAIL_SUBJECT_PREFIX + (i + 1), messages[i].getSubject());
+            }
+        } catch (MessagingException e) {
+            return CommonUtil.getBallerinaError(EmailConstants.ERROR,
+                    "Error while validating the emails sent over the resumed TLS sessions: " + e.getMessage());
+        }
+        return null;
+    }
+
+}
@@ -17,6 +17,7 @@
  */
 
 module io.ballerina.stdlib.email.testutils {
+    requires io.ballerina.runtime;
     requires org.slf4j;
     requires greenmail;
     requires io.ballerina.stdlib.mime;